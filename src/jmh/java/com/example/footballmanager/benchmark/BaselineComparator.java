@@ -0,0 +1,102 @@
+package com.example.footballmanager.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with the checked-in baseline. A benchmark
+ * that allocates more per operation than the allocation tolerance allows
+ * fails the build. Allocation per operation is stable across machines,
+ * while timings are not, so score regressions beyond the score tolerance
+ * are only reported unless {@code failOnScore} is set.
+ * <p>
+ * Usage: {@code BaselineComparator <result.json> <baseline.json> <scoreTolerance> <allocTolerance> <failOnScore>}
+ */
+public class BaselineComparator {
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+    private static final String LEGACY_ALLOC_RATE_NORM = "·gc.alloc.rate.norm";
+    private static final double ALLOC_SLACK_BYTES = 16;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            throw new IllegalArgumentException("Usage: BaselineComparator <result.json> <baseline.json> "
+                    + "<scoreTolerance> <allocTolerance> <failOnScore>");
+        }
+        File resultFile = new File(args[0]);
+        File baselineFile = new File(args[1]);
+        double scoreTolerance = Double.parseDouble(args[2]);
+        double allocTolerance = Double.parseDouble(args[3]);
+        boolean failOnScore = Boolean.parseBoolean(args[4]);
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + ", copy " + resultFile + " there to create one");
+            return;
+        }
+
+        Map<String, JsonNode> baseline = readResults(baselineFile);
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : readResults(resultFile).entrySet()) {
+            JsonNode expected = baseline.get(entry.getKey());
+            if (expected == null) {
+                System.out.printf("%-90s no baseline%n", entry.getKey());
+                continue;
+            }
+            JsonNode actual = entry.getValue();
+            double expectedScore = expected.path("primaryMetric").path("score").asDouble();
+            double actualScore = actual.path("primaryMetric").path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(actual.path("mode").asText());
+            double scoreChange = higherIsBetter
+                    ? (expectedScore - actualScore) / expectedScore
+                    : (actualScore - expectedScore) / expectedScore;
+            double expectedAlloc = allocationPerOperation(expected);
+            double actualAlloc = allocationPerOperation(actual);
+
+            System.out.printf("%-90s %12.3f -> %12.3f %-8s (regression %+6.1f%%)  alloc %10.1f -> %10.1f B/op%n",
+                    entry.getKey(), expectedScore, actualScore,
+                    actual.path("primaryMetric").path("scoreUnit").asText(),
+                    scoreChange * 100, expectedAlloc, actualAlloc);
+            if (scoreChange > scoreTolerance) {
+                String message = String.format("%s is %.1f%% slower than the baseline",
+                        entry.getKey(), scoreChange * 100);
+                if (failOnScore) {
+                    regressions.add(message);
+                } else {
+                    System.out.println("WARNING: " + message);
+                }
+            }
+            if (expectedAlloc >= 0 && actualAlloc > expectedAlloc * (1 + allocTolerance) + ALLOC_SLACK_BYTES) {
+                regressions.add(String.format("%s allocates %.1f B/op, the baseline is %.1f B/op",
+                        entry.getKey(), actualAlloc, expectedAlloc));
+            }
+        }
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("Benchmark regressions against " + baselineFile + ":\n  "
+                    + String.join("\n  ", regressions));
+        }
+    }
+
+    private static Map<String, JsonNode> readResults(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : OBJECT_MAPPER.readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params").fields().forEachRemaining(
+                    param -> key.append(':').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double allocationPerOperation(JsonNode result) {
+        JsonNode secondaryMetrics = result.path("secondaryMetrics");
+        JsonNode allocation = secondaryMetrics.has(ALLOC_RATE_NORM)
+                ? secondaryMetrics.path(ALLOC_RATE_NORM)
+                : secondaryMetrics.path(LEGACY_ALLOC_RATE_NORM);
+        return allocation.isMissingNode() ? -1 : allocation.path("score").asDouble();
+    }
+}
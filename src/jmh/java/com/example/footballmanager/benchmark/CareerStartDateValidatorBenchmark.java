@@ -0,0 +1,25 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.validation.CareerStartDateValidator;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CareerStartDateValidatorBenchmark {
+    private final CareerStartDateValidator validator = new CareerStartDateValidator();
+    private final LocalDate careerStartDate = LocalDate.now().minusYears(5);
+
+    @Benchmark
+    public boolean isValid() {
+        // The context is only used for null values
+        return validator.isValid(careerStartDate, null);
+    }
+}
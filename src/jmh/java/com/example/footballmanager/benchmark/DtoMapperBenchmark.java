@@ -0,0 +1,87 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.dto.mapper.PlayerDtoMapper;
+import com.example.footballmanager.dto.mapper.TeamDtoMapper;
+import com.example.footballmanager.dto.mapper.TeamReferenceMapper;
+import com.example.footballmanager.dto.mapper.impl.PlayerDtoMapperImpl;
+import com.example.footballmanager.dto.mapper.impl.TeamDtoMapperImpl;
+import com.example.footballmanager.dto.request.PlayerRequestDto;
+import com.example.footballmanager.dto.request.TeamRequestDto;
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.dto.response.TeamResponseDto;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.TeamRepository;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DtoMapperBenchmark {
+    private PlayerDtoMapper playerDtoMapper;
+    private TeamDtoMapper teamDtoMapper;
+    private PlayerRequestDto playerRequestDto;
+    private Player player;
+    private TeamRequestDto teamRequestDto;
+    private Team team;
+
+    @Setup
+    public void setUp() {
+        team = new Team();
+        team.setId(1L);
+        team.setName("Real Madrid");
+        team.setPlayerTransferCommission(BigDecimal.TEN);
+        team.setBudget(new BigDecimal("800000.00"));
+        // Stands in for the JPA repository, the mapper only asks it for references
+        TeamRepository teamRepository = (TeamRepository) Proxy.newProxyInstance(
+                TeamRepository.class.getClassLoader(),
+                new Class<?>[] {TeamRepository.class},
+                (proxy, method, args) -> team);
+        playerDtoMapper = new PlayerDtoMapperImpl(new TeamReferenceMapper(teamRepository));
+        teamDtoMapper = new TeamDtoMapperImpl();
+
+        playerRequestDto = new PlayerRequestDto();
+        playerRequestDto.setFirstname("Cristiano");
+        playerRequestDto.setLastname("Ronaldo");
+        playerRequestDto.setBirthDate(LocalDate.of(1985, 2, 5));
+        playerRequestDto.setCareerStartDate(LocalDate.of(2002, 8, 1));
+        playerRequestDto.setTeamId(1L);
+        player = playerDtoMapper.toModel(playerRequestDto);
+        player.setId(1L);
+
+        teamRequestDto = new TeamRequestDto();
+        teamRequestDto.setName(team.getName());
+        teamRequestDto.setPlayerTransferCommission(team.getPlayerTransferCommission());
+        teamRequestDto.setBudget(team.getBudget());
+    }
+
+    @Benchmark
+    public Player playerToModel() {
+        return playerDtoMapper.toModel(playerRequestDto);
+    }
+
+    @Benchmark
+    public PlayerResponseDto playerToResponseDto() {
+        return playerDtoMapper.toResponseDto(player);
+    }
+
+    @Benchmark
+    public Team teamToModel() {
+        return teamDtoMapper.toModel(teamRequestDto);
+    }
+
+    @Benchmark
+    public TeamResponseDto teamToResponseDto() {
+        return teamDtoMapper.toResponseDto(team);
+    }
+}
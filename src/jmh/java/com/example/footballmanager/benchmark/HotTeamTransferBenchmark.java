@@ -0,0 +1,131 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.FootballManager;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.service.PlayerService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Transfer throughput against an in-memory database when every transfer
+ * buys from or sells to one hot team, from one, two and four threads, with
+ * the hot team's budget in its own row and striped eight ways. Each thread
+ * trades its own players with its own club, so the hot team's budget is the
+ * only thing the threads share. Throughput can only grow with the thread
+ * count on as many cores. The recorded baseline comes from a single core,
+ * where eight stripes ran at 68/85/83 ops/s against 117/149/147 for one:
+ * striping costs extra statements there, and whether it pays off on more
+ * cores is still to be measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class HotTeamTransferBenchmark {
+    private static final int PLAYERS_PER_THREAD = 50;
+    private static final BigDecimal BUDGET = new BigDecimal("100000000000.00");
+    @Param({"1", "8"})
+    public int budgetStripes;
+    private ConfigurableApplicationContext context;
+    private PlayerService playerService;
+    private TeamRepository teamRepository;
+    private PlayerRepository playerRepository;
+    private Long hotTeamId;
+    private final AtomicInteger clubs = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(FootballManager.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("h2");
+        context = application.run("--logging.level.root=WARN", "--logging.level.org.hibernate.orm.jdbc.batch=OFF",
+                "--football-manager.teams.budget-stripes=" + budgetStripes);
+        playerService = context.getBean(PlayerService.class);
+        teamRepository = context.getBean(TeamRepository.class);
+        playerRepository = context.getBean(PlayerRepository.class);
+        hotTeamId = saveTeam("Hot Team").getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Player oneThread(Club club) {
+        return transfer(club);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Player twoThreads(Club club) {
+        return transfer(club);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Player fourThreads(Club club) {
+        return transfer(club);
+    }
+
+    /** Sells the next player to the hot team, or buys him back once he's there. */
+    private Player transfer(Club club) {
+        int i = club.next;
+        club.next = (i + 1) % PLAYERS_PER_THREAD;
+        Long buyingTeamId = club.atHotTeam[i] ? club.teamId : hotTeamId;
+        Player player = playerService.transferPlayerToTeam(club.playerIds[i], buyingTeamId);
+        club.atHotTeam[i] = !club.atHotTeam[i];
+        return player;
+    }
+
+    private Team saveTeam(String name) {
+        Team team = new Team();
+        team.setName(name);
+        team.setPlayerTransferCommission(BigDecimal.TEN);
+        team.setBudget(BUDGET);
+        return teamRepository.save(team);
+    }
+
+    @State(Scope.Thread)
+    public static class Club {
+        private Long teamId;
+        private Long[] playerIds;
+        private boolean[] atHotTeam;
+        private int next;
+
+        @Setup
+        public void setUp(HotTeamTransferBenchmark benchmark) {
+            Team team = benchmark.saveTeam("Club " + benchmark.clubs.incrementAndGet());
+            teamId = team.getId();
+            playerIds = new Long[PLAYERS_PER_THREAD];
+            atHotTeam = new boolean[PLAYERS_PER_THREAD];
+            for (int i = 0; i < PLAYERS_PER_THREAD; i++) {
+                Player player = new Player();
+                player.setFirstname("FirstName");
+                player.setLastname("LastName" + i);
+                player.setBirthDate(LocalDate.of(1995, 1, 1));
+                player.setCareerStartDate(LocalDate.of(2015, 1, 1));
+                player.setTeam(team);
+                playerIds[i] = benchmark.playerRepository.save(player).getId();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.dto.response.TeamResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    @Param({"10", "1000"})
+    private int size;
+    private ObjectWriter writer;
+    private List<PlayerResponseDto> players;
+    private List<TeamResponseDto> teams;
+
+    @Setup
+    public void setUp() {
+        // Matches the Spring Boot defaults the controllers serialize with
+        writer = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writer();
+        players = new ArrayList<>(size);
+        teams = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            PlayerResponseDto player = new PlayerResponseDto();
+            player.setId(i);
+            player.setFirstname("FirstName" + i);
+            player.setLastname("LastName" + i);
+            player.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(i));
+            player.setCareerStartDate(LocalDate.of(2010, 1, 1).plusDays(i));
+            player.setTeamId(i % 20 + 1);
+            players.add(player);
+
+            TeamResponseDto team = new TeamResponseDto();
+            team.setId(i);
+            team.setName("Team " + i);
+            team.setPlayerTransferCommission(BigDecimal.valueOf(i % 10));
+            team.setBudget(BigDecimal.valueOf(1000000 + i, 2));
+            teams.add(team);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePlayers() throws JsonProcessingException {
+        return writer.writeValueAsBytes(players);
+    }
+
+    @Benchmark
+    public byte[] serializeTeams() throws JsonProcessingException {
+        return writer.writeValueAsBytes(teams);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.admission.RateLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Cost of {@link RateLimitFilter} on a request it lets through, for one
+ * client and for requests spread over many, with limits high enough that
+ * nothing is rejected. The unfiltered benchmark calls the same empty chain
+ * directly, so the difference is what the filter adds to every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+    private static final RateLimitFilter.Limits UNLIMITED = new RateLimitFilter.Limits(1e9, 1_000_000);
+    private static final FilterChain EMPTY_CHAIN = (request, response) -> { };
+    @Param({"1", "100000"})
+    public int clients;
+    private RateLimitFilter rateLimitFilter;
+    private MockHttpServletRequest[] requests;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private int next;
+
+    @Setup
+    public void setUp() throws ServletException, IOException {
+        rateLimitFilter = new RateLimitFilter(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT),
+                new ObjectMapper(), UNLIMITED, UNLIMITED, 5, clients, Duration.ofMinutes(1));
+        requests = new MockHttpServletRequest[clients];
+        for (int i = 0; i < clients; i++) {
+            requests[i] = new MockHttpServletRequest("GET", "/players");
+            requests[i].addHeader(RateLimitFilter.API_KEY_HEADER, "client-" + i);
+            rateLimitFilter.doFilter(requests[i], response, EMPTY_CHAIN);
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletRequest unfiltered() throws ServletException, IOException {
+        MockHttpServletRequest request = nextRequest();
+        EMPTY_CHAIN.doFilter(request, response);
+        return request;
+    }
+
+    @Benchmark
+    public MockHttpServletRequest filtered() throws ServletException, IOException {
+        MockHttpServletRequest request = nextRequest();
+        rateLimitFilter.doFilter(request, response, EMPTY_CHAIN);
+        return request;
+    }
+
+    private MockHttpServletRequest nextRequest() {
+        MockHttpServletRequest request = requests[next];
+        next = next + 1 == clients ? 0 : next + 1;
+        return request;
+    }
+}
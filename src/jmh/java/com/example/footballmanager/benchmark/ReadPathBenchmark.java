@@ -0,0 +1,112 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.FootballManager;
+import com.example.footballmanager.dto.mapper.PlayerDtoMapper;
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Heap allocated per read against an in-memory database. The entity
+ * benchmarks load managed players and map them with MapStruct, as the read
+ * endpoints did before; the projection benchmarks are the queries they use
+ * now. Compare the gc.alloc.rate.norm figures of each pair.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ReadPathBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private ConfigurableApplicationContext context;
+    private PlayerRepository playerRepository;
+    private PlayerDtoMapper playerDtoMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private Long teamId;
+    private Long playerId;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(FootballManager.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("h2");
+        context = application.run("--logging.level.root=WARN", "--logging.level.org.hibernate.orm.jdbc.batch=OFF");
+        playerRepository = context.getBean(PlayerRepository.class);
+        playerDtoMapper = context.getBean(PlayerDtoMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        Team team = new Team();
+        team.setName("Benchmark Team");
+        team.setPlayerTransferCommission(BigDecimal.TEN);
+        team.setBudget(new BigDecimal("800000.00"));
+        team = context.getBean(TeamRepository.class).save(team);
+        teamId = team.getId();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Player player = new Player();
+            player.setFirstname("FirstName");
+            player.setLastname("LastName" + i);
+            player.setBirthDate(LocalDate.of(1995, 1, 1));
+            player.setCareerStartDate(LocalDate.of(2015, 1, 1));
+            player.setTeam(team);
+            playerId = playerRepository.save(player).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PlayerResponseDto playerByIdEntity() {
+        return readOnlyTransaction.execute(status ->
+                playerDtoMapper.toResponseDto(playerRepository.findById(playerId).orElseThrow()));
+    }
+
+    @Benchmark
+    public PlayerResponseDto playerByIdProjection() {
+        return readOnlyTransaction.execute(status -> playerRepository.findResponseDtoById(playerId).orElseThrow());
+    }
+
+    @Benchmark
+    public List<PlayerResponseDto> playersByTeamEntity() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("SELECT p FROM Player p WHERE p.team.id = :teamId AND p.id > 0 ORDER BY p.id",
+                        Player.class)
+                .setParameter("teamId", teamId)
+                .setMaxResults(PAGE_SIZE + 1)
+                .getResultStream()
+                .map(playerDtoMapper::toResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<PlayerResponseDto> playersByTeamProjection() {
+        return readOnlyTransaction.execute(status -> playerRepository
+                .findResponseDtosByTeamIdAfter(teamId, 0L, PageRequest.of(0, PAGE_SIZE))
+                .getContent());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.metrics.ServiceMetricsInterceptor;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.service.TeamService;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Cost of {@link ServiceMetricsInterceptor} on a service call that does no work.
+ * The untimed benchmark goes through a plain proxy, so the
+ * difference between the two is what the timer adds to every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ServiceMetricsBenchmark {
+    private static final Long TEAM_ID = 1L;
+    private TeamService untimed;
+    private TeamService timed;
+
+    @Setup
+    public void setUp() {
+        Team team = new Team();
+        TeamService teamService = (TeamService) Proxy.newProxyInstance(
+                TeamService.class.getClassLoader(),
+                new Class<?>[] {TeamService.class},
+                (proxy, method, args) -> team);
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        untimed = proxy(teamService, null);
+        timed = proxy(teamService, new ServiceMetricsInterceptor(() -> meterRegistry));
+    }
+
+    @Benchmark
+    public Team untimed() {
+        return untimed.getById(TEAM_ID);
+    }
+
+    @Benchmark
+    public Team timed() {
+        return timed.getById(TEAM_ID);
+    }
+
+    private TeamService proxy(TeamService target, ServiceMetricsInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(TeamService.class);
+        if (interceptor != null) {
+            proxyFactory.addAdvice(interceptor);
+        }
+        return (TeamService) proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.FootballManager;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TransferInstruction;
+import com.example.footballmanager.model.TransferStatus;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.service.PlayerService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Time per transfer against an in-memory database when a deadline-day batch
+ * is sent one request at a time and when it goes through the batch path.
+ * Every invocation moves each player to the other of two teams, so all
+ * transfers contend for the same two team rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TransferBatchBenchmark {
+    private static final int TRANSFERS = 500;
+    private ConfigurableApplicationContext context;
+    private PlayerService playerService;
+    private Long[] playerIds;
+    private Long[] teamIds;
+    private int[] teamIndexes;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(FootballManager.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("h2");
+        context = application.run("--logging.level.root=WARN", "--logging.level.org.hibernate.orm.jdbc.batch=OFF");
+        playerService = context.getBean(PlayerService.class);
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+        PlayerRepository playerRepository = context.getBean(PlayerRepository.class);
+
+        teamIds = new Long[2];
+        Team[] teams = new Team[2];
+        for (int i = 0; i < teams.length; i++) {
+            Team team = new Team();
+            team.setName("Benchmark Team " + i);
+            team.setPlayerTransferCommission(BigDecimal.TEN);
+            team.setBudget(new BigDecimal("100000000000.00"));
+            teams[i] = teamRepository.save(team);
+            teamIds[i] = teams[i].getId();
+        }
+        playerIds = new Long[TRANSFERS];
+        teamIndexes = new int[TRANSFERS];
+        for (int i = 0; i < TRANSFERS; i++) {
+            Player player = new Player();
+            player.setFirstname("FirstName");
+            player.setLastname("LastName" + i);
+            player.setBirthDate(LocalDate.of(1995, 1, 1));
+            player.setCareerStartDate(LocalDate.of(2015, 1, 1));
+            player.setTeam(teams[0]);
+            playerIds[i] = playerRepository.save(player).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRANSFERS)
+    public void oneAtATime() {
+        for (int i = 0; i < TRANSFERS; i++) {
+            playerService.transferPlayerToTeam(playerIds[i], teamIds[1 - teamIndexes[i]]);
+            teamIndexes[i] = 1 - teamIndexes[i];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRANSFERS)
+    public List<TransferInstruction> batch() {
+        List<TransferInstruction> instructions = new ArrayList<>(TRANSFERS);
+        for (int i = 0; i < TRANSFERS; i++) {
+            TransferInstruction instruction = new TransferInstruction();
+            instruction.setPlayerId(playerIds[i]);
+            instruction.setBuyingTeamId(teamIds[1 - teamIndexes[i]]);
+            instructions.add(instruction);
+        }
+        playerService.transferAll(instructions);
+        for (int i = 0; i < TRANSFERS; i++) {
+            if (instructions.get(i).getStatus() != TransferStatus.ACCEPTED) {
+                throw new IllegalStateException("Transfer of player " + playerIds[i] + " was not accepted: "
+                        + instructions.get(i).getError());
+            }
+            teamIndexes[i] = 1 - teamIndexes[i];
+        }
+        return instructions;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.service.TransferFeeCalculator;
+import com.example.footballmanager.service.impl.TransferFeeCalculatorImpl;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TransferFeeBenchmark {
+    private final TransferFeeCalculator transferFeeCalculator = new TransferFeeCalculatorImpl();
+    private Player player;
+    private Team sellingTeam;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        today = LocalDate.now();
+        sellingTeam = new Team();
+        sellingTeam.setPlayerTransferCommission(new BigDecimal("7.50"));
+        player = new Player();
+        player.setBirthDate(today.minusYears(27).minusMonths(4));
+        player.setCareerStartDate(today.minusYears(9).minusDays(11));
+        player.setTeam(sellingTeam);
+    }
+
+    @Benchmark
+    public long calculateFeeCents() {
+        return transferFeeCalculator.calculateFeeCents(player, sellingTeam, today);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.footballmanager.benchmark;
+
+import com.example.footballmanager.FootballManager;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.Transfer;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.TransferRepository;
+import com.example.footballmanager.service.PlayerService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * Latency distribution, p99 included, of a single transfer against an
+ * in-memory database and of the ledger write it contains: one insert,
+ * flushed inside a transaction as the transfer flushes it. The transaction
+ * is opened and committed outside the measured call, so only the work the
+ * ledger adds to a transfer is timed.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TransferLedgerBenchmark {
+    private ConfigurableApplicationContext context;
+    private PlayerService playerService;
+    private TransferRepository transferRepository;
+    private PlatformTransactionManager transactionManager;
+    private Long playerId;
+    private Long[] teamIds;
+    private int teamIndex;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(FootballManager.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("h2");
+        context = application.run("--logging.level.root=WARN", "--logging.level.org.hibernate.orm.jdbc.batch=OFF");
+        playerService = context.getBean(PlayerService.class);
+        transferRepository = context.getBean(TransferRepository.class);
+        transactionManager = context.getBean(PlatformTransactionManager.class);
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+
+        teamIds = new Long[2];
+        Team[] teams = new Team[2];
+        for (int i = 0; i < teams.length; i++) {
+            Team team = new Team();
+            team.setName("Benchmark Team " + i);
+            team.setPlayerTransferCommission(BigDecimal.TEN);
+            team.setBudget(new BigDecimal("100000000000.00"));
+            teams[i] = teamRepository.save(team);
+            teamIds[i] = teams[i].getId();
+        }
+        Player player = new Player();
+        player.setFirstname("FirstName");
+        player.setLastname("LastName");
+        player.setBirthDate(LocalDate.of(1995, 1, 1));
+        player.setCareerStartDate(LocalDate.of(2015, 1, 1));
+        player.setTeam(teams[0]);
+        playerId = context.getBean(PlayerRepository.class).save(player).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Player transfer() {
+        teamIndex = 1 - teamIndex;
+        return playerService.transferPlayerToTeam(playerId, teamIds[teamIndex]);
+    }
+
+    @Benchmark
+    public Transfer ledgerWrite(LedgerTransaction ledgerTransaction) {
+        Transfer transfer = new Transfer();
+        transfer.setPlayerId(playerId);
+        transfer.setSellingTeamId(teamIds[0]);
+        transfer.setBuyingTeamId(teamIds[1]);
+        transfer.setFee(new BigDecimal("264000.00"));
+        transfer.setCommission(new BigDecimal("24000.00"));
+        transfer.setTransferredAt(LocalDateTime.now());
+        return transferRepository.saveAndFlush(transfer);
+    }
+
+    @State(Scope.Thread)
+    public static class LedgerTransaction {
+        private TransactionStatus transaction;
+
+        @Setup(Level.Invocation)
+        public void begin(TransferLedgerBenchmark benchmark) {
+            transaction = benchmark.transactionManager.getTransaction(new DefaultTransactionDefinition());
+        }
+
+        @TearDown(Level.Invocation)
+        public void commit(TransferLedgerBenchmark benchmark) {
+            benchmark.transactionManager.commit(transaction);
+        }
+    }
+}
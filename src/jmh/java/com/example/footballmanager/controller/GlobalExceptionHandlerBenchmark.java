@@ -0,0 +1,36 @@
+package com.example.footballmanager.controller;
+
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.exception.EntityNotFoundException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Lives in the controller package because the handler methods are protected.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+    private final BadRequestException badRequestException =
+            new BadRequestException("Insufficient funds in the team's budget");
+    private final EntityNotFoundException entityNotFoundException =
+            new EntityNotFoundException("No player present with id 1");
+
+    @Benchmark
+    public ResponseEntity<Object> handleBadRequestException() {
+        return exceptionHandler.handleBadRequestException(badRequestException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handleNoSuchElementException() {
+        return exceptionHandler.handleNoSuchElementException(entityNotFoundException);
+    }
+}
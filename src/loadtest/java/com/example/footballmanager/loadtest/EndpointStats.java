@@ -0,0 +1,83 @@
+package com.example.footballmanager.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies of one endpoint. The response time is measured from the moment
+ * the request was scheduled to be sent, so time spent waiting behind a slow
+ * request counts against the system (coordinated-omission correction). The
+ * service time is measured from the moment it was actually sent.
+ */
+class EndpointStats {
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private final Histogram responseTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    void record(long intendedStartNanos, long sentNanos, long completedNanos, int status) {
+        responseTime.recordValue(completedNanos - intendedStartNanos);
+        serviceTime.recordValue(completedNanos - sentNanos);
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+    }
+
+    void recordFailure(long intendedStartNanos, long sentNanos, long completedNanos) {
+        record(intendedStartNanos, sentNanos, completedNanos, 0);
+        failures.increment();
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    long count() {
+        return responseTime.getTotalCount();
+    }
+
+    Histogram responseTime() {
+        return responseTime;
+    }
+
+    Histogram serviceTime() {
+        return serviceTime;
+    }
+
+    Map<String, Object> toMap(double measuredSeconds) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", count());
+        stats.put("throughput", count() / measuredSeconds);
+        stats.put("clientErrors", clientErrors.sum());
+        stats.put("serverErrors", serverErrors.sum());
+        stats.put("failures", failures.sum());
+        stats.put("skipped", skipped.sum());
+        stats.put("responseTimeMillis", percentiles(responseTime));
+        stats.put("serviceTimeMillis", percentiles(serviceTime));
+        return stats;
+    }
+
+    static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", toMillis(histogram.getValueAtPercentile(50)));
+        percentiles.put("p95", toMillis(histogram.getValueAtPercentile(95)));
+        percentiles.put("p99", toMillis(histogram.getValueAtPercentile(99)));
+        percentiles.put("p999", toMillis(histogram.getValueAtPercentile(99.9)));
+        percentiles.put("max", toMillis(histogram.getMaxValue()));
+        percentiles.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / TimeUnit.MILLISECONDS.toNanos(1));
+        return percentiles;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.footballmanager.loadtest;
+
+import com.example.footballmanager.FootballManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Open-loop HTTP load generator. Each client sends on a fixed schedule, so
+ * a slow response delays the client's next sends instead of lowering the
+ * offered load, and the delay shows up in the response time percentiles.
+ * <p>
+ * Without {@code --base-url} the application is started in-process on the
+ * embedded H2 profile. See {@link LoadTestConfig} for the other options.
+ */
+public class LoadGenerator {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private final AtomicLong unsent = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = config.baseUrl();
+        if (baseUrl.isEmpty()) {
+            context = SpringApplication.run(FootballManager.class, applicationArgs(config));
+            baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        }
+        try {
+            new LoadGenerator().run(config, baseUrl);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static String[] applicationArgs(LoadTestConfig config) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=h2", "--server.port=0", "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.batch=OFF",
+                "--logging.level.org.apache.catalina.loader=ERROR",
+                "--football-manager.rate-limit.enabled=false",
+                "--football-manager.virtual-threads.enabled=" + config.virtualThreads()));
+        if (config.poolSize() > 0) {
+            args.add("--spring.datasource.hikari.maximum-pool-size=" + config.poolSize());
+        }
+        return args.toArray(String[]::new);
+    }
+
+    private void run(LoadTestConfig config, String baseUrl) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        LoadTestData data = new LoadTestData(httpClient, baseUrl, OBJECT_MAPPER);
+        System.out.printf("Seeding %d teams and %d players into %s%n", config.teams(), config.players(), baseUrl);
+        data.seed(config.teams(), config.players());
+
+        Scenario scenario = new Scenario(baseUrl, OBJECT_MAPPER);
+        int clients = config.clients();
+        long periodNanos = TimeUnit.SECONDS.toNanos(clients) / config.rate();
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFromNanos = startNanos + config.warmup().toNanos();
+        long endNanos = measureFromNanos + config.duration().toNanos();
+        System.out.printf("Offering %d requests/s from %d clients for %ds after a %ds warmup%n",
+                config.rate(), clients, config.duration().toSeconds(), config.warmup().toSeconds());
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int client = 0; client < clients; client++) {
+            long firstSendNanos = startNanos + periodNanos * client / clients;
+            futures.add(executor.submit(() -> runClient(
+                    httpClient, scenario, data, firstSendNanos, periodNanos, measureFromNanos, endNanos)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        double measuredSeconds = config.duration().toNanos() / 1e9;
+        Map<String, Object> report = report(config, scenario, measuredSeconds);
+        File output = new File(config.output());
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(output, report);
+        print(scenario, measuredSeconds);
+        if (unsent.get() > 0) {
+            System.out.printf("%d scheduled requests were never sent, the offered rate was not sustained%n",
+                    unsent.get());
+        }
+        System.out.println("Results written to " + output.getAbsolutePath());
+    }
+
+    private void runClient(HttpClient httpClient, Scenario scenario, LoadTestData data,
+                           long firstSendNanos, long periodNanos, long measureFromNanos, long endNanos) {
+        long intendedNanos = firstSendNanos;
+        for (; intendedNanos < endNanos; intendedNanos += periodNanos) {
+            long waitNanos = intendedNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            } else if (System.nanoTime() >= endNanos) {
+                // Still behind schedule when the run ends: report the backlog instead of draining it
+                unsent.addAndGet((endNanos - intendedNanos + periodNanos - 1) / periodNanos);
+                return;
+            }
+            Scenario.Operation operation = scenario.pick();
+            boolean measured = intendedNanos >= measureFromNanos;
+            HttpRequest request = operation.request().apply(data);
+            if (request == null) {
+                if (measured) {
+                    operation.stats().recordSkipped();
+                }
+                continue;
+            }
+            long sentNanos = System.nanoTime();
+            try {
+                int status;
+                if (operation.streaming()) {
+                    status = httpClient.send(withTimeout(request), HttpResponse.BodyHandlers.discarding())
+                            .statusCode();
+                } else {
+                    HttpResponse<String> response = httpClient.send(
+                            withTimeout(request), HttpResponse.BodyHandlers.ofString());
+                    status = response.statusCode();
+                    if (status < 300) {
+                        operation.onSuccess().accept(data, response.body());
+                    }
+                }
+                if (measured) {
+                    operation.stats().record(intendedNanos, sentNanos, System.nanoTime(), status);
+                }
+            } catch (IOException e) {
+                if (measured) {
+                    operation.stats().recordFailure(intendedNanos, sentNanos, System.nanoTime());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HttpRequest withTimeout(HttpRequest request) {
+        return HttpRequest.newBuilder(request, (name, value) -> true).timeout(REQUEST_TIMEOUT).build();
+    }
+
+    private Map<String, Object> report(LoadTestConfig config, Scenario scenario, double measuredSeconds) {
+        Histogram allResponseTimes = new Histogram(3);
+        Histogram allServiceTimes = new Histogram(3);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Scenario.Operation operation : scenario.operations()) {
+            allResponseTimes.add(operation.stats().responseTime());
+            allServiceTimes.add(operation.stats().serviceTime());
+            endpoints.put(operation.name(), operation.stats().toMap(measuredSeconds));
+        }
+        Map<String, Object> total = new LinkedHashMap<>();
+        total.put("requests", allResponseTimes.getTotalCount());
+        total.put("unsent", unsent.get());
+        total.put("throughput", allResponseTimes.getTotalCount() / measuredSeconds);
+        total.put("responseTimeMillis", EndpointStats.percentiles(allResponseTimes));
+        total.put("serviceTimeMillis", EndpointStats.percentiles(allServiceTimes));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", config.toMap());
+        report.put("total", total);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void print(Scenario scenario, double measuredSeconds) {
+        System.out.printf("%-36s %8s %9s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "4xx", "5xx");
+        for (Scenario.Operation operation : scenario.operations()) {
+            Map<String, Object> stats = operation.stats().toMap(measuredSeconds);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> latency = (Map<String, Object>) stats.get("responseTimeMillis");
+            System.out.printf("%-36s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d%n",
+                    operation.name(), stats.get("requests"), stats.get("throughput"),
+                    latency.get("p50"), latency.get("p95"), latency.get("p99"), latency.get("p999"),
+                    stats.get("clientErrors"), stats.get("serverErrors"));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.footballmanager.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code --name=value} arguments.
+ */
+class LoadTestConfig {
+    private final Map<String, String> values = new HashMap<>();
+
+    LoadTestConfig(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    /** Base URL of a running instance, empty to start the application on the embedded H2 profile. */
+    String baseUrl() {
+        return values.getOrDefault("base-url", "");
+    }
+
+    int teams() {
+        return Integer.parseInt(values.getOrDefault("teams", "50"));
+    }
+
+    int players() {
+        return Integer.parseInt(values.getOrDefault("players", "10000"));
+    }
+
+    /** Target request rate across all clients, in requests per second. */
+    int rate() {
+        return Integer.parseInt(values.getOrDefault("rate", "200"));
+    }
+
+    int clients() {
+        return Integer.parseInt(values.getOrDefault("clients", "32"));
+    }
+
+    Duration warmup() {
+        return Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10")));
+    }
+
+    Duration duration() {
+        return Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60")));
+    }
+
+    /** Serve the embedded application on virtual threads. */
+    boolean virtualThreads() {
+        return Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false"));
+    }
+
+    /** Connection pool size of the embedded application, 0 for its default. */
+    int poolSize() {
+        return Integer.parseInt(values.getOrDefault("pool-size", "0"));
+    }
+
+    String output() {
+        return values.getOrDefault("output", "target/loadtest-result.json");
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("baseUrl", baseUrl().isEmpty() ? "embedded-h2" : baseUrl());
+        config.put("teams", teams());
+        config.put("players", players());
+        config.put("rate", rate());
+        config.put("clients", clients());
+        config.put("warmupSeconds", warmup().toSeconds());
+        config.put("durationSeconds", duration().toSeconds());
+        config.put("virtualThreads", virtualThreads());
+        config.put("poolSize", poolSize());
+        return config;
+    }
+}
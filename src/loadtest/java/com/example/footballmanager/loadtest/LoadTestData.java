@@ -0,0 +1,120 @@
+package com.example.footballmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids the scenario works with. Seeded teams and players are picked at
+ * random; players and teams created during the run are queued so the delete
+ * and add-to-team endpoints always have something to work on.
+ */
+class LoadTestData {
+    private static final int IMPORT_CHUNK = 1000;
+    private static final int UNASSIGNED_PERCENT = 10;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    final List<Long> teamIds = new CopyOnWriteArrayList<>();
+    final List<Long> playerIds = new CopyOnWriteArrayList<>();
+    final ConcurrentLinkedQueue<Long> unassignedPlayerIds = new ConcurrentLinkedQueue<>();
+    final ConcurrentLinkedQueue<Long> createdPlayerIds = new ConcurrentLinkedQueue<>();
+    final ConcurrentLinkedQueue<Long> createdTeamIds = new ConcurrentLinkedQueue<>();
+
+    LoadTestData(HttpClient httpClient, String baseUrl, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+    }
+
+    void seed(int teams, int players) throws IOException, InterruptedException {
+        for (int i = 0; i < teams; i++) {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/teams"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(teamJson("Load Team " + i)))
+                    .build());
+            teamIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+        StringBuilder chunk = new StringBuilder();
+        for (int i = 1; i <= players; i++) {
+            Long teamId = ThreadLocalRandom.current().nextInt(100) < UNASSIGNED_PERCENT ? null : randomTeamId();
+            chunk.append(playerJson(teamId)).append('\n');
+            if (i % IMPORT_CHUNK == 0 || i == players) {
+                send(HttpRequest.newBuilder(URI.create(baseUrl + "/players/bulk"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(chunk.toString()))
+                        .build());
+                chunk.setLength(0);
+            }
+        }
+        loadPlayerIds();
+    }
+
+    private void loadPlayerIds() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/players/export")).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode player = objectMapper.readTree(line);
+                if (player.hasNonNull("teamId")) {
+                    playerIds.add(player.get("id").asLong());
+                } else {
+                    unassignedPlayerIds.add(player.get("id").asLong());
+                }
+            }
+        }
+        if (playerIds.isEmpty()) {
+            throw new IllegalStateException("Seeding produced no players assigned to a team");
+        }
+    }
+
+    Long randomTeamId() {
+        return teamIds.get(ThreadLocalRandom.current().nextInt(teamIds.size()));
+    }
+
+    Long randomPlayerId() {
+        return playerIds.get(ThreadLocalRandom.current().nextInt(playerIds.size()));
+    }
+
+    String teamJson(String name) {
+        return "{\"name\":\"" + name + "\",\"playerTransferCommission\":"
+                + ThreadLocalRandom.current().nextInt(11) + ",\"budget\":100000000000}";
+    }
+
+    String playerJson(Long teamId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate birthDate = LocalDate.now().minusYears(18 + random.nextInt(20)).minusDays(random.nextInt(365));
+        LocalDate careerStartDate = birthDate.plusYears(16).plusDays(random.nextInt(365));
+        return "{\"firstname\":\"First" + random.nextInt(100000) + "\",\"lastname\":\"Last" + random.nextInt(100000)
+                + "\",\"birthDate\":\"" + birthDate + "\",\"careerStartDate\":\"" + careerStartDate + "\""
+                + (teamId == null ? "" : ",\"teamId\":" + teamId) + "}";
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding request " + request.uri() + " failed with "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.footballmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The request mix: every PlayerController and TeamController endpoint with a
+ * weight roughly matching how often a client would call it. Reads dominate;
+ * creates outweigh deletes so the delete queues never run dry.
+ */
+class Scenario {
+    private static final int QUOTES_PER_REQUEST = 50;
+    private static final int PLAYERS_PER_IMPORT = 100;
+    private final List<Operation> operations = new ArrayList<>();
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private int totalWeight;
+
+    Scenario(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+
+        add("GET /players/{id}", 200, false, data -> get("/players/" + data.randomPlayerId()));
+        add("GET /players?teamId (keyset)", 150, false,
+                data -> get("/players?limit=20&teamId=" + data.randomTeamId()));
+        add("GET /players?teamId&page (offset)", 50, false,
+                data -> get("/players?page=" + ThreadLocalRandom.current().nextInt(5) + "&size=20&teamId="
+                        + data.randomTeamId()));
+        add("GET /players/search", 40, false, data -> get("/players/search?limit=20&lastname=Last"
+                + ThreadLocalRandom.current().nextInt(1000) + "&bornFrom=1990-01-01"));
+        add("GET /players/export", 1, true, data -> get("/players/export"));
+        add("POST /players", 40, false, data -> post("/players",
+                data.playerJson(ThreadLocalRandom.current().nextBoolean() ? data.randomTeamId() : null)),
+                (data, body) -> {
+                    Long id = readLong(body, "id");
+                    if (readLong(body, "teamId") == null) {
+                        data.unassignedPlayerIds.add(id);
+                    } else {
+                        data.createdPlayerIds.add(id);
+                    }
+                });
+        add("POST /players/bulk", 5, false, data -> {
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < PLAYERS_PER_IMPORT; i++) {
+                body.append(data.playerJson(data.randomTeamId())).append('\n');
+            }
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/players/bulk"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+        });
+        add("POST /players/{id}/add-to-team", 15, false, data -> {
+            Long playerId = data.unassignedPlayerIds.poll();
+            return playerId == null ? null
+                    : post("/players/" + playerId + "/add-to-team?teamId=" + data.randomTeamId(), "");
+        }, (data, body) -> data.createdPlayerIds.add(readLong(body, "id")));
+        add("POST /players/{id}/transfer", 40, false,
+                data -> post("/players/" + data.randomPlayerId() + "/transfer?teamId=" + data.randomTeamId(), ""));
+        add("POST /players/{id}/transfer?async=true", 20, false, data -> post("/players/" + data.randomPlayerId()
+                + "/transfer?async=true&teamId=" + data.randomTeamId(), ""));
+        add("GET /transfers?teamId", 20, false,
+                data -> get("/transfers?limit=20&teamId=" + data.randomTeamId()));
+        add("POST /players/transfer-quotes", 20, false, data -> {
+            StringBuilder body = new StringBuilder("{\"quotes\":[");
+            for (int i = 0; i < QUOTES_PER_REQUEST; i++) {
+                body.append(i == 0 ? "" : ",").append("{\"playerId\":").append(data.randomPlayerId())
+                        .append(",\"buyingTeamId\":").append(data.randomTeamId()).append('}');
+            }
+            return post("/players/transfer-quotes", body.append("]}").toString());
+        });
+        add("PUT /players/{id}", 30, false, data -> {
+            Long playerId = data.createdPlayerIds.peek();
+            return playerId == null ? null : put("/players/" + playerId, data.playerJson(data.randomTeamId()));
+        });
+        add("DELETE /players/{id}", 20, false, data -> {
+            Long playerId = data.createdPlayerIds.poll();
+            return playerId == null ? null : delete("/players/" + playerId);
+        });
+
+        add("GET /teams/{id}", 150, false, data -> get("/teams/" + data.randomTeamId()));
+        add("GET /teams (keyset)", 50, false, data -> get("/teams?limit=20"));
+        add("GET /teams?page (offset)", 20, false,
+                data -> get("/teams?page=" + ThreadLocalRandom.current().nextInt(3) + "&size=20"));
+        add("GET /teams/{id}/players/export", 10, true, data -> get("/teams/" + data.randomTeamId()
+                + "/players/export"));
+        add("GET /teams/{id}/roster", 30, true, data -> get("/teams/" + data.randomTeamId() + "/roster"));
+        add("POST /teams", 10, false, data -> post("/teams", data.teamJson("Created Team")),
+                (data, body) -> data.createdTeamIds.add(readLong(body, "id")));
+        add("PUT /teams/{id}", 10, false, data -> {
+            Long teamId = data.createdTeamIds.peek();
+            return teamId == null ? null : put("/teams/" + teamId, data.teamJson("Updated Team"));
+        });
+        add("DELETE /teams/{id}", 5, false, data -> {
+            Long teamId = data.createdTeamIds.poll();
+            return teamId == null ? null : delete("/teams/" + teamId);
+        });
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Operation pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up to " + totalWeight);
+    }
+
+    private void add(String name, int weight, boolean streaming, Function<LoadTestData, HttpRequest> request) {
+        add(name, weight, streaming, request, (data, body) -> { });
+    }
+
+    private void add(String name, int weight, boolean streaming, Function<LoadTestData, HttpRequest> request,
+                     BiConsumer<LoadTestData, String> onSuccess) {
+        operations.add(new Operation(name, weight, streaming, request, onSuccess, new EndpointStats()));
+        totalWeight += weight;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest put(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest delete(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).DELETE().build();
+    }
+
+    private Long readLong(String json, String field) {
+        try {
+            JsonNode node = objectMapper.readTree(json).get(field);
+            return node == null || node.isNull() ? null : node.asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response body: " + json, e);
+        }
+    }
+
+    /**
+     * One endpoint of the mix. The request factory returns null when there is
+     * nothing to work on, e.g. no unassigned player is left to add to a team.
+     */
+    record Operation(
+            String name,
+            int weight,
+            boolean streaming,
+            Function<LoadTestData, HttpRequest> request,
+            BiConsumer<LoadTestData, String> onSuccess,
+            EndpointStats stats
+    ) {
+    }
+}
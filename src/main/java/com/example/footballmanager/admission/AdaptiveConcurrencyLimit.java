@@ -0,0 +1,120 @@
+package com.example.footballmanager.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A limit on requests in flight that follows their latency, in the manner
+ * of TCP Vegas. The fastest recent response is taken as the latency without
+ * queueing; how much slower a response is tells how many requests were
+ * queued ahead of it. The limit grows while that queue is short and the
+ * limit is actually used, and shrinks when it gets long or a request fails.
+ * Every so often the no-load latency is measured afresh, so the limit also
+ * recovers after the baseline itself got slower.
+ * <p>
+ * Taking a slot is a compare-and-set on the in-flight count against the
+ * current limit; only finished requests update the limit. They do so under
+ * a lock rather than a monitor, so a virtual thread never pins its carrier
+ * here, and a successful sample that finds the lock taken is dropped
+ * instead of waiting; failures always wait their turn.
+ */
+public class AdaptiveConcurrencyLimit {
+    /** Samples between no-load latency probes, per unit of limit. */
+    private static final int PROBE_SAMPLES_PER_LIMIT = 30;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private volatile int limit;
+    private double estimatedLimit;
+    private long noLoadRttNanos;
+    private long samplesUntilProbe;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max limit, got " + minLimit
+                    + ", " + initialLimit + " and " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.samplesUntilProbe = nextProbe(initialLimit);
+    }
+
+    /** Takes a slot if fewer requests than the limit are in flight. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a slot taken by {@link #tryAcquire} and adjusts the limit to
+     * the request's latency; a failed request only ever lowers it.
+     */
+    public void release(long rttNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        if (failed) {
+            sampleLock.lock();
+        } else if (!sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            onSample(Math.max(1, rttNanos), current, failed);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void onSample(long rttNanos, int inFlightAtEnd, boolean failed) {
+        if (--samplesUntilProbe <= 0) {
+            samplesUntilProbe = nextProbe(limit);
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+            noLoadRttNanos = rttNanos;
+            return;
+        }
+        double step = Math.max(1, Math.log10(estimatedLimit));
+        double next;
+        if (failed) {
+            next = estimatedLimit - step;
+        } else if (inFlightAtEnd * 2 < estimatedLimit) {
+            // The limit isn't what holds requests back, so latency says nothing about it
+            return;
+        } else {
+            double queued = Math.ceil(estimatedLimit * (1 - (double) noLoadRttNanos / rttNanos));
+            if (queued <= step) {
+                next = estimatedLimit + 6 * step;
+            } else if (queued < 3 * step) {
+                next = estimatedLimit + step;
+            } else if (queued > 6 * step) {
+                next = estimatedLimit - step;
+            } else {
+                return;
+            }
+        }
+        estimatedLimit = Math.min(maxLimit, Math.max(minLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    private static long nextProbe(int limit) {
+        return (long) PROBE_SAMPLES_PER_LIMIT * limit;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.footballmanager.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Gives reads, simple writes and transfers each their own adaptive limit
+ * on requests in flight, so a burst of slow transfers holding row locks
+ * can't take every worker thread and connection from cheap lookups. A
+ * request over its group's limit is rejected right away with 503 and a
+ * {@code Retry-After} instead of queueing. Asynchronous requests keep their
+ * slot until the response completes.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    static final String OVERLOADED_MESSAGE = "Too many requests in flight, please retry later";
+    static final String RETRY_AFTER_SECONDS = "1";
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final Map<EndpointGroup, AdaptiveConcurrencyLimit> limits;
+    private final Map<EndpointGroup, Counter> rejections = new EnumMap<>(EndpointGroup.class);
+
+    public ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            Map<EndpointGroup, AdaptiveConcurrencyLimit> limits
+    ) {
+        this(meterRegistry, objectMapper, limits, System::nanoTime);
+    }
+
+    ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            Map<EndpointGroup, AdaptiveConcurrencyLimit> limits,
+            LongSupplier nanoClock
+    ) {
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.limits = new EnumMap<>(limits);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            AdaptiveConcurrencyLimit limit = limits.get(group);
+            if (limit == null) {
+                throw new IllegalArgumentException("No concurrency limit for " + group.tag());
+            }
+            Gauge.builder("football.manager.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Requests allowed in flight at once")
+                    .tag("group", group.tag())
+                    .register(meterRegistry);
+            Gauge.builder("football.manager.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Requests in flight")
+                    .tag("group", group.tag())
+                    .register(meterRegistry);
+            rejections.put(group, Counter.builder("football.manager.concurrency.rejected")
+                    .description("Requests rejected because their group was at its limit")
+                    .tag("group", group.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request);
+        AdaptiveConcurrencyLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            rejections.get(group).increment();
+            reject(response);
+            return;
+        }
+        Slot slot = new Slot(limit, response, nanoClock.getAsLong());
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(slot);
+            } else {
+                slot.release(failed);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", OVERLOADED_MESSAGE);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /** A taken slot, given back once when its request completes, errors or times out. */
+    private class Slot implements AsyncListener {
+        private final AdaptiveConcurrencyLimit limit;
+        private final HttpServletResponse response;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot(AdaptiveConcurrencyLimit limit, HttpServletResponse response, long startNanos) {
+            this.limit = limit;
+            this.response = response;
+            this.startNanos = startNanos;
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(nanoClock.getAsLong() - startNanos,
+                        failed || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(false);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.footballmanager.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Locale;
+
+/** The groups requests are admitted in; transfers are the writes that lock team rows. */
+public enum EndpointGroup {
+    READS,
+    WRITES,
+    TRANSFERS;
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    public static EndpointGroup of(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return READS;
+        }
+        String uri = request.getRequestURI();
+        if ("POST".equals(method) && (uri.endsWith("/transfer") || uri.endsWith("/transfers"))) {
+            return TRANSFERS;
+        }
+        return WRITES;
+    }
+
+    /** The group's name as a metric tag. */
+    public String tag() {
+        return tag;
+    }
+}
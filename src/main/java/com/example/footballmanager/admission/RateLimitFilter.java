@@ -0,0 +1,192 @@
+package com.example.footballmanager.admission;
+
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.exception.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Limits every client to a rate of reads and a rate of writes, each with
+ * its own token bucket; a transfer takes {@code transferCost} write tokens.
+ * Clients are told apart by their {@code X-API-Key} header, or by their
+ * address when they send none. Buckets of clients that stay idle long
+ * enough to refill are dropped, and at most {@code maxClients} are kept,
+ * the least recently used going first. A request over the limit is answered
+ * with 429 and a {@code Retry-After} of the seconds until it would pass.
+ * <p>
+ * A transfer request pays for one transfer up front. Endpoints that take
+ * many transfers in one request charge the rest once they have read it,
+ * through the {@link TransferCharge} left in the request attribute
+ * {@link #TRANSFER_CHARGE_ATTRIBUTE}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final String TRANSFER_CHARGE_ATTRIBUTE =
+            "com.example.footballmanager.admission.RateLimitFilter.transferCharge";
+    static final String RATE_LIMITED_MESSAGE = "Rate limit exceeded, please retry later";
+    private static final int REQUEST_COST = 1;
+    private final ObjectMapper objectMapper;
+    private final Limits reads;
+    private final Limits writes;
+    private final int transferCost;
+    private final LongSupplier nanoClock;
+    private final Cache<String, ClientBuckets> clients;
+    private final Function<String, ClientBuckets> newClient;
+    private final Counter allowedReads;
+    private final Counter rejectedReads;
+    private final Counter allowedWrites;
+    private final Counter rejectedWrites;
+
+    public RateLimitFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            Limits reads,
+            Limits writes,
+            int transferCost,
+            long maxClients,
+            Duration idleTimeout
+    ) {
+        this(meterRegistry, objectMapper, reads, writes, transferCost, maxClients, idleTimeout, System::nanoTime);
+    }
+
+    RateLimitFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            Limits reads,
+            Limits writes,
+            int transferCost,
+            long maxClients,
+            Duration idleTimeout,
+            LongSupplier nanoClock
+    ) {
+        if (transferCost < REQUEST_COST || transferCost > writes.burst()) {
+            throw new IllegalArgumentException("The transfer cost has to be between " + REQUEST_COST
+                    + " and the write burst of " + writes.burst() + ", got " + transferCost);
+        }
+        this.objectMapper = objectMapper;
+        this.reads = reads;
+        this.writes = writes;
+        this.transferCost = transferCost;
+        this.nanoClock = nanoClock;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        this.newClient = client -> new ClientBuckets(
+                new TokenBucket(this.reads.perSecond(), this.reads.burst()),
+                new TokenBucket(this.writes.perSecond(), this.writes.burst()));
+        CaffeineCacheMetrics.monitor(meterRegistry, clients, "rate-limit-clients");
+        this.allowedReads = requests(meterRegistry, "read", "allowed");
+        this.rejectedReads = requests(meterRegistry, "read", "rejected");
+        this.allowedWrites = requests(meterRegistry, "write", "allowed");
+        this.rejectedWrites = requests(meterRegistry, "write", "rejected");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ClientBuckets buckets = clients.get(clientKey(request), newClient);
+        EndpointGroup group = EndpointGroup.of(request);
+        boolean read = group == EndpointGroup.READS;
+        long waitNanos = read
+                ? buckets.reads().tryTake(REQUEST_COST, nanoClock.getAsLong())
+                : buckets.writes().tryTake(group == EndpointGroup.TRANSFERS ? transferCost : REQUEST_COST,
+                        nanoClock.getAsLong());
+        if (waitNanos == 0) {
+            (read ? allowedReads : allowedWrites).increment();
+            if (group == EndpointGroup.TRANSFERS) {
+                request.setAttribute(TRANSFER_CHARGE_ATTRIBUTE,
+                        (TransferCharge) transfers -> chargeTransfers(buckets, transfers));
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+        (read ? rejectedReads : rejectedWrites).increment();
+        reject(response, waitNanos);
+    }
+
+    /**
+     * Takes the write tokens for all but the first of the transfers, which
+     * the request already paid for. A batch costing more than the write burst
+     * could never pass, so it is rejected as a bad request rather than told
+     * to retry.
+     */
+    private void chargeTransfers(ClientBuckets buckets, int transfers) {
+        long cost = (long) transfers * transferCost;
+        if (cost > writes.burst()) {
+            throw new BadRequestException("A request may hold at most " + writes.burst() / transferCost
+                    + " transfers under the rate limit, got " + transfers);
+        }
+        if (transfers <= 1) {
+            return;
+        }
+        long waitNanos = buckets.writes().tryTake((int) cost - transferCost, nanoClock.getAsLong());
+        if (waitNanos > 0) {
+            rejectedWrites.increment();
+            throw new TooManyRequestsException(RATE_LIMITED_MESSAGE, retryAfterSeconds(waitNanos));
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", RATE_LIMITED_MESSAGE);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey == null || apiKey.isEmpty() ? request.getRemoteAddr() : apiKey;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String bucket, String outcome) {
+        return Counter.builder("football.manager.rate-limit.requests")
+                .description("Requests let through or rejected by the per-client rate limit")
+                .tag("bucket", bucket)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** How many requests a client may send per second on average, and in a burst. */
+    public record Limits(double perSecond, int burst) {
+    }
+
+    /** Charges a request for the transfers it holds, throwing when the client can't afford them. */
+    @FunctionalInterface
+    public interface TransferCharge {
+        void take(int transfers);
+    }
+
+    private record ClientBuckets(TokenBucket reads, TokenBucket writes) {
+    }
+}
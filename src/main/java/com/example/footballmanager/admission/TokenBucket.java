@@ -0,0 +1,46 @@
+package com.example.footballmanager.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket refilled at a fixed rate up to its capacity. Instead of a
+ * token count and a refill time, it keeps the single time at which the
+ * bucket will be full again, so taking tokens is one compare-and-set with
+ * no lock and no background refill.
+ */
+public class TokenBucket {
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double tokensPerSecond, int capacity) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("A token bucket needs a positive rate and capacity, got "
+                    + tokensPerSecond + " tokens per second and a capacity of " + capacity);
+        }
+        this.nanosPerToken = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+        this.capacityNanos = nanosPerToken * capacity;
+    }
+
+    /**
+     * Takes the tokens if the bucket holds them.
+     *
+     * @return 0 when they were taken, otherwise the nanoseconds until the
+     *         bucket will hold them
+     */
+    public long tryTake(int tokens, long nowNanos) {
+        long cost = nanosPerToken * tokens;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + cost;
+            long waitNanos = next - capacityNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.footballmanager.cache;
+
+import com.example.footballmanager.model.Team;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache for team lookups. Entries are detached copies and every
+ * read hands out a fresh copy, so callers can never mutate a cached team.
+ * Evictions issued inside a transaction are applied after it commits.
+ * Misses are loaded outside the cache's locks, so a database call never
+ * runs while holding a monitor that would pin a virtual thread; concurrent
+ * misses for the same team may both load it.
+ * <p>
+ * A load that started before a change committed may finish after that
+ * change's eviction, and must then not be cached. Every eviction bumps a
+ * generation shared by the teams hashing to the same stripe; a load only
+ * publishes its team when the generation is unchanged, and takes the entry
+ * out again if an eviction slipped in while it was being stored.
+ * Size, TTL and statistics come from {@code spring.cache.caffeine.spec};
+ * {@code spring.cache.type=none} turns the cache off.
+ */
+@Component
+public class TeamCache {
+    public static final String CACHE_NAME = "teams";
+    private static final int GENERATION_STRIPES = 64;
+    private final Cache cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public TeamCache(CacheManager cacheManager) {
+        Cache teams = cacheManager.getCache(CACHE_NAME);
+        if (teams == null) {
+            throw new IllegalStateException("Cache '" + CACHE_NAME + "' is not configured");
+        }
+        this.cache = teams;
+    }
+
+    public Team get(Long id, Supplier<Team> loader) {
+        Team cachedTeam = cache.get(id, Team.class);
+        if (cachedTeam != null) {
+            return copyOf(cachedTeam);
+        }
+        int stripe = stripe(id);
+        long generation = generations.get(stripe);
+        Team loadedTeam = copyOf(loader.get());
+        if (generations.get(stripe) == generation
+                && cache.putIfAbsent(id, loadedTeam) == null
+                && generations.get(stripe) != generation) {
+            cache.evict(id);
+        }
+        return copyOf(loadedTeam);
+    }
+
+    public void evict(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(id);
+                }
+            });
+        } else {
+            invalidate(id);
+        }
+    }
+
+    private void invalidate(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.evict(id);
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    private static Team copyOf(Team team) {
+        Team copy = new Team();
+        copy.setId(team.getId());
+        copy.setName(team.getName());
+        copy.setPlayerTransferCommission(team.getPlayerTransferCommission());
+        copy.setBudget(team.getBudget());
+        copy.setVersion(team.getVersion());
+        copy.setStripedBudget(team.getStripedBudget());
+        copy.setStripedVersion(team.getStripedVersion());
+        return copy;
+    }
+}
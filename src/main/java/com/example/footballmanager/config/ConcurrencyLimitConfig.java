@@ -0,0 +1,47 @@
+package com.example.footballmanager.config;
+
+import com.example.footballmanager.admission.AdaptiveConcurrencyLimit;
+import com.example.footballmanager.admission.ConcurrencyLimitFilter;
+import com.example.footballmanager.admission.EndpointGroup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Puts adaptive concurrency limits in front of the player, team and transfer
+ * endpoints, right after the per-client rate limit, so only requests a
+ * client is allowed to send take a slot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "football-manager.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+    private static final int MIN_LIMIT = 1;
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${football-manager.concurrency-limit.reads.initial-limit}") int readsInitialLimit,
+            @Value("${football-manager.concurrency-limit.reads.max-limit}") int readsMaxLimit,
+            @Value("${football-manager.concurrency-limit.writes.initial-limit}") int writesInitialLimit,
+            @Value("${football-manager.concurrency-limit.writes.max-limit}") int writesMaxLimit,
+            @Value("${football-manager.concurrency-limit.transfers.initial-limit}") int transfersInitialLimit,
+            @Value("${football-manager.concurrency-limit.transfers.max-limit}") int transfersMaxLimit
+    ) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(meterRegistry, objectMapper, Map.of(
+                EndpointGroup.READS, new AdaptiveConcurrencyLimit(readsInitialLimit, MIN_LIMIT, readsMaxLimit),
+                EndpointGroup.WRITES, new AdaptiveConcurrencyLimit(writesInitialLimit, MIN_LIMIT, writesMaxLimit),
+                EndpointGroup.TRANSFERS,
+                new AdaptiveConcurrencyLimit(transfersInitialLimit, MIN_LIMIT, transfersMaxLimit)));
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/players", "/players/*", "/teams", "/teams/*", "/transfers", "/transfers/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
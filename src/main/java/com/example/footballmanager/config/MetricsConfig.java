@@ -0,0 +1,60 @@
+package com.example.footballmanager.config;
+
+import com.example.footballmanager.metrics.ServiceMetricsInterceptor;
+import com.example.footballmanager.metrics.SqlStatisticsFilter;
+import com.example.footballmanager.metrics.SqlStatisticsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times every public service call and counts the SQL statements of every
+ * request. Repository calls are already timed by Spring Boot as
+ * {@code spring.data.repository.invocations}.
+ */
+@Configuration
+public class MetricsConfig {
+    static final String SERVICE_POINTCUT =
+            "execution(public * com.example.footballmanager.service.*Service+.*(..))";
+
+    @Bean
+    public static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(SERVICE_POINTCUT);
+        return new DefaultPointcutAdvisor(pointcut, new ServiceMetricsInterceptor(meterRegistry::getObject));
+    }
+
+    @Bean
+    public SqlStatisticsFilter sqlStatisticsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${football-manager.sql.statement-budget}") int statementBudget
+    ) {
+        return new SqlStatisticsFilter(meterRegistry, statementBudget);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatisticsListener())
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.footballmanager.config;
+
+import com.example.footballmanager.admission.RateLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Puts the per-client rate limit in front of the player and team endpoints,
+ * ahead of the other filters so a rejected request costs as little as
+ * possible.
+ */
+@Configuration
+@ConditionalOnProperty(name = "football-manager.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${football-manager.rate-limit.reads-per-second}") double readsPerSecond,
+            @Value("${football-manager.rate-limit.read-burst}") int readBurst,
+            @Value("${football-manager.rate-limit.writes-per-second}") double writesPerSecond,
+            @Value("${football-manager.rate-limit.write-burst}") int writeBurst,
+            @Value("${football-manager.rate-limit.transfer-cost}") int transferCost,
+            @Value("${football-manager.rate-limit.max-clients}") long maxClients,
+            @Value("${football-manager.rate-limit.idle-seconds}") long idleSeconds
+    ) {
+        RateLimitFilter filter = new RateLimitFilter(meterRegistry, objectMapper,
+                new RateLimitFilter.Limits(readsPerSecond, readBurst),
+                new RateLimitFilter.Limits(writesPerSecond, writeBurst),
+                transferCost, maxClients, Duration.ofSeconds(idleSeconds));
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/players", "/players/*", "/teams", "/teams/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
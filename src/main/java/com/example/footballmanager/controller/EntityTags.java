@@ -0,0 +1,54 @@
+package com.example.footballmanager.controller;
+
+import com.example.footballmanager.exception.PreconditionFailedException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Strong entity tags derived from the {@code @Version} column. A single
+ * entity is tagged with its version, a page with a digest of the ids and
+ * versions it contains, so a tag changes whenever the representation does.
+ * Teams use their revision, which also counts the writes to budget stripes.
+ */
+final class EntityTags {
+    private static final String PRECONDITION_FAILED_MESSAGE =
+            "If-Match does not match the current version of the entity";
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static <T> String ofAll(Slice<T> slice, Function<T, Long> idExtractor, Function<T, Long> versionExtractor) {
+        StringBuilder builder = new StringBuilder();
+        for (T element : slice) {
+            builder.append(idExtractor.apply(element)).append(':')
+                    .append(versionExtractor.apply(element)).append(',');
+        }
+        builder.append(slice.hasNext());
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Returns the version a single strong If-Match tag refers to, or null when
+     * the header is absent or {@code *}. Anything else can never match.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException(PRECONDITION_FAILED_MESSAGE);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException(PRECONDITION_FAILED_MESSAGE);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.footballmanager.controller;
 
 import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.exception.ConflictException;
+import com.example.footballmanager.exception.PreconditionFailedException;
+import com.example.footballmanager.exception.TooManyRequestsException;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +24,12 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    static final String DATA_INTEGRITY_VIOLATION_MESSAGE =
+            "Request references a missing entity or conflicts with existing data";
+    static final String CONCURRENCY_FAILURE_MESSAGE =
+            "The data was modified concurrently, please retry the request";
+    static final String RETRY_AFTER_SECONDS = "1";
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
@@ -55,6 +66,56 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(body, HttpStatusCode.valueOf(404));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    protected ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", 412);
+        body.put("error", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatusCode.valueOf(412));
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    protected ResponseEntity<Object> handleConflictException(ConflictException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", 409);
+        body.put("error", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatusCode.valueOf(409));
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    protected ResponseEntity<Object> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex
+    ) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", 409);
+        body.put("error", DATA_INTEGRITY_VIOLATION_MESSAGE);
+        return new ResponseEntity<>(body, HttpStatusCode.valueOf(409));
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    protected ResponseEntity<Object> handleConcurrencyFailureException(ConcurrencyFailureException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", 409);
+        body.put("error", CONCURRENCY_FAILURE_MESSAGE);
+        return new ResponseEntity<>(body, HttpStatusCode.valueOf(409));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    protected ResponseEntity<Object> handleTooManyRequestsException(TooManyRequestsException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", 429);
+        body.put("error", ex.getMessage());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, ex.getRetryAfterSeconds() == null
+                ? RETRY_AFTER_SECONDS : String.valueOf(ex.getRetryAfterSeconds()));
+        return new ResponseEntity<>(body, headers, HttpStatusCode.valueOf(429));
+    }
+
     private String getErrorMessage(ObjectError e) {
         if (e instanceof FieldError) {
             return ((FieldError) e).getField() + ": " + e.getDefaultMessage();
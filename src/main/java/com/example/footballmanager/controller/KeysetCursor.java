@@ -0,0 +1,56 @@
+package com.example.footballmanager.controller;
+
+import com.example.footballmanager.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token wraps the id of
+ * the last row of a page; the next page is read with {@code id > lastId}.
+ */
+final class KeysetCursor {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_LIMIT = 1000;
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    static Long decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new BadRequestException("Invalid continuation token");
+            }
+            return Long.valueOf(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid continuation token");
+        }
+    }
+
+    static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    static <T> ResponseEntity.BodyBuilder ok(Slice<T> slice, Function<T, Long> idExtractor) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (slice.hasNext()) {
+            T last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            builder.header(NEXT_CURSOR_HEADER, encode(idExtractor.apply(last)));
+        }
+        return builder;
+    }
+}
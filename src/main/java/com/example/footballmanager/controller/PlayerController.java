@@ -1,108 +1,282 @@
 package com.example.footballmanager.controller;
 
+import com.example.footballmanager.admission.RateLimitFilter;
 import com.example.footballmanager.dto.mapper.DtoMapper;
+import com.example.footballmanager.dto.mapper.TransferJobDtoMapper;
 import com.example.footballmanager.dto.request.PlayerRequestDto;
+import com.example.footballmanager.dto.request.PlayerSearchRequestDto;
+import com.example.footballmanager.dto.request.TransferInstructionRequestDto;
+import com.example.footballmanager.dto.request.TransferInstructionsRequestDto;
+import com.example.footballmanager.dto.request.TransferQuoteRequestDto;
+import com.example.footballmanager.dto.request.TransferQuotesRequestDto;
+import com.example.footballmanager.dto.response.PlayerImportResponseDto;
 import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.dto.response.TransferInstructionResponseDto;
+import com.example.footballmanager.dto.response.TransferJobResponseDto;
+import com.example.footballmanager.dto.response.TransferQuoteResponseDto;
 import com.example.footballmanager.model.Player;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TransferInstruction;
+import com.example.footballmanager.model.TransferJob;
+import com.example.footballmanager.model.TransferQuote;
+import com.example.footballmanager.service.IdempotencyService;
+import com.example.footballmanager.service.PlayerExportService;
+import com.example.footballmanager.service.PlayerImportService;
 import com.example.footballmanager.service.PlayerService;
 import com.example.footballmanager.service.TeamService;
+import com.example.footballmanager.service.TransferJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/players")
 public class PlayerController {
     private final PlayerService playerService;
     private final TeamService teamService;
+    private final PlayerImportService playerImportService;
+    private final PlayerExportService playerExportService;
+    private final TransferJobService transferJobService;
+    private final IdempotencyService idempotencyService;
     private final DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper;
+    private final DtoMapper<TransferQuote, TransferQuoteRequestDto, TransferQuoteResponseDto> transferQuoteDtoMapper;
+    private final DtoMapper<TransferInstruction, TransferInstructionRequestDto, TransferInstructionResponseDto>
+            transferInstructionDtoMapper;
+    private final TransferJobDtoMapper transferJobDtoMapper;
 
     public PlayerController(
             PlayerService playerService,
             TeamService teamService,
-            DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper
+            PlayerImportService playerImportService,
+            PlayerExportService playerExportService,
+            TransferJobService transferJobService,
+            IdempotencyService idempotencyService,
+            DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper,
+            DtoMapper<TransferQuote, TransferQuoteRequestDto, TransferQuoteResponseDto> transferQuoteDtoMapper,
+            DtoMapper<TransferInstruction, TransferInstructionRequestDto, TransferInstructionResponseDto>
+                    transferInstructionDtoMapper,
+            TransferJobDtoMapper transferJobDtoMapper
     ) {
         this.playerService = playerService;
         this.teamService = teamService;
+        this.playerImportService = playerImportService;
+        this.playerExportService = playerExportService;
+        this.transferJobService = transferJobService;
+        this.idempotencyService = idempotencyService;
         this.playerDtoMapper = playerDtoMapper;
+        this.transferQuoteDtoMapper = transferQuoteDtoMapper;
+        this.transferInstructionDtoMapper = transferInstructionDtoMapper;
+        this.transferJobDtoMapper = transferJobDtoMapper;
     }
 
-    @Operation(description = "Get player by ID")
+    @Operation(description = "Get player by ID; answers If-None-Match with 304 from a version lookup")
     @GetMapping("/{id}")
-    public ResponseEntity<PlayerResponseDto> getPlayerById(@PathVariable Long id) {
-        Player player = playerService.getById(id);
-        if (player == null) {
+    public ResponseEntity<PlayerResponseDto> getPlayerById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest webRequest
+    ) {
+        if (ifNoneMatch != null && webRequest.checkNotModified(EntityTags.of(playerService.getVersionById(id)))) {
+            return null;
+        }
+        PlayerResponseDto responseDto = playerService.getResponseDtoById(id);
+        if (responseDto == null) {
             return ResponseEntity.notFound().build();
         }
-        PlayerResponseDto responseDto = playerDtoMapper.toResponseDto(player);
-        return ResponseEntity.ok(responseDto);
+        return ResponseEntity.ok().eTag(EntityTags.of(responseDto.getVersion())).body(responseDto);
     }
 
-    @Operation(description = "Get all players by team ID")
+    @Operation(description = "Get all players by team ID, keyset-paginated by default; "
+            + "pass page to use offset pagination")
     @GetMapping
     public ResponseEntity<List<PlayerResponseDto>> getAllPlayersByTeamId(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit,
             @RequestParam Long teamId
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
-        List<PlayerResponseDto> playerResponseDtos = playerService.getAllByTeamId(pageable, teamId)
-                .stream()
-                .map(playerDtoMapper::toResponseDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(playerResponseDtos);
+        if (page != null) {
+            Pageable pageable = PageRequest.of(page, size);
+            Page<PlayerResponseDto> players = playerService.getAllByTeamId(pageable, teamId);
+            return ResponseEntity.ok()
+                    .eTag(EntityTags.ofAll(players, PlayerResponseDto::getId, PlayerResponseDto::getVersion))
+                    .body(players.getContent());
+        }
+        KeysetCursor.checkLimit(limit);
+        Slice<PlayerResponseDto> players = playerService.getAllByTeamIdAfter(
+                teamId, KeysetCursor.decode(after), limit);
+        return KeysetCursor.ok(players, PlayerResponseDto::getId)
+                .eTag(EntityTags.ofAll(players, PlayerResponseDto::getId, PlayerResponseDto::getVersion))
+                .body(players.getContent());
+    }
+
+    @Operation(description = "Search players by name prefix, birth date and career start ranges, team "
+            + "or free agent status, keyset-paginated by id")
+    @GetMapping("/search")
+    public ResponseEntity<List<PlayerResponseDto>> searchPlayers(
+            @Valid PlayerSearchRequestDto filters,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        KeysetCursor.checkLimit(limit);
+        Slice<PlayerResponseDto> players = playerService.search(filters, KeysetCursor.decode(after), limit);
+        return KeysetCursor.ok(players, PlayerResponseDto::getId)
+                .eTag(EntityTags.ofAll(players, PlayerResponseDto::getId, PlayerResponseDto::getVersion))
+                .body(players.getContent());
+    }
+
+    @Operation(description = "Export all players as NDJSON")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPlayers() {
+        StreamingResponseBody responseBody = playerExportService::exportAll;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
     }
 
-    @Operation(description = "Create a new player")
+    @Operation(description = "Create a new player; a retry with the same Idempotency-Key gets the first response")
     @PostMapping
-    public ResponseEntity<PlayerResponseDto> createPlayer(@Valid @RequestBody PlayerRequestDto requestDto) {
-        Player player = playerService.create(playerDtoMapper.toModel(requestDto));
-        PlayerResponseDto responseDto = playerDtoMapper.toResponseDto(player);
-        return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
+    public ResponseEntity<PlayerResponseDto> createPlayer(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PlayerRequestDto requestDto
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /players", requestDto, PlayerResponseDto.class, () -> {
+            Player player = playerService.create(playerDtoMapper.toModel(requestDto));
+            PlayerResponseDto responseDto = playerDtoMapper.toResponseDto(player);
+            return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
+        });
     }
 
-    @Operation(description = "Add an unassigned player to a team")
-    @PostMapping("/{playerId}/add-to-team")
-    public ResponseEntity<PlayerResponseDto> addUnassignedPlayerToTeam(@PathVariable Long playerId, @RequestParam Long teamId) {
-        Player player = playerService.getById(playerId);
-        Team team = teamService.getById(teamId);
-        Player updatedPlayer = playerService.addUnassignedPlayerToTeam(player, team);
-        PlayerResponseDto responseDto = playerDtoMapper.toResponseDto(updatedPlayer);
+    @Operation(description = "Import players in bulk from a JSON array or an NDJSON stream")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<PlayerImportResponseDto> importPlayers(InputStream inputStream) throws IOException {
+        PlayerImportResponseDto responseDto = playerImportService.importPlayers(inputStream);
         return ResponseEntity.ok(responseDto);
     }
 
-    @Operation(description = "Transfer a player to a team")
+    @Operation(description = "Add an unassigned player to a team; a retry with the same Idempotency-Key "
+            + "gets the first response")
+    @PostMapping("/{playerId}/add-to-team")
+    public ResponseEntity<PlayerResponseDto> addUnassignedPlayerToTeam(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable Long playerId,
+            @RequestParam Long teamId
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /players/{playerId}/add-to-team",
+                List.of(playerId, teamId), PlayerResponseDto.class, () -> {
+                    Player player = playerService.getById(playerId);
+                    Team team = teamService.getById(teamId);
+                    Player updatedPlayer = playerService.addUnassignedPlayerToTeam(player, team);
+                    PlayerResponseDto responseDto = playerDtoMapper.toResponseDto(updatedPlayer);
+                    return ResponseEntity.ok(responseDto);
+                });
+    }
+
+    @Operation(description = "Transfer a player to a team; a retry with the same Idempotency-Key gets the first "
+            + "response instead of a second transfer")
     @PostMapping("/{playerId}/transfer")
-    public ResponseEntity<PlayerResponseDto> transferPlayer(@PathVariable Long playerId, @RequestParam Long teamId) {
-        Player player = playerService.getById(playerId);
-        Team team = teamService.getById(teamId);
-        Player updatedPlayer = playerService.transferPlayerToTeam(player, team);
-        PlayerResponseDto responseDto = playerDtoMapper.toResponseDto(updatedPlayer);
-        return ResponseEntity.ok(responseDto);
+    public ResponseEntity<PlayerResponseDto> transferPlayer(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable Long playerId,
+            @RequestParam Long teamId
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /players/{playerId}/transfer",
+                List.of(playerId, teamId), PlayerResponseDto.class, () -> {
+                    Player updatedPlayer = playerService.transferPlayerToTeam(playerId, teamId);
+                    PlayerResponseDto responseDto = playerDtoMapper.toResponseDto(updatedPlayer);
+                    return ResponseEntity.ok(responseDto);
+                });
+    }
+
+    @Operation(description = "Queue a player transfer and return its job with 202 right away; 429 when the queue "
+            + "is full. A retry with the same Idempotency-Key gets the first job instead of queueing another")
+    @PostMapping(value = "/{playerId}/transfer", params = "async=true")
+    public ResponseEntity<TransferJobResponseDto> transferPlayerAsync(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable Long playerId,
+            @RequestParam Long teamId
+    ) {
+        ResponseEntity<TransferJobResponseDto> response = idempotencyService.execute(idempotencyKey,
+                "POST /players/{playerId}/transfer?async=true", List.of(playerId, teamId),
+                TransferJobResponseDto.class, () -> {
+                    TransferJob job = transferJobService.submit(playerId, teamId);
+                    return ResponseEntity.accepted().body(transferJobDtoMapper.toResponseDto(job));
+                });
+        // Stored responses keep no headers, so the job's location is set on replays too
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .location(URI.create(TransferController.JOBS_PATH + response.getBody().getId()))
+                .body(response.getBody());
+    }
+
+    @Operation(description = "Transfer many players at once; every transfer gets its own outcome and is "
+            + "charged to the client's rate limit like a single transfer")
+    @PostMapping("/transfers")
+    public ResponseEntity<List<TransferInstructionResponseDto>> transferPlayers(
+            @RequestAttribute(name = RateLimitFilter.TRANSFER_CHARGE_ATTRIBUTE, required = false)
+            RateLimitFilter.TransferCharge transferCharge,
+            @RequestBody @Valid TransferInstructionsRequestDto requestDto
+    ) {
+        if (transferCharge != null) {
+            transferCharge.take(requestDto.getTransfers().size());
+        }
+        List<TransferInstruction> instructions = playerService.transferAll(
+                transferInstructionDtoMapper.toModels(requestDto.getTransfers()));
+        List<TransferInstructionResponseDto> responseDtos = instructions.stream()
+                .map(transferInstructionDtoMapper::toResponseDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responseDtos);
     }
 
-    @Operation(description = "Update player by ID")
+    @Operation(description = "Quote transfer fees for many players at once without transferring anyone")
+    @PostMapping("/transfer-quotes")
+    public ResponseEntity<List<TransferQuoteResponseDto>> quoteTransfers(
+            @RequestBody @Valid TransferQuotesRequestDto requestDto
+    ) {
+        List<TransferQuote> quotes = playerService.quoteTransfers(
+                transferQuoteDtoMapper.toModels(requestDto.getQuotes()));
+        List<TransferQuoteResponseDto> responseDtos = quotes.stream()
+                .map(transferQuoteDtoMapper::toResponseDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responseDtos);
+    }
+
+    @Operation(description = "Update player by ID; a stale If-Match is rejected with 412")
     @PutMapping("/{id}")
-    public ResponseEntity<PlayerResponseDto> updatePlayerById(@PathVariable Long id, @RequestBody @Valid PlayerRequestDto requestDto) {
-        Player updatedPlayer = playerService.updateById(id, playerDtoMapper.toModel(requestDto));
+    public ResponseEntity<PlayerResponseDto> updatePlayerById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid PlayerRequestDto requestDto
+    ) {
+        Player player = playerDtoMapper.toModel(requestDto);
+        player.setVersion(EntityTags.expectedVersion(ifMatch));
+        Player updatedPlayer = playerService.updateById(id, player);
         PlayerResponseDto responseDto = playerDtoMapper.toResponseDto(updatedPlayer);
-        return ResponseEntity.ok(responseDto);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedPlayer.getVersion())).body(responseDto);
     }
 
     @Operation(description = "Delete player by ID")
@@ -3,16 +3,22 @@ package com.example.footballmanager.controller;
 import com.example.footballmanager.dto.mapper.DtoMapper;
 import com.example.footballmanager.dto.request.TeamRequestDto;
 import com.example.footballmanager.dto.response.TeamResponseDto;
+import com.example.footballmanager.exception.BadRequestException;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.service.IdempotencyService;
+import com.example.footballmanager.service.PlayerExportService;
+import com.example.footballmanager.service.TeamRosterService;
 import com.example.footballmanager.service.TeamService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,25 +26,36 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/teams")
 public class TeamController {
     private final TeamService teamService;
+    private final PlayerExportService playerExportService;
+    private final TeamRosterService teamRosterService;
+    private final IdempotencyService idempotencyService;
     private final DtoMapper<Team, TeamRequestDto, TeamResponseDto> teamDtoMapper;
 
     public TeamController(
             TeamService teamService,
+            PlayerExportService playerExportService,
+            TeamRosterService teamRosterService,
+            IdempotencyService idempotencyService,
             DtoMapper<Team, TeamRequestDto, TeamResponseDto> teamDtoMapper
     ) {
         this.teamService = teamService;
+        this.playerExportService = playerExportService;
+        this.teamRosterService = teamRosterService;
+        this.idempotencyService = idempotencyService;
         this.teamDtoMapper = teamDtoMapper;
     }
 
-    @Operation(description = "Get team by ID")
+    @Operation(description = "Get team by ID; answers If-None-Match with 304 from the team cache")
     @GetMapping("/{id}")
     public ResponseEntity<TeamResponseDto> getTeamById(@PathVariable Long id) {
         Team team = teamService.getById(id);
@@ -46,37 +63,80 @@ public class TeamController {
             return ResponseEntity.notFound().build();
         }
         TeamResponseDto responseDto = teamDtoMapper.toResponseDto(team);
-        return ResponseEntity.ok(responseDto);
+        return ResponseEntity.ok().eTag(EntityTags.of(team.getRevision())).body(responseDto);
     }
 
-    @Operation(description = "Get all teams")
+    @Operation(description = "Get all teams, keyset-paginated by default; pass page to use offset pagination")
     @GetMapping
     public ResponseEntity<List<TeamResponseDto>> getAllTeams(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
-        List<TeamResponseDto> teamResponseDtos = teamService.getAll(pageable)
-                .stream()
-                .map(teamDtoMapper::toResponseDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(teamResponseDtos);
+        if (page != null) {
+            Pageable pageable = PageRequest.of(page, size);
+            Page<TeamResponseDto> teams = teamService.getAll(pageable);
+            return ResponseEntity.ok()
+                    .eTag(EntityTags.ofAll(teams, TeamResponseDto::getId, TeamResponseDto::getVersion))
+                    .body(teams.getContent());
+        }
+        KeysetCursor.checkLimit(limit);
+        Slice<TeamResponseDto> teams = teamService.getAllAfter(KeysetCursor.decode(after), limit);
+        return KeysetCursor.ok(teams, TeamResponseDto::getId)
+                .eTag(EntityTags.ofAll(teams, TeamResponseDto::getId, TeamResponseDto::getVersion))
+                .body(teams.getContent());
+    }
+
+    @Operation(description = "Export all players of a team as NDJSON")
+    @GetMapping(value = "/{id}/players/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTeamPlayers(@PathVariable Long id) {
+        Long teamId = teamService.getById(id).getId();
+        StreamingResponseBody responseBody = outputStream ->
+                playerExportService.exportAllByTeamId(teamId, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+    }
+
+    @Operation(description = "Get a team with all of its players, streamed from a single query; "
+            + "maxSize caps the number of players")
+    @GetMapping(value = "/{id}/roster", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getTeamRoster(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer maxSize
+    ) {
+        if (maxSize != null && maxSize < 0) {
+            throw new BadRequestException("Max size must not be negative");
+        }
+        StreamingResponseBody responseBody = outputStream ->
+                teamRosterService.writeRoster(id, maxSize, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(responseBody);
     }
 
-    @Operation(description = "Create a new team")
+    @Operation(description = "Create a new team; a retry with the same Idempotency-Key gets the first response")
     @PostMapping
-    public ResponseEntity<TeamResponseDto> createTeam(@RequestBody @Valid TeamRequestDto requestDto) {
-        Team team = teamService.create(teamDtoMapper.toModel(requestDto));
-        TeamResponseDto responseDto = teamDtoMapper.toResponseDto(team);
-        return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
+    public ResponseEntity<TeamResponseDto> createTeam(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid TeamRequestDto requestDto
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /teams", requestDto, TeamResponseDto.class, () -> {
+            Team team = teamService.create(teamDtoMapper.toModel(requestDto));
+            TeamResponseDto responseDto = teamDtoMapper.toResponseDto(team);
+            return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
+        });
     }
 
-    @Operation(description = "Update team by ID")
+    @Operation(description = "Update team by ID; a stale If-Match is rejected with 412")
     @PutMapping("/{id}")
-    public ResponseEntity<TeamResponseDto> updateTeamById(@PathVariable Long id, @RequestBody @Valid TeamRequestDto requestDto) {
-        Team updatedTeam = teamService.updateById(id, teamDtoMapper.toModel(requestDto));
+    public ResponseEntity<TeamResponseDto> updateTeamById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid TeamRequestDto requestDto
+    ) {
+        Team team = teamDtoMapper.toModel(requestDto);
+        team.setVersion(EntityTags.expectedVersion(ifMatch));
+        Team updatedTeam = teamService.updateById(id, team);
         TeamResponseDto responseDto = teamDtoMapper.toResponseDto(updatedTeam);
-        return ResponseEntity.ok(responseDto);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedTeam.getRevision())).body(responseDto);
     }
 
     @Operation(description = "Delete team by ID")
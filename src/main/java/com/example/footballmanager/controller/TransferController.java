@@ -0,0 +1,68 @@
+package com.example.footballmanager.controller;
+
+import com.example.footballmanager.dto.mapper.TransferJobDtoMapper;
+import com.example.footballmanager.dto.request.TransferSearchRequestDto;
+import com.example.footballmanager.dto.response.TeamBudgetResponseDto;
+import com.example.footballmanager.dto.response.TransferJobResponseDto;
+import com.example.footballmanager.dto.response.TransferResponseDto;
+import com.example.footballmanager.service.TransferJobService;
+import com.example.footballmanager.service.TransferLedgerService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/transfers")
+public class TransferController {
+    static final String JOBS_PATH = "/transfers/jobs/";
+    private final TransferJobService transferJobService;
+    private final TransferJobDtoMapper transferJobDtoMapper;
+    private final TransferLedgerService transferLedgerService;
+
+    public TransferController(
+            TransferJobService transferJobService,
+            TransferJobDtoMapper transferJobDtoMapper,
+            TransferLedgerService transferLedgerService
+    ) {
+        this.transferJobService = transferJobService;
+        this.transferJobDtoMapper = transferJobDtoMapper;
+        this.transferLedgerService = transferLedgerService;
+    }
+
+    @Operation(description = "List completed transfers by player, team on either side and time range, "
+            + "keyset-paginated by id")
+    @GetMapping
+    public ResponseEntity<List<TransferResponseDto>> searchTransfers(
+            @Valid TransferSearchRequestDto filters,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        KeysetCursor.checkLimit(limit);
+        Slice<TransferResponseDto> transfers = transferLedgerService.search(
+                filters, KeysetCursor.decode(after), limit);
+        return KeysetCursor.ok(transfers, TransferResponseDto::getId).body(transfers.getContent());
+    }
+
+    @Operation(description = "Replay the transfer ledger to get the budgets teams had at a point in time")
+    @GetMapping("/budgets")
+    public ResponseEntity<List<TeamBudgetResponseDto>> replayBudgets(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf
+    ) {
+        return ResponseEntity.ok(transferLedgerService.replayBudgets(asOf));
+    }
+
+    @Operation(description = "Get the status of a transfer submitted with async=true")
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<TransferJobResponseDto> getTransferJobById(@PathVariable String id) {
+        return ResponseEntity.ok(transferJobDtoMapper.toResponseDto(transferJobService.getById(id)));
+    }
+}
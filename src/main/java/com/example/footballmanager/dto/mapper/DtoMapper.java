@@ -1,7 +1,11 @@
 package com.example.footballmanager.dto.mapper;
 
+import java.util.List;
+
 public interface DtoMapper <M, Q, S>{
     M toModel(Q dto);
 
+    List<M> toModels(List<Q> dtos);
+
     S toResponseDto(M model);
 }
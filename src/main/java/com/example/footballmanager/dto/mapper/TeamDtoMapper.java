@@ -5,10 +5,17 @@ import com.example.footballmanager.dto.request.TeamRequestDto;
 import com.example.footballmanager.dto.response.TeamResponseDto;
 import com.example.footballmanager.model.Team;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(config = MapperConfig.class)
 public interface TeamDtoMapper extends DtoMapper<Team, TeamRequestDto, TeamResponseDto>{
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "stripedBudget", ignore = true)
+    @Mapping(target = "stripedVersion", ignore = true)
     Team toModel(TeamRequestDto dto);
 
+    @Mapping(target = "budget", source = "totalBudget")
+    @Mapping(target = "version", source = "revision")
     TeamResponseDto toResponseDto(Team model);
 }
@@ -0,0 +1,35 @@
+package com.example.footballmanager.dto.mapper;
+
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.TeamRepository;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves team ids to lazy references, so mapping a request never loads the
+ * team row. Existence is enforced by the players.team_id foreign key, or up
+ * front for a whole batch with {@link #findMissingTeamIds(Collection)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamReferenceMapper {
+    private final TeamRepository teamRepository;
+
+    public Team toTeam(Long teamId) {
+        if (teamId == null) {
+            return null;
+        }
+        return teamRepository.getReferenceById(teamId);
+    }
+
+    public Set<Long> findMissingTeamIds(Collection<Long> teamIds) {
+        Set<Long> missingTeamIds = new HashSet<>(teamIds);
+        if (!missingTeamIds.isEmpty()) {
+            teamRepository.findExistingIds(missingTeamIds).forEach(missingTeamIds::remove);
+        }
+        return missingTeamIds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.footballmanager.dto.mapper;
+
+import com.example.footballmanager.config.MapperConfig;
+import com.example.footballmanager.dto.request.TransferInstructionRequestDto;
+import com.example.footballmanager.dto.response.TransferInstructionResponseDto;
+import com.example.footballmanager.model.TransferInstruction;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperConfig.class)
+public interface TransferInstructionDtoMapper extends DtoMapper<
+        TransferInstruction, TransferInstructionRequestDto, TransferInstructionResponseDto> {
+    @Mapping(target = "sellingTeamId", ignore = true)
+    @Mapping(target = "fee", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "error", ignore = true)
+    TransferInstruction toModel(TransferInstructionRequestDto dto);
+}
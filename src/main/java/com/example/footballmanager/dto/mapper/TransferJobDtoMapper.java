@@ -0,0 +1,11 @@
+package com.example.footballmanager.dto.mapper;
+
+import com.example.footballmanager.config.MapperConfig;
+import com.example.footballmanager.dto.response.TransferJobResponseDto;
+import com.example.footballmanager.model.TransferJob;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MapperConfig.class)
+public interface TransferJobDtoMapper {
+    TransferJobResponseDto toResponseDto(TransferJob job);
+}
@@ -0,0 +1,18 @@
+package com.example.footballmanager.dto.mapper;
+
+import com.example.footballmanager.config.MapperConfig;
+import com.example.footballmanager.dto.request.TransferQuoteRequestDto;
+import com.example.footballmanager.dto.response.TransferQuoteResponseDto;
+import com.example.footballmanager.model.TransferQuote;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperConfig.class)
+public interface TransferQuoteDtoMapper
+        extends DtoMapper<TransferQuote, TransferQuoteRequestDto, TransferQuoteResponseDto> {
+    @Mapping(target = "sellingTeamId", ignore = true)
+    @Mapping(target = "fee", ignore = true)
+    @Mapping(target = "affordable", ignore = true)
+    @Mapping(target = "error", ignore = true)
+    TransferQuote toModel(TransferQuoteRequestDto dto);
+}
@@ -0,0 +1,37 @@
+package com.example.footballmanager.dto.request;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Player search filters, bound from query parameters. Unset filters are
+ * ignored, name filters match a prefix and date ranges are inclusive.
+ */
+@Data
+public class PlayerSearchRequestDto {
+    @Size(max = 255)
+    private String firstname;
+
+    @Size(max = 255)
+    private String lastname;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate bornFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate bornTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate careerStartFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate careerStartTo;
+
+    @Positive
+    private Long teamId;
+
+    private Boolean freeAgent;
+}
@@ -0,0 +1,17 @@
+package com.example.footballmanager.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class TransferInstructionsRequestDto {
+    public static final int MAX_TRANSFERS = 10000;
+
+    @NotEmpty(message = "At least one transfer is required")
+    @Size(max = MAX_TRANSFERS, message = "At most " + MAX_TRANSFERS + " transfers can be submitted at once")
+    private List<@Valid @NotNull TransferInstructionRequestDto> transfers;
+}
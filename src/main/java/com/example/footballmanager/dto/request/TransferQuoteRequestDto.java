@@ -0,0 +1,16 @@
+package com.example.footballmanager.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class TransferQuoteRequestDto {
+    @NotNull(message = "Player id is required")
+    @Positive
+    private Long playerId;
+
+    @NotNull(message = "Buying team id is required")
+    @Positive
+    private Long buyingTeamId;
+}
@@ -0,0 +1,17 @@
+package com.example.footballmanager.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class TransferQuotesRequestDto {
+    public static final int MAX_QUOTES = 1000;
+
+    @NotEmpty(message = "At least one quote is required")
+    @Size(max = MAX_QUOTES, message = "At most " + MAX_QUOTES + " quotes can be requested at once")
+    private List<@Valid @NotNull TransferQuoteRequestDto> quotes;
+}
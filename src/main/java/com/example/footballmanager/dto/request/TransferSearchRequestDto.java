@@ -0,0 +1,26 @@
+package com.example.footballmanager.dto.request;
+
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDateTime;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Transfer ledger filters, bound from query parameters. Unset filters are
+ * ignored, a team matches either side of a transfer and the time range is
+ * inclusive.
+ */
+@Data
+public class TransferSearchRequestDto {
+    @Positive
+    private Long playerId;
+
+    @Positive
+    private Long teamId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
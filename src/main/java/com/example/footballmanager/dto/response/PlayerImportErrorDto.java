@@ -0,0 +1,14 @@
+package com.example.footballmanager.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerImportErrorDto {
+    private long row;
+    private List<String> errors;
+}
@@ -0,0 +1,15 @@
+package com.example.footballmanager.dto.response;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class PlayerImportResponseDto {
+    private long received;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<PlayerImportErrorDto> errors;
+    private String error;
+}
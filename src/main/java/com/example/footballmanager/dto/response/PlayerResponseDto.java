@@ -1,9 +1,14 @@
 package com.example.footballmanager.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDate;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class PlayerResponseDto {
     private Long id;
     private String firstname;
@@ -11,4 +16,7 @@ public class PlayerResponseDto {
     private LocalDate birthDate;
     private LocalDate careerStartDate;
     private Long teamId;
+    // Sent as the ETag header, not in the body
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,14 @@
+package com.example.footballmanager.dto.response;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamBudgetResponseDto {
+    private Long teamId;
+    private BigDecimal budget;
+}
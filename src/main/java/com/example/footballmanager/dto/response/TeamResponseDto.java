@@ -1,12 +1,20 @@
 package com.example.footballmanager.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class TeamResponseDto {
     private Long id;
     private String name;
     private BigDecimal playerTransferCommission;
     private BigDecimal budget;
+    // Sent as the ETag header, not in the body
+    @JsonIgnore
+    private Long version;
 }
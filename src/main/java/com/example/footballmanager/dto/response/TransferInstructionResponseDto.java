@@ -0,0 +1,15 @@
+package com.example.footballmanager.dto.response;
+
+import com.example.footballmanager.model.TransferStatus;
+import java.math.BigDecimal;
+import lombok.Data;
+
+@Data
+public class TransferInstructionResponseDto {
+    private Long playerId;
+    private Long buyingTeamId;
+    private Long sellingTeamId;
+    private BigDecimal fee;
+    private TransferStatus status;
+    private String error;
+}
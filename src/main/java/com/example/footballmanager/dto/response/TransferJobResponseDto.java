@@ -0,0 +1,17 @@
+package com.example.footballmanager.dto.response;
+
+import com.example.footballmanager.model.TransferJobStatus;
+import java.time.Instant;
+import lombok.Data;
+
+@Data
+public class TransferJobResponseDto {
+    private String id;
+    private Long playerId;
+    private Long buyingTeamId;
+    private TransferJobStatus status;
+    private String error;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,14 @@
+package com.example.footballmanager.dto.response;
+
+import java.math.BigDecimal;
+import lombok.Data;
+
+@Data
+public class TransferQuoteResponseDto {
+    private Long playerId;
+    private Long buyingTeamId;
+    private Long sellingTeamId;
+    private BigDecimal fee;
+    private Boolean affordable;
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.example.footballmanager.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResponseDto {
+    private Long id;
+    private Long playerId;
+    private Long sellingTeamId;
+    private Long buyingTeamId;
+    private BigDecimal fee;
+    private BigDecimal commission;
+    private LocalDateTime transferredAt;
+}
@@ -0,0 +1,19 @@
+package com.example.footballmanager.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    private final Long retryAfterSeconds;
+
+    public TooManyRequestsException(String message) {
+        this(message, null);
+    }
+
+    /** Tells the client how many seconds to wait; without it a default is sent. */
+    public TooManyRequestsException(String message, Long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.footballmanager.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Times service calls with a histogram-backed timer tagged by service,
+ * operation and outcome. Timers are resolved once per method and outcome,
+ * so a call only pays for two clock reads and a histogram update. The
+ * registry is looked up on first use because advisors are created before
+ * the meter registry has been configured.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+    public static final String METRIC_NAME = "football.manager.service.calls";
+    static final String SUCCESS = "success";
+    private static final String SERVICE_SUFFIX = "Service";
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsInterceptor(Supplier<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodTimers methodTimers = timers.computeIfAbsent(invocation.getMethod(), MethodTimers::new);
+        long startTime = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodTimers.success.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodTimers.failure(e.getClass()).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static String serviceName(Class<?> type) {
+        if (type.isInterface()) {
+            return type.getSimpleName();
+        }
+        for (Class<?> serviceInterface : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            if (serviceInterface.getSimpleName().endsWith(SERVICE_SUFFIX)) {
+                return serviceInterface.getSimpleName();
+            }
+        }
+        return type.getSimpleName();
+    }
+
+    private class MethodTimers {
+        private final String service;
+        private final String operation;
+        private final Timer success;
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        private MethodTimers(Method method) {
+            service = serviceName(method.getDeclaringClass());
+            operation = method.getName();
+            success = timer(SUCCESS);
+        }
+
+        private Timer failure(Class<? extends Throwable> exceptionClass) {
+            return failures.computeIfAbsent(exceptionClass, type -> timer(type.getSimpleName()));
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Service call latency")
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry.get());
+        }
+    }
+}
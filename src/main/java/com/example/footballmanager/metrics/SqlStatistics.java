@@ -0,0 +1,57 @@
+package com.example.footballmanager.metrics;
+
+import java.util.Locale;
+
+/**
+ * JDBC round trips, rows and database time of the current request. A batch
+ * counts as one statement because it is sent in one round trip. Statements
+ * run on other threads, such as streaming exports, are not counted.
+ */
+public class SqlStatistics {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private long statements;
+    private long rows;
+    private long elapsedNanos;
+
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(long elapsedNanos, long affectedRows) {
+        statements++;
+        rows += affectedRows;
+        this.elapsedNanos += elapsedNanos;
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public String toServerTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements, %d rows\"",
+                elapsedNanos / NANOS_PER_MILLI, statements, rows);
+    }
+}
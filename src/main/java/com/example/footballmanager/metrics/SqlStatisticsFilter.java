@@ -0,0 +1,125 @@
+package com.example.footballmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements of every request. The totals are sent back in a
+ * {@code Server-Timing} header, recorded as metrics per endpoint and logged
+ * when a request issues more statements than the configured budget.
+ */
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlStatisticsFilter.class);
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+        ServerTimingResponse timingResponse = new ServerTimingResponse(response, statistics);
+        try {
+            filterChain.doFilter(request, timingResponse);
+        } finally {
+            SqlStatistics.stop();
+            if (!request.isAsyncStarted()) {
+                timingResponse.addServerTiming();
+            }
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+        DistributionSummary.builder("football.manager.http.sql.statements")
+                .description("SQL statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder("football.manager.http.sql.time")
+                .description("Database time per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        if (statistics.getStatements() > statementBudget) {
+            LOGGER.warn("{} {} issued {} SQL statements, over the budget of {} ({} rows, {} ms)",
+                    request.getMethod(), uri, statistics.getStatements(), statementBudget,
+                    statistics.getRows(), TimeUnit.NANOSECONDS.toMillis(statistics.getElapsedNanos()));
+        }
+    }
+
+    /**
+     * Adds the header just before the response is committed, which is when
+     * the body is first written, or at the end of the request.
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final SqlStatistics statistics;
+        private boolean serverTimingAdded;
+
+        private ServerTimingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        private void addServerTiming() {
+            if (!serverTimingAdded && !isCommitted()) {
+                serverTimingAdded = true;
+                addHeader(SERVER_TIMING_HEADER, statistics.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.footballmanager.metrics;
+
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+
+/**
+ * Adds every statement executed and every row read or written on a request
+ * thread to that request's {@link SqlStatistics}.
+ */
+public class SqlStatisticsListener extends JdbcLifecycleEventListenerAdapter {
+    private static final String START_TIME = "sqlStatistics.startTime";
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatistics.current() != null) {
+            executionInfo.addCustomValue(START_TIME, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        Long startTime = executionInfo.getCustomValue(START_TIME, Long.class);
+        if (statistics != null && startTime != null) {
+            statistics.recordStatement(System.nanoTime() - startTime, affectedRows(executionInfo.getResult()));
+        }
+    }
+
+    @Override
+    public void afterNext(MethodExecutionContext executionContext) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null && Boolean.TRUE.equals(executionContext.getResult())) {
+            statistics.recordRow();
+        }
+    }
+
+    private long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long rows = 0;
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+        return 0;
+    }
+}
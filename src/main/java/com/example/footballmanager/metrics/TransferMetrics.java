@@ -0,0 +1,46 @@
+package com.example.footballmanager.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business metrics for player transfers: the fee of every completed transfer,
+ * transfers rejected because the buying team can't afford them and retries
+ * after losing a race against a concurrent update.
+ */
+@Component
+public class TransferMetrics {
+    private static final double CENTS_PER_UNIT = 100.0;
+    private final DistributionSummary fees;
+    private final Counter insufficientFunds;
+    private final Counter retries;
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        fees = DistributionSummary.builder("football.manager.transfers.fee")
+                .description("Fee of completed transfers")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .register(meterRegistry);
+        insufficientFunds = Counter.builder("football.manager.transfers.rejected")
+                .description("Transfers rejected by a business rule")
+                .tag("reason", "insufficient_funds")
+                .register(meterRegistry);
+        retries = Counter.builder("football.manager.transfers.retries")
+                .description("Transfer attempts retried after a concurrent update")
+                .register(meterRegistry);
+    }
+
+    public void recordFee(long feeCents) {
+        fees.record(feeCents / CENTS_PER_UNIT);
+    }
+
+    public void recordInsufficientFunds() {
+        insufficientFunds.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+}
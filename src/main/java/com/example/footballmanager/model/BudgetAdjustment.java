@@ -0,0 +1,43 @@
+package com.example.footballmanager.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A change to a team's budget that is not a transfer: the budget the team
+ * was created with, or the difference a client's update made. Together with
+ * the transfer ledger it accounts for every change of a team's total budget.
+ */
+@Entity
+@Table(name = "budget_adjustments")
+@Immutable
+@Data
+@NoArgsConstructor
+public class BudgetAdjustment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_adjustments_seq")
+    @SequenceGenerator(name = "budget_adjustments_seq", sequenceName = "budget_adjustments_seq",
+            allocationSize = 50)
+    private Long id;
+    private Long teamId;
+    private BigDecimal amount;
+    @Enumerated(EnumType.STRING)
+    private Reason reason;
+    private LocalDateTime adjustedAt;
+
+    public enum Reason {
+        CREATED,
+        UPDATED
+    }
+}
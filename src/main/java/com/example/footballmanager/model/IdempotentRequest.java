@@ -0,0 +1,26 @@
+package com.example.footballmanager.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A request sent with an {@code Idempotency-Key}: a hash of what was asked
+ * and, once it has run, the status and JSON body it was answered with. The
+ * response columns stay null while the request is running.
+ */
+@Entity
+@Table(name = "idempotent_requests")
+@Data
+@NoArgsConstructor
+public class IdempotentRequest {
+    @Id
+    private String idempotencyKey;
+    private String requestHash;
+    private Integer responseStatus;
+    private String responseBody;
+    private LocalDateTime createdAt;
+}
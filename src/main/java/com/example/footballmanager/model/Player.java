@@ -7,20 +7,47 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+/**
+ * The response projections are named queries rather than {@code @Query}
+ * strings: Spring Data re-parses {@code @Query} JPQL on every call, which
+ * cost more heap than the projections save.
+ */
 @Entity
 @Table(name = "players")
+@NamedQueries({
+        @NamedQuery(name = "Player.findResponseDtoById",
+                query = Player.SELECT_RESPONSE_DTO + "WHERE p.id = :id"),
+        @NamedQuery(name = "Player.findResponseDtosByTeamId",
+                query = Player.SELECT_RESPONSE_DTO + "WHERE p.team.id = :teamId ORDER BY p.id"),
+        @NamedQuery(name = "Player.findResponseDtosByTeamId.count",
+                query = "SELECT count(p) FROM Player p WHERE p.team.id = :teamId"),
+        @NamedQuery(name = "Player.findResponseDtosByTeamIdAfter",
+                query = Player.SELECT_RESPONSE_DTO + "WHERE p.team.id = :teamId AND p.id > :afterId ORDER BY p.id")
+})
 @Data
 @NoArgsConstructor
 public class Player {
+    /**
+     * Selects the response columns only, so read endpoints never load
+     * managed players. {@code p.team.id} reads the foreign key without a join.
+     */
+    static final String SELECT_RESPONSE_DTO = "SELECT new com.example.footballmanager.dto.response.PlayerResponseDto("
+            + "p.id, p.firstname, p.lastname, p.birthDate, p.careerStartDate, p.team.id, p.version) "
+            + "FROM Player p ";
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "players_seq")
+    @SequenceGenerator(name = "players_seq", sequenceName = "players_seq", allocationSize = 50)
     private Long id;
     private String firstname;
     private String lastname;
@@ -31,4 +58,6 @@ public class Player {
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Team team;
+    @Version
+    private Long version;
 }
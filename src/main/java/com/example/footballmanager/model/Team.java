@@ -4,20 +4,74 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * The response projections are declared on {@code TeamRepository} rather
+ * than as named queries like {@link Player}'s: Hibernate hands Spring Data
+ * named queries with their aggregate subqueries left out, so it can't tell
+ * they construct DTOs.
+ */
 @Entity
 @Table(name = "teams")
 @Data
 @NoArgsConstructor
 public class Team {
+    /** Sums the balances of the stripes of team {@code t}. */
+    public static final String STRIPED_BUDGET =
+            "(SELECT COALESCE(SUM(s.balance), 0) FROM TeamBudgetStripe s WHERE s.teamId = t.id)";
+    /** Sums the versions of the stripes of team {@code t}; see {@link #getRevision()}. */
+    public static final String STRIPED_VERSION =
+            "(SELECT COALESCE(SUM(s.version), 0) FROM TeamBudgetStripe s WHERE s.teamId = t.id)";
+    /**
+     * Selects the response columns only, so read endpoints never load
+     * managed teams.
+     */
+    public static final String SELECT_RESPONSE_DTO = "SELECT new com.example.footballmanager.dto.response.TeamResponseDto("
+            + "t.id, t.name, t.playerTransferCommission, t.budget + " + STRIPED_BUDGET + ", "
+            + "t.version + " + STRIPED_VERSION + ") FROM Team t ";
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teams_seq")
+    @SequenceGenerator(name = "teams_seq", sequenceName = "teams_seq", allocationSize = 50)
     private Long id;
     private String name;
     private BigDecimal playerTransferCommission;
+    /** The team's own balance; see {@link #getTotalBudget()}. */
     private BigDecimal budget;
+    @Version
+    private Long version;
+    /**
+     * What the team's stripes hold, set only when the team is loaded with
+     * them; the locking and transfer queries leave it null.
+     */
+    @Transient
+    private BigDecimal stripedBudget;
+    @Transient
+    private Long stripedVersion;
+
+    /**
+     * The whole budget: the team's own balance plus whatever its
+     * {@link TeamBudgetStripe stripes} hold.
+     */
+    public BigDecimal getTotalBudget() {
+        return stripedBudget == null ? budget : budget.add(stripedBudget);
+    }
+
+    /**
+     * Changes whenever the team row or one of its stripes does, so it tags
+     * the team the way the version alone did before budgets were striped.
+     * Stripes are never deleted on their own and only count up.
+     */
+    public Long getRevision() {
+        if (version == null || stripedVersion == null) {
+            return version;
+        }
+        return version + stripedVersion;
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.footballmanager.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One of the sub-accounts a team's budget is striped across when
+ * {@code football-manager.teams.budget-stripes} is above one; the team's
+ * budget is its own balance plus the balances of its stripes. Rows are
+ * written with single statements by the repository, never through dirty
+ * checking, and every write increments the version.
+ */
+@Entity
+@Table(name = "team_budget_stripes")
+@IdClass(TeamBudgetStripe.Key.class)
+@Data
+@NoArgsConstructor
+public class TeamBudgetStripe {
+    @Id
+    private Long teamId;
+    @Id
+    private Integer stripe;
+    private BigDecimal balance;
+    private Long version;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long teamId;
+        private Integer stripe;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.footballmanager.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * An entry of the append-only transfer ledger. The fee is what the buying
+ * team paid and the selling team received, commission included. Players and
+ * teams are referenced by id only, so the ledger outlives them.
+ */
+@Entity
+@Table(name = "transfers")
+@Immutable
+@Data
+@NoArgsConstructor
+public class Transfer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfers_seq")
+    @SequenceGenerator(name = "transfers_seq", sequenceName = "transfers_seq", allocationSize = 50)
+    private Long id;
+    private Long playerId;
+    private Long sellingTeamId;
+    private Long buyingTeamId;
+    private BigDecimal fee;
+    private BigDecimal commission;
+    private LocalDateTime transferredAt;
+}
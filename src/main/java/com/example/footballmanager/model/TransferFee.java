@@ -0,0 +1,11 @@
+package com.example.footballmanager.model;
+
+/**
+ * A transfer fee in cents, split into the transfer amount and the selling
+ * team's commission on top of it.
+ */
+public record TransferFee(long amountCents, long commissionCents) {
+    public long totalCents() {
+        return amountCents + commissionCents;
+    }
+}
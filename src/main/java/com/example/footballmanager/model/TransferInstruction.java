@@ -0,0 +1,16 @@
+package com.example.footballmanager.model;
+
+import java.math.BigDecimal;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class TransferInstruction {
+    private Long playerId;
+    private Long buyingTeamId;
+    private Long sellingTeamId;
+    private BigDecimal fee;
+    private TransferStatus status;
+    private String error;
+}
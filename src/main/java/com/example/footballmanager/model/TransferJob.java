@@ -0,0 +1,23 @@
+package com.example.footballmanager.model;
+
+import java.time.Instant;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A transfer queued for a worker thread. Workers update the job while
+ * requests read it, so the mutable fields are volatile and the status is
+ * written last.
+ */
+@Data
+@NoArgsConstructor
+public class TransferJob {
+    private String id;
+    private Long playerId;
+    private Long buyingTeamId;
+    private Instant submittedAt;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile TransferJobStatus status;
+}
@@ -0,0 +1,8 @@
+package com.example.footballmanager.model;
+
+public enum TransferJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.example.footballmanager.model;
+
+public enum TransferStatus {
+    ACCEPTED,
+    INSUFFICIENT_FUNDS,
+    ALREADY_ON_TEAM,
+    NOT_FOUND,
+    REJECTED,
+    FAILED
+}
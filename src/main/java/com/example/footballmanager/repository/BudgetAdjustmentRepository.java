@@ -0,0 +1,22 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.model.BudgetAdjustment;
+import com.example.footballmanager.repository.projection.TeamAdjustmentTotal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BudgetAdjustmentRepository extends JpaRepository<BudgetAdjustment, Long> {
+    @Query("SELECT new com.example.footballmanager.repository.projection.TeamAdjustmentTotal("
+            + "a.teamId, SUM(a.amount)) "
+            + "FROM BudgetAdjustment a WHERE a.adjustedAt > :after GROUP BY a.teamId")
+    List<TeamAdjustmentTotal> sumAmountsAdjustedAfter(@Param("after") LocalDateTime after);
+
+    @Query("SELECT a.teamId FROM BudgetAdjustment a WHERE a.adjustedAt > :after AND a.reason = :reason")
+    List<Long> findTeamIdsAdjustedAfter(
+            @Param("after") LocalDateTime after,
+            @Param("reason") BudgetAdjustment.Reason reason
+    );
+}
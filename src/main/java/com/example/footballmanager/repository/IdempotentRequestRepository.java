@@ -0,0 +1,40 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.model.IdempotentRequest;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotentRequestRepository extends JpaRepository<IdempotentRequest, String> {
+    /**
+     * Claims the key with a plain insert, which fails on a duplicate key
+     * where a save would merge into a concurrent claim.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotent_requests (idempotency_key, request_hash, created_at) "
+            + "VALUES (:key, :requestHash, :createdAt)", nativeQuery = true)
+    void claim(
+            @Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("createdAt") LocalDateTime createdAt
+    );
+
+    @Modifying
+    @Query("UPDATE IdempotentRequest r SET r.responseStatus = :status, r.responseBody = :body "
+            + "WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("status") int status, @Param("body") String body);
+
+    @Modifying
+    @Query("DELETE FROM IdempotentRequest r WHERE r.idempotencyKey = :key")
+    int release(@Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotentRequest r WHERE r.idempotencyKey = :key AND r.createdAt < :cutoff")
+    int removeExpired(@Param("key") String key, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM IdempotentRequest r WHERE r.createdAt < :cutoff")
+    int removeAllCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,10 +1,67 @@
 package com.example.footballmanager.repository;
 
+import com.example.footballmanager.dto.response.PlayerResponseDto;
 import com.example.footballmanager.model.Player;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface PlayerRepository extends JpaRepository<Player, Long> {
-    Page<Player> getAllByTeamId(Pageable pageable, Long teamId);
+public interface PlayerRepository extends JpaRepository<Player, Long>, PlayerSearchRepository {
+    /**
+     * Backed by the named queries on {@link Player}, ordered by id.
+     */
+    Optional<PlayerResponseDto> findResponseDtoById(@Param("id") Long id);
+
+    Page<PlayerResponseDto> findResponseDtosByTeamId(@Param("teamId") Long teamId, Pageable pageable);
+
+    Slice<PlayerResponseDto> findResponseDtosByTeamIdAfter(
+            @Param("teamId") Long teamId,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT p.version FROM Player p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Empty both for a missing player and for a free agent.
+     */
+    @Query("SELECT p.team.id FROM Player p WHERE p.id = :id AND p.team IS NOT NULL")
+    Optional<Long> findTeamIdById(@Param("id") Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Player p ORDER BY p.id")
+    Stream<Player> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Player p WHERE p.team.id = :teamId ORDER BY p.id")
+    Stream<Player> streamAllByTeamId(@Param("teamId") Long teamId);
+
+    @Query("SELECT p FROM Player p LEFT JOIN FETCH p.team WHERE p.id IN :ids")
+    List<Player> findAllWithTeamByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes in a single statement, without loading the player first.
+     * Returns the number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM Player p WHERE p.id = :id")
+    int removeById(@Param("id") Long id);
 }
@@ -0,0 +1,14 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.model.Player;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface PlayerSearchRepository {
+    /**
+     * Selects the players matching the specification with an id above
+     * {@code afterId}, ordered by id, straight into response DTOs.
+     */
+    Slice<PlayerResponseDto> searchResponseDtos(Specification<Player> specification, Long afterId, int limit);
+}
@@ -0,0 +1,75 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.model.Player;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Searches in two steps. The first query selects matching ids only, which
+ * every secondary index on {@code players} covers, so the database can range
+ * scan the filter's index instead of walking the primary key in id order and
+ * testing each row. The second loads the page by primary key. Both are
+ * criteria queries, so no JPQL is assembled or parsed per request.
+ */
+class PlayerSearchRepositoryImpl implements PlayerSearchRepository {
+    private final EntityManager entityManager;
+
+    PlayerSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<PlayerResponseDto> searchResponseDtos(
+            Specification<Player> specification,
+            Long afterId,
+            int limit
+    ) {
+        List<Long> ids = findIds(specification, afterId, limit + 1);
+        boolean hasNext = ids.size() > limit;
+        if (hasNext) {
+            ids = ids.subList(0, limit);
+        }
+        List<PlayerResponseDto> players = ids.isEmpty() ? List.of() : findResponseDtos(ids);
+        return new SliceImpl<>(players, PageRequest.of(0, limit), hasNext);
+    }
+
+    private List<Long> findIds(Specification<Player> specification, Long afterId, int maxResults) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Player> player = query.from(Player.class);
+        query.select(player.get("id"));
+        Predicate after = builder.greaterThan(player.get("id"), afterId);
+        Predicate filters = specification.toPredicate(player, query, builder);
+        query.where(filters == null ? after : builder.and(filters, after));
+        query.orderBy(builder.asc(player.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    private List<PlayerResponseDto> findResponseDtos(List<Long> ids) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PlayerResponseDto> query = builder.createQuery(PlayerResponseDto.class);
+        Root<Player> player = query.from(Player.class);
+        query.select(builder.construct(PlayerResponseDto.class,
+                player.get("id"),
+                player.get("firstname"),
+                player.get("lastname"),
+                player.get("birthDate"),
+                player.get("careerStartDate"),
+                player.get("team").get("id"),
+                player.get("version")));
+        query.where(player.get("id").in(ids));
+        query.orderBy(builder.asc(player.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
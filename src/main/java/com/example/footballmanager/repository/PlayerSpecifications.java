@@ -0,0 +1,62 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.model.Player;
+import java.time.LocalDate;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters for {@link PlayerSearchRepository#searchResponseDtos}. Each one is
+ * backed by an index on {@code players}; a null argument means no filter.
+ */
+public final class PlayerSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+
+    private PlayerSpecifications() {
+    }
+
+    public static Specification<Player> firstnameStartsWith(String prefix) {
+        return (root, query, builder) -> prefix == null ? null
+                : builder.like(root.get("firstname"), likePrefix(prefix), LIKE_ESCAPE);
+    }
+
+    public static Specification<Player> lastnameStartsWith(String prefix) {
+        return (root, query, builder) -> prefix == null ? null
+                : builder.like(root.get("lastname"), likePrefix(prefix), LIKE_ESCAPE);
+    }
+
+    public static Specification<Player> bornBetween(LocalDate from, LocalDate to) {
+        return Specification.<Player>where((root, query, builder) -> from == null ? null
+                        : builder.greaterThanOrEqualTo(root.get("birthDate"), from))
+                .and((root, query, builder) -> to == null ? null
+                        : builder.lessThanOrEqualTo(root.get("birthDate"), to));
+    }
+
+    public static Specification<Player> careerStartedBetween(LocalDate from, LocalDate to) {
+        return Specification.<Player>where((root, query, builder) -> from == null ? null
+                        : builder.greaterThanOrEqualTo(root.get("careerStartDate"), from))
+                .and((root, query, builder) -> to == null ? null
+                        : builder.lessThanOrEqualTo(root.get("careerStartDate"), to));
+    }
+
+    /** Compares the foreign key column, without joining teams. */
+    public static Specification<Player> inTeam(Long teamId) {
+        return (root, query, builder) -> teamId == null ? null
+                : builder.equal(root.get("team").get("id"), teamId);
+    }
+
+    public static Specification<Player> freeAgent(Boolean freeAgent) {
+        return (root, query, builder) -> freeAgent == null ? null
+                : freeAgent ? builder.isNull(root.get("team")) : builder.isNotNull(root.get("team"));
+    }
+
+    private static String likePrefix(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 1);
+        for (char c : prefix.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.model.TeamBudgetStripe;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TeamBudgetStripeRepository extends JpaRepository<TeamBudgetStripe, TeamBudgetStripe.Key> {
+    /**
+     * Adds the amount to the stripe, creating it on first use. A single
+     * statement locks only that stripe, and concurrent first deposits can't
+     * collide on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO team_budget_stripes (team_id, stripe, balance, version) "
+            + "VALUES (:teamId, :stripe, :amount, 1) "
+            + "ON DUPLICATE KEY UPDATE balance = balance + :amount, version = version + 1", nativeQuery = true)
+    int deposit(@Param("teamId") Long teamId, @Param("stripe") int stripe, @Param("amount") BigDecimal amount);
+
+    /**
+     * Takes the amount from the stripe only if it holds at least that much.
+     * Returns the number of updated rows, zero when it doesn't.
+     */
+    @Modifying
+    @Query("UPDATE TeamBudgetStripe s SET s.balance = s.balance - :amount, s.version = s.version + 1 "
+            + "WHERE s.teamId = :teamId AND s.stripe = :stripe AND s.balance >= :amount")
+    int withdraw(@Param("teamId") Long teamId, @Param("stripe") int stripe, @Param("amount") BigDecimal amount);
+
+    /**
+     * Locks the stripes of the given teams ordered by team and stripe, the
+     * same order for every caller.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TeamBudgetStripe s WHERE s.teamId IN :teamIds ORDER BY s.teamId, s.stripe")
+    List<TeamBudgetStripe> findAllByTeamIdInForUpdate(@Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Empties the stripes of the given teams, which the caller has locked.
+     */
+    @Modifying
+    @Query("UPDATE TeamBudgetStripe s SET s.balance = 0, s.version = s.version + 1 WHERE s.teamId IN :teamIds")
+    int drainAllByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
+}
@@ -1,7 +1,89 @@
 package com.example.footballmanager.repository;
 
+import com.example.footballmanager.dto.response.TeamResponseDto;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.projection.RosterRow;
+import com.example.footballmanager.repository.projection.StripedTeam;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
+    /**
+     * Ordered by id, with the budgets and versions of the stripes added in.
+     */
+    @Query(value = Team.SELECT_RESPONSE_DTO + "ORDER BY t.id", countQuery = "SELECT count(t) FROM Team t")
+    Page<TeamResponseDto> findAllResponseDtos(Pageable pageable);
+
+    @Query(Team.SELECT_RESPONSE_DTO + "WHERE t.id > :afterId ORDER BY t.id")
+    Slice<TeamResponseDto> findResponseDtosAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Loads the teams together with what their budget stripes hold, in one
+     * query.
+     */
+    @Query("SELECT new com.example.footballmanager.repository.projection.StripedTeam(t, "
+            + Team.STRIPED_BUDGET + ", " + Team.STRIPED_VERSION + ") FROM Team t WHERE t.id IN :ids")
+    List<StripedTeam> findAllStripedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id FROM Team t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the given teams for update in ascending id order, so concurrent
+     * transfers touching the same teams always acquire the row locks in the
+     * same order and cannot deadlock each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Team t WHERE t.id IN :ids ORDER BY t.id")
+    List<Team> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the team row and reads its own balance, without the striped part
+     * of the budget or loading the team.
+     */
+    @Query(value = "SELECT budget FROM teams WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<BigDecimal> findBudgetByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Adds to the team's own balance in a single statement and bumps the
+     * version, as an update through the entity would.
+     */
+    @Modifying
+    @Query("UPDATE Team t SET t.budget = t.budget + :amount, t.version = t.version + 1 WHERE t.id = :id")
+    int addToBudget(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Streams the team with its players ordered by id, one row per player or a
+     * single row without player columns for an empty team; no rows when the
+     * team does not exist.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.footballmanager.repository.projection.RosterRow("
+            + "t.id, t.name, t.playerTransferCommission, t.budget + " + Team.STRIPED_BUDGET + ", "
+            + "p.id, p.firstname, p.lastname, p.birthDate, p.careerStartDate) "
+            + "FROM Team t LEFT JOIN Player p ON p.team = t WHERE t.id = :teamId ORDER BY p.id")
+    Stream<RosterRow> streamRoster(@Param("teamId") Long teamId, Pageable pageable);
+
+    /**
+     * Deletes in a single statement, without loading the team first.
+     * Returns the number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM Team t WHERE t.id = :id")
+    int removeById(@Param("id") Long id);
 }
@@ -0,0 +1,40 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.model.Transfer;
+import com.example.footballmanager.repository.projection.IdRange;
+import com.example.footballmanager.repository.projection.TeamFeeTotal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TransferRepository extends JpaRepository<Transfer, Long>, TransferSearchRepository {
+    @Query("SELECT new com.example.footballmanager.repository.projection.IdRange(MIN(t.id), MAX(t.id)) "
+            + "FROM Transfer t WHERE t.transferredAt > :after")
+    IdRange findIdRangeTransferredAfter(@Param("after") LocalDateTime after);
+
+    /**
+     * Sums the fees each selling team received over the entries with an id
+     * between {@code fromId} and {@code toId}, both inclusive, transferred
+     * after {@code after}. The id range is read off the primary key, so
+     * disjoint ranges can be summed in parallel.
+     */
+    @Query("SELECT new com.example.footballmanager.repository.projection.TeamFeeTotal(t.sellingTeamId, SUM(t.fee)) "
+            + "FROM Transfer t WHERE t.id BETWEEN :fromId AND :toId AND t.transferredAt > :after "
+            + "GROUP BY t.sellingTeamId")
+    List<TeamFeeTotal> sumFeesReceivedBetween(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("after") LocalDateTime after
+    );
+
+    @Query("SELECT new com.example.footballmanager.repository.projection.TeamFeeTotal(t.buyingTeamId, SUM(t.fee)) "
+            + "FROM Transfer t WHERE t.id BETWEEN :fromId AND :toId AND t.transferredAt > :after "
+            + "GROUP BY t.buyingTeamId")
+    List<TeamFeeTotal> sumFeesPaidBetween(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("after") LocalDateTime after
+    );
+}
@@ -0,0 +1,20 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.dto.response.TransferResponseDto;
+import com.example.footballmanager.model.Transfer;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface TransferSearchRepository {
+    /**
+     * Selects the ledger entries matching the specification with an id above
+     * {@code afterId}, ordered by id, straight into response DTOs. A non-null
+     * {@code teamId} matches the team on either side of the transfer.
+     */
+    Slice<TransferResponseDto> searchResponseDtos(
+            Specification<Transfer> specification,
+            Long teamId,
+            Long afterId,
+            int limit
+    );
+}
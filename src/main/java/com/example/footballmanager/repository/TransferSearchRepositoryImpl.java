@@ -0,0 +1,100 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.dto.response.TransferResponseDto;
+import com.example.footballmanager.model.Transfer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Searches like {@link PlayerSearchRepositoryImpl}: ids first, then the page
+ * by primary key. A team filter is two id queries, one per side of the
+ * transfer, each range scanning its own index; their results are merged in
+ * id order. A single query with an OR would make the database pick one
+ * index or none.
+ */
+class TransferSearchRepositoryImpl implements TransferSearchRepository {
+    private final EntityManager entityManager;
+
+    TransferSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<TransferResponseDto> searchResponseDtos(
+            Specification<Transfer> specification,
+            Long teamId,
+            Long afterId,
+            int limit
+    ) {
+        List<Long> ids;
+        if (teamId == null) {
+            ids = findIds(specification, afterId, limit + 1);
+        } else {
+            ids = merge(
+                    findIds(specification.and(TransferSpecifications.soldBy(teamId)), afterId, limit + 1),
+                    findIds(specification.and(TransferSpecifications.boughtBy(teamId)), afterId, limit + 1),
+                    limit + 1);
+        }
+        boolean hasNext = ids.size() > limit;
+        if (hasNext) {
+            ids = ids.subList(0, limit);
+        }
+        List<TransferResponseDto> transfers = ids.isEmpty() ? List.of() : findResponseDtos(ids);
+        return new SliceImpl<>(transfers, PageRequest.of(0, limit), hasNext);
+    }
+
+    private List<Long> findIds(Specification<Transfer> specification, Long afterId, int maxResults) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Transfer> transfer = query.from(Transfer.class);
+        query.select(transfer.get("id"));
+        Predicate after = builder.greaterThan(transfer.get("id"), afterId);
+        Predicate filters = specification.toPredicate(transfer, query, builder);
+        query.where(filters == null ? after : builder.and(filters, after));
+        query.orderBy(builder.asc(transfer.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    /** A team never sells to itself, so the two sides share no id. */
+    private List<Long> merge(List<Long> sold, List<Long> bought, int maxResults) {
+        List<Long> ids = new ArrayList<>(Math.min(sold.size() + bought.size(), maxResults));
+        int i = 0;
+        int j = 0;
+        while (ids.size() < maxResults && (i < sold.size() || j < bought.size())) {
+            if (j == bought.size() || i < sold.size() && sold.get(i) < bought.get(j)) {
+                ids.add(sold.get(i++));
+            } else {
+                ids.add(bought.get(j++));
+            }
+        }
+        return ids;
+    }
+
+    private List<TransferResponseDto> findResponseDtos(List<Long> ids) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransferResponseDto> query = builder.createQuery(TransferResponseDto.class);
+        Root<Transfer> transfer = query.from(Transfer.class);
+        query.select(builder.construct(TransferResponseDto.class,
+                transfer.get("id"),
+                transfer.get("playerId"),
+                transfer.get("sellingTeamId"),
+                transfer.get("buyingTeamId"),
+                transfer.get("fee"),
+                transfer.get("commission"),
+                transfer.get("transferredAt")));
+        query.where(transfer.get("id").in(ids));
+        query.orderBy(builder.asc(transfer.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
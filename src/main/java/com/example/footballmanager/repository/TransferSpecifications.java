@@ -0,0 +1,37 @@
+package com.example.footballmanager.repository;
+
+import com.example.footballmanager.model.Transfer;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters for {@link TransferSearchRepository#searchResponseDtos}. Each one is
+ * backed by an index on {@code transfers}; a null argument means no filter.
+ */
+public final class TransferSpecifications {
+    private TransferSpecifications() {
+    }
+
+    public static Specification<Transfer> ofPlayer(Long playerId) {
+        return (root, query, builder) -> playerId == null ? null
+                : builder.equal(root.get("playerId"), playerId);
+    }
+
+    public static Specification<Transfer> soldBy(Long teamId) {
+        return (root, query, builder) -> teamId == null ? null
+                : builder.equal(root.get("sellingTeamId"), teamId);
+    }
+
+    public static Specification<Transfer> boughtBy(Long teamId) {
+        return (root, query, builder) -> teamId == null ? null
+                : builder.equal(root.get("buyingTeamId"), teamId);
+    }
+
+    /** Both bounds are inclusive. */
+    public static Specification<Transfer> transferredBetween(LocalDateTime from, LocalDateTime to) {
+        return Specification.<Transfer>where((root, query, builder) -> from == null ? null
+                        : builder.greaterThanOrEqualTo(root.get("transferredAt"), from))
+                .and((root, query, builder) -> to == null ? null
+                        : builder.lessThanOrEqualTo(root.get("transferredAt"), to));
+    }
+}
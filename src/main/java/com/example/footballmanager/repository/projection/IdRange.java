@@ -0,0 +1,7 @@
+package com.example.footballmanager.repository.projection;
+
+/**
+ * The lowest and highest id of a set of rows, both null when it is empty.
+ */
+public record IdRange(Long minId, Long maxId) {
+}
@@ -0,0 +1,21 @@
+package com.example.footballmanager.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of a team roster: the team's columns repeated next to one of its
+ * players. The player columns are null for a team without players.
+ */
+public record RosterRow(
+        Long teamId,
+        String teamName,
+        BigDecimal playerTransferCommission,
+        BigDecimal budget,
+        Long playerId,
+        String firstname,
+        String lastname,
+        LocalDate birthDate,
+        LocalDate careerStartDate
+) {
+}
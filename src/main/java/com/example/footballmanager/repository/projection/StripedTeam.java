@@ -0,0 +1,15 @@
+package com.example.footballmanager.repository.projection;
+
+import com.example.footballmanager.model.Team;
+import java.math.BigDecimal;
+
+/**
+ * A team loaded with the sums of its budget stripes' balances and versions,
+ * which are set on the team, so its total budget and revision count them.
+ */
+public record StripedTeam(Team team, BigDecimal stripedBudget, Long stripedVersion) {
+    public StripedTeam {
+        team.setStripedBudget(stripedBudget);
+        team.setStripedVersion(stripedVersion);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.footballmanager.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The sum of one team's budget adjustments over a period.
+ */
+public record TeamAdjustmentTotal(Long teamId, BigDecimal total) {
+}
@@ -0,0 +1,9 @@
+package com.example.footballmanager.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * The fees one team paid or received over a set of ledger entries.
+ */
+public record TeamFeeTotal(Long teamId, BigDecimal total) {
+}
@@ -0,0 +1,28 @@
+package com.example.footballmanager.service;
+
+import java.util.function.Supplier;
+import org.springframework.http.ResponseEntity;
+
+public interface IdempotencyService {
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    /** Set on responses answered from a stored response rather than by running the request. */
+    String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Runs the action once per key and answers repeats of the same request
+     * with its stored response; without a key the action just runs. The
+     * operation and request identify what was asked, so a key reused for a
+     * different request is rejected with a
+     * {@link com.example.footballmanager.exception.BadRequestException}. A
+     * {@link com.example.footballmanager.exception.ConflictException} means
+     * the first request with the key hasn't stored its response yet. An
+     * action that throws leaves the key unused.
+     */
+    <T> ResponseEntity<T> execute(
+            String key,
+            String operation,
+            Object request,
+            Class<T> responseType,
+            Supplier<ResponseEntity<T>> action
+    );
+}
@@ -0,0 +1,10 @@
+package com.example.footballmanager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PlayerExportService {
+    void exportAll(OutputStream outputStream) throws IOException;
+
+    void exportAllByTeamId(Long teamId, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,9 @@
+package com.example.footballmanager.service;
+
+import com.example.footballmanager.dto.response.PlayerImportResponseDto;
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface PlayerImportService {
+    PlayerImportResponseDto importPlayers(InputStream inputStream) throws IOException;
+}
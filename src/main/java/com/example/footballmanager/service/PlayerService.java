@@ -1,22 +1,50 @@
 package com.example.footballmanager.service;
 
+import com.example.footballmanager.dto.request.PlayerSearchRequestDto;
+import com.example.footballmanager.dto.response.PlayerResponseDto;
 import com.example.footballmanager.model.Player;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TransferInstruction;
+import com.example.footballmanager.model.TransferQuote;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface PlayerService {
     Player getById(Long id);
 
-    Page<Player> getAllByTeamId(Pageable pageable, Long teamId);
+    PlayerResponseDto getResponseDtoById(Long id);
+
+    Long getVersionById(Long id);
+
+    Page<PlayerResponseDto> getAllByTeamId(Pageable pageable, Long teamId);
+
+    Slice<PlayerResponseDto> getAllByTeamIdAfter(Long teamId, Long afterId, int limit);
+
+    Slice<PlayerResponseDto> search(PlayerSearchRequestDto filters, Long afterId, int limit);
 
     Player create(Player player);
 
+    List<Player> createAll(List<Player> players);
+
+    /**
+     * Replaces the player. A non-null version on the given player is the
+     * version the caller expects to overwrite.
+     */
     Player updateById(Long id, Player player);
 
     void deleteById(Long id);
 
     Player addUnassignedPlayerToTeam(Player player, Team team);
 
-    Player transferPlayerToTeam(Player player, Team buyingTeam);
+    Player transferPlayerToTeam(Long playerId, Long buyingTeamId);
+
+    /**
+     * Applies the transfers in the given order and fills in the outcome of
+     * each one. A rejected transfer doesn't stop the ones after it.
+     */
+    List<TransferInstruction> transferAll(List<TransferInstruction> instructions);
+
+    List<TransferQuote> quoteTransfers(List<TransferQuote> quotes);
 }
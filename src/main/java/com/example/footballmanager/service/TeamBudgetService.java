@@ -0,0 +1,27 @@
+package com.example.footballmanager.service;
+
+import com.example.footballmanager.model.Team;
+import java.math.BigDecimal;
+import java.util.Collection;
+
+public interface TeamBudgetService {
+    /**
+     * Whether budgets are striped, so transfers move money through
+     * {@link #move(Long, Long, BigDecimal)} instead of locking team rows.
+     */
+    boolean isStriped();
+
+    /**
+     * Moves the amount from one team's budget to another's within the
+     * current transaction. Returns false, having moved nothing, when the
+     * paying team can't afford it.
+     */
+    boolean move(Long fromTeamId, Long toTeamId, BigDecimal amount);
+
+    /**
+     * Folds the stripes of the given teams, which the caller has loaded and
+     * locked, into their own balances, so their budgets can be changed in
+     * memory for the rest of the transaction.
+     */
+    void settle(Collection<Team> teams);
+}
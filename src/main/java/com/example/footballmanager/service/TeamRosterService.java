@@ -0,0 +1,8 @@
+package com.example.footballmanager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TeamRosterService {
+    void writeRoster(Long teamId, Integer maxSize, OutputStream outputStream) throws IOException;
+}
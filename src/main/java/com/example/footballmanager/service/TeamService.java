@@ -1,16 +1,24 @@
 package com.example.footballmanager.service;
 
+import com.example.footballmanager.dto.response.TeamResponseDto;
 import com.example.footballmanager.model.Team;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface TeamService {
     Team getById(Long id);
 
-    Page<Team> getAll(Pageable pageable);
+    Page<TeamResponseDto> getAll(Pageable pageable);
+
+    Slice<TeamResponseDto> getAllAfter(Long afterId, int limit);
 
     Team create(Team team);
 
+    /**
+     * Replaces the team. A non-null version on the given team is the
+     * {@link Team#getRevision() revision} the caller expects to overwrite.
+     */
     Team updateById(Long id, Team team);
 
     void deleteById(Long id);
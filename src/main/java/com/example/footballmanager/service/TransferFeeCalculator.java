@@ -0,0 +1,23 @@
+package com.example.footballmanager.service;
+
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TransferFee;
+import java.time.LocalDate;
+
+public interface TransferFeeCalculator {
+    /**
+     * Returns the fee the buying team pays for the player, split into the
+     * transfer amount and the selling team's commission. {@code today} is
+     * passed in so a whole batch of quotes shares a single clock read.
+     */
+    TransferFee calculateFee(Player player, Team sellingTeam, LocalDate today);
+
+    /**
+     * Returns the fee, in cents, the buying team pays for the player, commission
+     * of the selling team included.
+     */
+    default long calculateFeeCents(Player player, Team sellingTeam, LocalDate today) {
+        return calculateFee(player, sellingTeam, today).totalCents();
+    }
+}
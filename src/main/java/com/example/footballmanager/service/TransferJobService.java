@@ -0,0 +1,14 @@
+package com.example.footballmanager.service;
+
+import com.example.footballmanager.model.TransferJob;
+
+public interface TransferJobService {
+    /**
+     * Queues the transfer and returns its job without waiting for it.
+     * Throws {@link com.example.footballmanager.exception.TooManyRequestsException}
+     * when the queue is full.
+     */
+    TransferJob submit(Long playerId, Long buyingTeamId);
+
+    TransferJob getById(String id);
+}
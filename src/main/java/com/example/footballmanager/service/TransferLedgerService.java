@@ -0,0 +1,19 @@
+package com.example.footballmanager.service;
+
+import com.example.footballmanager.dto.request.TransferSearchRequestDto;
+import com.example.footballmanager.dto.response.TeamBudgetResponseDto;
+import com.example.footballmanager.dto.response.TransferResponseDto;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+
+public interface TransferLedgerService {
+    Slice<TransferResponseDto> search(TransferSearchRequestDto filters, Long afterId, int limit);
+
+    /**
+     * Rebuilds from the ledger the budgets the teams had at {@code asOf}, for
+     * every team with a transfer or a budget update since. Other teams'
+     * budgets are unchanged; teams created or deleted since are left out.
+     */
+    List<TeamBudgetResponseDto> replayBudgets(LocalDateTime asOf);
+}
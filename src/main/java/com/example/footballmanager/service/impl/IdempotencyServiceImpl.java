@@ -0,0 +1,248 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.exception.ConflictException;
+import com.example.footballmanager.model.IdempotentRequest;
+import com.example.footballmanager.repository.IdempotentRequestRepository;
+import com.example.footballmanager.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Claims each key in the {@code idempotent_requests} table before running
+ * its action and stores the response there afterwards, so a retry is
+ * answered from the table even after a restart. A crash between the two
+ * leaves the key claimed without a response: retries get a conflict until
+ * the key expires rather than running the action a second time. Recent
+ * responses are also kept in a bounded in-memory cache, so most retries
+ * don't touch the database. Requests with a key that is already running on
+ * this instance wait for it and share its outcome. Keys expire after
+ * {@code retention-hours}; expired rows are purged at most every few
+ * minutes, by whichever request comes along.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private final IdempotentRequestRepository idempotentRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, RunningRequest> runningRequests = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeMillis = new AtomicLong();
+    private final Counter memoryReplays;
+    private final Counter databaseReplays;
+    private final Counter coalescedReplays;
+
+    public IdempotencyServiceImpl(
+            IdempotentRequestRepository idempotentRequestRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${football-manager.idempotency.retention-hours}") long retentionHours,
+            @Value("${football-manager.idempotency.cache-size}") long cacheSize
+    ) {
+        this.idempotentRequestRepository = idempotentRequestRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofHours(retentionHours);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+        this.memoryReplays = replays(meterRegistry, "memory");
+        this.databaseReplays = replays(meterRegistry, "database");
+        this.coalescedReplays = replays(meterRegistry, "coalesced");
+    }
+
+    @Override
+    public <T> ResponseEntity<T> execute(
+            String key,
+            String operation,
+            Object request,
+            Class<T> responseType,
+            Supplier<ResponseEntity<T>> action
+    ) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH
+                    + " characters long");
+        }
+        String requestHash = hash(operation, request);
+        StoredResponse cachedResponse = responses.getIfPresent(key);
+        if (cachedResponse != null) {
+            memoryReplays.increment();
+            return replay(key, requestHash, cachedResponse, responseType);
+        }
+        RunningRequest runningRequest = new RunningRequest(requestHash, new CompletableFuture<>());
+        RunningRequest firstRequest = runningRequests.putIfAbsent(key, runningRequest);
+        if (firstRequest != null) {
+            checkSameRequest(key, requestHash, firstRequest.requestHash());
+            StoredResponse response = await(firstRequest.response());
+            coalescedReplays.increment();
+            return replay(key, requestHash, response, responseType);
+        }
+        try {
+            StoredResponse storedResponse = claim(key, requestHash);
+            if (storedResponse != null) {
+                responses.put(key, storedResponse);
+                runningRequest.response().complete(storedResponse);
+                databaseReplays.increment();
+                return replay(key, requestHash, storedResponse, responseType);
+            }
+            ResponseEntity<T> response = run(key, action);
+            runningRequest.response().complete(store(key, requestHash, response));
+            return response;
+        } catch (RuntimeException e) {
+            runningRequest.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            runningRequests.remove(key, runningRequest);
+        }
+    }
+
+    /** Returns the stored response of an earlier request with the key, null once the key is claimed. */
+    private StoredResponse claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        purgeExpired(now);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                idempotentRequestRepository.removeExpired(key, now.minus(retention));
+                idempotentRequestRepository.claim(key, requestHash, now);
+            });
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            IdempotentRequest existingRequest = idempotentRequestRepository.findById(key)
+                    .orElseThrow(() -> stillRunning(key));
+            checkSameRequest(key, requestHash, existingRequest.getRequestHash());
+            if (existingRequest.getResponseStatus() == null) {
+                throw stillRunning(key);
+            }
+            return new StoredResponse(existingRequest.getRequestHash(), existingRequest.getResponseStatus(),
+                    existingRequest.getResponseBody());
+        }
+    }
+
+    private <T> ResponseEntity<T> run(String key, Supplier<ResponseEntity<T>> action) {
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> idempotentRequestRepository.release(key));
+            throw e;
+        }
+    }
+
+    private StoredResponse store(String key, String requestHash, ResponseEntity<?> response) {
+        StoredResponse storedResponse = new StoredResponse(requestHash, response.getStatusCode().value(),
+                toJson(response.getBody()));
+        transactionTemplate.executeWithoutResult(status -> idempotentRequestRepository.complete(
+                key, storedResponse.status(), storedResponse.body()));
+        responses.put(key, storedResponse);
+        return storedResponse;
+    }
+
+    private void purgeExpired(LocalDateTime now) {
+        long nowMillis = System.currentTimeMillis();
+        long purgeMillis = nextPurgeMillis.get();
+        if (nowMillis >= purgeMillis && nextPurgeMillis.compareAndSet(purgeMillis, nowMillis + PURGE_INTERVAL_MILLIS)) {
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotentRequestRepository.removeAllCreatedBefore(now.minus(retention)));
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(String key, String requestHash, StoredResponse response, Class<T> type) {
+        checkSameRequest(key, requestHash, response.requestHash());
+        try {
+            T body = response.body() == null ? null : objectMapper.readValue(response.body(), type);
+            return ResponseEntity.status(response.status()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void checkSameRequest(String key, String requestHash, String firstRequestHash) {
+        if (!requestHash.equals(firstRequestHash)) {
+            throw new BadRequestException(IDEMPOTENCY_KEY_HEADER + " " + key
+                    + " was already used for a different request");
+        }
+    }
+
+    private ConflictException stillRunning(String key) {
+        return new ConflictException("A request with " + IDEMPOTENCY_KEY_HEADER + " " + key
+                + " is still being processed, please retry later");
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Counter replays(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("football.manager.idempotency.replays")
+                .description("Requests answered with the stored response of an earlier request with the same key")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private record StoredResponse(String requestHash, int status, String body) {
+    }
+
+    private record RunningRequest(String requestHash, CompletableFuture<StoredResponse> response) {
+    }
+}
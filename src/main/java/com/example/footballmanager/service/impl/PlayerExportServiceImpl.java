@@ -0,0 +1,87 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.dto.mapper.DtoMapper;
+import com.example.footballmanager.dto.request.PlayerRequestDto;
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.service.PlayerExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes players as NDJSON straight from a forward-only result stream. The
+ * persistence context is cleared every {@code clearInterval} rows so heap use
+ * stays flat regardless of how many players are exported.
+ */
+@Service
+public class PlayerExportServiceImpl implements PlayerExportService {
+    private static final String LINE_SEPARATOR = "\n";
+    private final PlayerRepository playerRepository;
+    private final DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final int clearInterval;
+
+    public PlayerExportServiceImpl(
+            PlayerRepository playerRepository,
+            DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper,
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            @Value("${football-manager.players.export.clear-interval}") int clearInterval
+    ) {
+        this.playerRepository = playerRepository;
+        this.playerDtoMapper = playerDtoMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.clearInterval = clearInterval;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAll(OutputStream outputStream) throws IOException {
+        try (Stream<Player> players = playerRepository.streamAll()) {
+            write(players, outputStream);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAllByTeamId(Long teamId, OutputStream outputStream) throws IOException {
+        try (Stream<Player> players = playerRepository.streamAllByTeamId(teamId)) {
+            write(players, outputStream);
+        }
+    }
+
+    private void write(Stream<Player> players, OutputStream outputStream) throws IOException {
+        long written = 0;
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator(LINE_SEPARATOR)
+                .writeValues(outputStream)) {
+            Iterator<Player> iterator = players.iterator();
+            while (iterator.hasNext()) {
+                writer.write(playerDtoMapper.toResponseDto(iterator.next()));
+                if (++written % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        if (written > 0) {
+            outputStream.write(LINE_SEPARATOR.getBytes(StandardCharsets.UTF_8));
+        }
+        outputStream.flush();
+    }
+}
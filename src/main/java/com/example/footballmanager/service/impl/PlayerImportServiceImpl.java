@@ -0,0 +1,185 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.dto.mapper.DtoMapper;
+import com.example.footballmanager.dto.mapper.TeamReferenceMapper;
+import com.example.footballmanager.dto.request.PlayerRequestDto;
+import com.example.footballmanager.dto.response.PlayerImportErrorDto;
+import com.example.footballmanager.dto.response.PlayerImportResponseDto;
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.service.PlayerImportService;
+import com.example.footballmanager.service.PlayerService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Streams players from a JSON array or an NDJSON body and saves them in chunks,
+ * one transaction per chunk. Referenced teams are checked with a single query
+ * per chunk. Invalid rows and failed chunks are reported back instead of
+ * aborting the whole import.
+ */
+@Service
+public class PlayerImportServiceImpl implements PlayerImportService {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper;
+    private final TeamReferenceMapper teamReferenceMapper;
+    private final PlayerService playerService;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public PlayerImportServiceImpl(
+            ObjectMapper objectMapper,
+            Validator validator,
+            DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper,
+            TeamReferenceMapper teamReferenceMapper,
+            PlayerService playerService,
+            EntityManager entityManager,
+            @Value("${football-manager.players.import.chunk-size}") int chunkSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.playerDtoMapper = playerDtoMapper;
+        this.teamReferenceMapper = teamReferenceMapper;
+        this.playerService = playerService;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public PlayerImportResponseDto importPlayers(InputStream inputStream) throws IOException {
+        long startTime = System.nanoTime();
+        ImportReport report = new ImportReport();
+        List<PlayerRequestDto> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRows = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode node = objectMapper.readTree(parser);
+                long row = ++report.received;
+                PlayerRequestDto requestDto = toRequestDto(row, node, report);
+                if (requestDto != null) {
+                    chunk.add(requestDto);
+                    chunkRows.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    saveChunk(chunk, chunkRows, report);
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            report.error = "Malformed input after row " + report.received + ", import stopped: "
+                    + e.getOriginalMessage();
+        }
+        saveChunk(chunk, chunkRows, report);
+
+        return report.toResponseDto(System.nanoTime() - startTime);
+    }
+
+    private PlayerRequestDto toRequestDto(long row, JsonNode node, ImportReport report) {
+        PlayerRequestDto requestDto;
+        try {
+            requestDto = objectMapper.treeToValue(node, PlayerRequestDto.class);
+        } catch (JsonProcessingException e) {
+            report.addError(row, "Invalid player: " + e.getOriginalMessage());
+            return null;
+        }
+        Set<ConstraintViolation<PlayerRequestDto>> violations = validator.validate(requestDto);
+        if (!violations.isEmpty()) {
+            report.addError(row, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList());
+            return null;
+        }
+        return requestDto;
+    }
+
+    private void saveChunk(List<PlayerRequestDto> chunk, List<Long> chunkRows, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<PlayerRequestDto> savable = new ArrayList<>(chunk.size());
+        List<Long> savableRows = new ArrayList<>(chunk.size());
+        try {
+            Set<Long> missingTeamIds = teamReferenceMapper.findMissingTeamIds(chunk.stream()
+                    .map(PlayerRequestDto::getTeamId)
+                    .filter(Objects::nonNull)
+                    .toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                Long teamId = chunk.get(i).getTeamId();
+                if (teamId != null && missingTeamIds.contains(teamId)) {
+                    report.addError(chunkRows.get(i), "No team present with id " + teamId);
+                } else {
+                    savable.add(chunk.get(i));
+                    savableRows.add(chunkRows.get(i));
+                }
+            }
+            if (!savable.isEmpty()) {
+                playerService.createAll(playerDtoMapper.toModels(savable));
+                report.imported += savable.size();
+            }
+        } catch (DataAccessException e) {
+            List<Long> failedRows = savableRows.isEmpty() ? chunkRows : savableRows;
+            for (Long row : failedRows) {
+                report.addError(row, "Chunk could not be saved: " + e.getMostSpecificCause().getMessage());
+            }
+        } finally {
+            entityManager.clear();
+            chunk.clear();
+            chunkRows.clear();
+        }
+    }
+
+    private static class ImportReport {
+        private final List<PlayerImportErrorDto> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+        private String error;
+
+        private void addError(long row, String error) {
+            addError(row, List.of(error));
+        }
+
+        private void addError(long row, List<String> rowErrors) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new PlayerImportErrorDto(row, rowErrors));
+            }
+        }
+
+        private PlayerImportResponseDto toResponseDto(long elapsedNanos) {
+            PlayerImportResponseDto responseDto = new PlayerImportResponseDto();
+            responseDto.setReceived(received);
+            responseDto.setImported(imported);
+            responseDto.setFailed(failed);
+            responseDto.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            responseDto.setRowsPerSecond(elapsedNanos == 0 ? 0 : imported * 1e9 / elapsedNanos);
+            responseDto.setErrors(errors);
+            responseDto.setError(error);
+            return responseDto;
+        }
+    }
+}
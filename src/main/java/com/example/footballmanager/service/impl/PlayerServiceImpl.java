@@ -1,27 +1,91 @@
 package com.example.footballmanager.service.impl;
 
+import com.example.footballmanager.cache.TeamCache;
+import com.example.footballmanager.dto.request.PlayerSearchRequestDto;
+import com.example.footballmanager.dto.response.PlayerResponseDto;
 import com.example.footballmanager.exception.BadRequestException;
 import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.exception.PreconditionFailedException;
+import com.example.footballmanager.metrics.TransferMetrics;
 import com.example.footballmanager.model.Player;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.Transfer;
+import com.example.footballmanager.model.TransferFee;
+import com.example.footballmanager.model.TransferInstruction;
+import com.example.footballmanager.model.TransferQuote;
+import com.example.footballmanager.model.TransferStatus;
 import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.PlayerSpecifications;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.TransferRepository;
+import com.example.footballmanager.repository.projection.StripedTeam;
 import com.example.footballmanager.service.PlayerService;
+import com.example.footballmanager.service.TeamBudgetService;
+import com.example.footballmanager.service.TransferFeeCalculator;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.Period;
-import lombok.RequiredArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
-@RequiredArgsConstructor
 public class PlayerServiceImpl implements PlayerService {
-    private static final int MONTHS_PER_YEAR = 12;
-    private static final BigDecimal BASE_MULTIPLIER = BigDecimal.valueOf(100000L);
+    private static final int MAX_BACKOFF_SHIFT = 10;
+    private static final int CENTS_SCALE = 2;
     private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final TransferRepository transferRepository;
+    private final TeamCache teamCache;
+    private final TeamBudgetService teamBudgetService;
+    private final TransferFeeCalculator transferFeeCalculator;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferMetrics transferMetrics;
+    private final int maxTransferAttempts;
+    private final long transferBackoffMillis;
+    private final int transferChunkSize;
+
+    public PlayerServiceImpl(
+            PlayerRepository playerRepository,
+            TeamRepository teamRepository,
+            TransferRepository transferRepository,
+            TeamCache teamCache,
+            TeamBudgetService teamBudgetService,
+            TransferFeeCalculator transferFeeCalculator,
+            TransactionTemplate transactionTemplate,
+            TransferMetrics transferMetrics,
+            @Value("${football-manager.transfers.max-attempts}") int maxTransferAttempts,
+            @Value("${football-manager.transfers.backoff-millis}") long transferBackoffMillis,
+            @Value("${football-manager.transfers.batch-chunk-size}") int transferChunkSize
+    ) {
+        this.playerRepository = playerRepository;
+        this.teamRepository = teamRepository;
+        this.transferRepository = transferRepository;
+        this.teamCache = teamCache;
+        this.teamBudgetService = teamBudgetService;
+        this.transferFeeCalculator = transferFeeCalculator;
+        this.transactionTemplate = transactionTemplate;
+        this.transferMetrics = transferMetrics;
+        this.maxTransferAttempts = maxTransferAttempts;
+        this.transferBackoffMillis = transferBackoffMillis;
+        this.transferChunkSize = transferChunkSize;
+    }
 
     @Override
     public Player getById(Long id) {
@@ -29,9 +93,56 @@ public class PlayerServiceImpl implements PlayerService {
                 () -> new EntityNotFoundException("No player present with id " + id));
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public Page<Player> getAllByTeamId(Pageable pageable, Long teamId) {
-        return playerRepository.getAllByTeamId(pageable, teamId);
+    public PlayerResponseDto getResponseDtoById(Long id) {
+        return playerRepository.findResponseDtoById(id).orElseThrow(
+                () -> new EntityNotFoundException("No player present with id " + id));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Long getVersionById(Long id) {
+        return playerRepository.findVersionById(id).orElseThrow(
+                () -> new EntityNotFoundException("No player present with id " + id));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<PlayerResponseDto> getAllByTeamId(Pageable pageable, Long teamId) {
+        return playerRepository.findResponseDtosByTeamId(teamId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<PlayerResponseDto> getAllByTeamIdAfter(Long teamId, Long afterId, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        return playerRepository.findResponseDtosByTeamIdAfter(teamId, afterId == null ? 0L : afterId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<PlayerResponseDto> search(PlayerSearchRequestDto filters, Long afterId, int limit) {
+        checkRange(filters.getBornFrom(), filters.getBornTo(), "bornFrom", "bornTo");
+        checkRange(filters.getCareerStartFrom(), filters.getCareerStartTo(), "careerStartFrom", "careerStartTo");
+        if (filters.getTeamId() != null && Boolean.TRUE.equals(filters.getFreeAgent())) {
+            throw new BadRequestException("A free agent can't belong to a team");
+        }
+        Specification<Player> specification = Specification
+                .where(PlayerSpecifications.lastnameStartsWith(filters.getLastname()))
+                .and(PlayerSpecifications.firstnameStartsWith(filters.getFirstname()))
+                .and(PlayerSpecifications.bornBetween(filters.getBornFrom(), filters.getBornTo()))
+                .and(PlayerSpecifications.careerStartedBetween(
+                        filters.getCareerStartFrom(), filters.getCareerStartTo()))
+                .and(PlayerSpecifications.inTeam(filters.getTeamId()))
+                .and(PlayerSpecifications.freeAgent(filters.getFreeAgent()));
+        return playerRepository.searchResponseDtos(specification, afterId == null ? 0L : afterId, limit);
+    }
+
+    private void checkRange(LocalDate from, LocalDate to, String fromName, String toName) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException(fromName + " must not be after " + toName);
+        }
     }
 
     @Override
@@ -42,69 +153,337 @@ public class PlayerServiceImpl implements PlayerService {
         return playerRepository.save(player);
     }
 
+    @Transactional
+    @Override
+    public List<Player> createAll(List<Player> players) {
+        for (Player player : players) {
+            if (player.getId() != null) {
+                throw new BadRequestException("Can't save a new player with an existing id");
+            }
+        }
+        return playerRepository.saveAll(players);
+    }
+
+    @Transactional
     @Override
     public Player updateById(Long id, Player player) {
-        if(!playerRepository.existsById(id)) {
-            throw new EntityNotFoundException("No player present with id " + id);
+        Player existingPlayer = getById(id);
+        if (player.getVersion() != null && !player.getVersion().equals(existingPlayer.getVersion())) {
+            throw new PreconditionFailedException("Player with id " + id + " has been modified");
         }
         player.setId(id);
+        player.setVersion(existingPlayer.getVersion());
         return playerRepository.save(player);
     }
 
+    @Transactional
     @Override
     public void deleteById(Long id) {
-        if(!playerRepository.existsById(id)) {
+        if (playerRepository.removeById(id) == 0) {
             throw new EntityNotFoundException("No player present with id " + id);
         }
-        playerRepository.deleteById(id);
     }
 
+    @Transactional
     @Override
     public Player addUnassignedPlayerToTeam(Player player, Team team) {
         if (player.getTeam() != null) {
             throw new BadRequestException("The player is already on the team");
         }
         player.setTeam(team);
-        return updateById(player.getId(), player);
+        // Merging keeps the loaded version, so a concurrent change fails with a conflict
+        return playerRepository.save(player);
     }
 
-    @Transactional
+    /**
+     * Runs the transfer in its own transaction and retries it with exponential
+     * backoff and jitter when it loses a race against a concurrent update.
+     * The transfer is recorded in the ledger in the same transaction, and its
+     * fee in the metrics once that has committed, as for a batch.
+     */
     @Override
-    public Player transferPlayerToTeam(Player player, Team buyingTeam) {
-        Team sellingTeam = player.getTeam();
-        if (sellingTeam == null) {
+    public Player transferPlayerToTeam(Long playerId, Long buyingTeamId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                CompletedTransfer completedTransfer =
+                        transactionTemplate.execute(status -> transfer(playerId, buyingTeamId));
+                transferMetrics.recordFee(completedTransfer.feeCents());
+                return completedTransfer.player();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxTransferAttempts) {
+                    throw e;
+                }
+                transferMetrics.recordRetry();
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private CompletedTransfer transfer(Long playerId, Long buyingTeamId) {
+        Player player = getById(playerId);
+        if (player.getTeam() == null) {
             throw new EntityNotFoundException("Player does not belong to any team");
         }
-        if (player.getTeam().getId().equals(buyingTeam.getId())) {
+        Long sellingTeamId = player.getTeam().getId();
+        if (sellingTeamId.equals(buyingTeamId)) {
             throw new BadRequestException("Can't transfer a player to a team he's already on");
         }
-        BigDecimal transferFee = calculateTransferFee(player);
-        if (buyingTeam.getBudget().compareTo(transferFee) < 0) {
-            throw new BadRequestException("Insufficient funds in the team's budget");
+        boolean striped = teamBudgetService.isStriped();
+        List<Long> teamIds = List.of(sellingTeamId, buyingTeamId);
+        // Striped budgets move without locking the team rows
+        Map<Long, Team> teams = (striped ? teamRepository.findAllById(teamIds)
+                : teamRepository.findAllByIdForUpdate(teamIds))
+                .stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        Team buyingTeam = teams.get(buyingTeamId);
+        if (buyingTeam == null) {
+            throw new EntityNotFoundException("No team present with id " + buyingTeamId);
+        }
+        Team sellingTeam = teams.get(sellingTeamId);
+        LocalDateTime now = LocalDateTime.now();
+        TransferFee fee = transferFeeCalculator.calculateFee(player, sellingTeam, now.toLocalDate());
+        long transferFeeCents = fee.totalCents();
+        BigDecimal transferFee = BigDecimal.valueOf(transferFeeCents, CENTS_SCALE);
+        if (!striped) {
+            if (buyingTeam.getBudget().compareTo(transferFee) < 0) {
+                // Stripes left over from a higher stripe count are only spent once the row runs short
+                teamBudgetService.settle(List.of(buyingTeam));
+                if (buyingTeam.getBudget().compareTo(transferFee) < 0) {
+                    throw insufficientFunds();
+                }
+            }
+            buyingTeam.setBudget(buyingTeam.getBudget().subtract(transferFee));
+            sellingTeam.setBudget(sellingTeam.getBudget().add(transferFee));
+        }
+        player.setTeam(buyingTeam);
+        teamCache.evict(buyingTeamId);
+        teamCache.evict(sellingTeamId);
+        transferRepository.save(ledgerEntry(playerId, sellingTeamId, buyingTeamId, fee, now));
+        // Flushing here surfaces version conflicts inside the retried block
+        Player transferredPlayer = playerRepository.saveAndFlush(player);
+        // After the player row, whose foreign key share-locks the buying team's row on MySQL,
+        // so that lock is always taken before any stripe, as a rebalancing debit takes them
+        if (striped && !teamBudgetService.move(buyingTeamId, sellingTeamId, transferFee)) {
+            throw insufficientFunds();
+        }
+        return new CompletedTransfer(transferredPlayer, transferFeeCents);
+    }
+
+    private BadRequestException insufficientFunds() {
+        transferMetrics.recordInsufficientFunds();
+        return new BadRequestException("Insufficient funds in the team's budget");
+    }
+
+    /**
+     * Applies the instructions in chunks, one transaction per chunk, retried
+     * like a single transfer when it loses a race. A chunk loads its players
+     * with one query and locks every team it touches with another, in the
+     * same ascending id order as a single transfer, so the two paths can't
+     * deadlock each other. Budgets move in memory, so a team row is written
+     * once per chunk however many instructions touch it, and the writes go
+     * out as one JDBC batch, as do the chunk's ledger entries. Striped
+     * budgets of the locked teams are folded into their rows first. A chunk
+     * that still fails is reported as failed and the batch moves on.
+     */
+    @Override
+    public List<TransferInstruction> transferAll(List<TransferInstruction> instructions) {
+        for (int from = 0; from < instructions.size(); from += transferChunkSize) {
+            transferChunk(instructions.subList(from, Math.min(from + transferChunkSize, instructions.size())));
+        }
+        return instructions;
+    }
+
+    private void transferChunk(List<TransferInstruction> chunk) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyChunk(chunk));
+                break;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxTransferAttempts) {
+                    failChunk(chunk, e);
+                    return;
+                }
+                transferMetrics.recordRetry();
+                backOff(attempt, e);
+            } catch (DataAccessException e) {
+                failChunk(chunk, e);
+                return;
+            }
+        }
+        for (TransferInstruction instruction : chunk) {
+            if (instruction.getStatus() == TransferStatus.ACCEPTED) {
+                transferMetrics.recordFee(instruction.getFee().movePointRight(CENTS_SCALE).longValueExact());
+            } else if (instruction.getStatus() == TransferStatus.INSUFFICIENT_FUNDS) {
+                transferMetrics.recordInsufficientFunds();
+            }
+        }
+    }
+
+    private void applyChunk(List<TransferInstruction> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> playerIds = new HashSet<>();
+        Set<Long> teamIds = new HashSet<>();
+        for (TransferInstruction instruction : chunk) {
+            playerIds.add(instruction.getPlayerId());
+            teamIds.add(instruction.getBuyingTeamId());
+        }
+        // Teams stay lazy here, so the locking query below reads their current budgets
+        Map<Long, Player> players = playerRepository.findAllById(playerIds).stream()
+                .collect(Collectors.toMap(Player::getId, Function.identity()));
+        for (Player player : players.values()) {
+            if (player.getTeam() != null) {
+                teamIds.add(player.getTeam().getId());
+            }
+        }
+        Map<Long, Team> teams = teamRepository.findAllByIdForUpdate(teamIds).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        teamBudgetService.settle(teams.values());
+        Set<Long> changedTeamIds = new HashSet<>();
+        List<Transfer> ledgerEntries = new ArrayList<>();
+        for (TransferInstruction instruction : chunk) {
+            TransferFee fee = apply(instruction, players.get(instruction.getPlayerId()), teams, now.toLocalDate());
+            if (fee != null) {
+                changedTeamIds.add(instruction.getBuyingTeamId());
+                changedTeamIds.add(instruction.getSellingTeamId());
+                ledgerEntries.add(ledgerEntry(instruction.getPlayerId(), instruction.getSellingTeamId(),
+                        instruction.getBuyingTeamId(), fee, now));
+            }
+        }
+        changedTeamIds.forEach(teamCache::evict);
+        transferRepository.saveAll(ledgerEntries);
+        // Flushing here surfaces version conflicts inside the retried block
+        playerRepository.flush();
+    }
+
+    /** Returns the fee of an accepted transfer, null when it is rejected. */
+    private TransferFee apply(TransferInstruction instruction, Player player, Map<Long, Team> teams, LocalDate today) {
+        instruction.setSellingTeamId(null);
+        instruction.setFee(null);
+        if (player == null) {
+            return reject(instruction, TransferStatus.NOT_FOUND,
+                    "No player present with id " + instruction.getPlayerId());
+        }
+        Team buyingTeam = teams.get(instruction.getBuyingTeamId());
+        if (buyingTeam == null) {
+            return reject(instruction, TransferStatus.NOT_FOUND,
+                    "No team present with id " + instruction.getBuyingTeamId());
+        }
+        if (player.getTeam() == null) {
+            return reject(instruction, TransferStatus.NOT_FOUND, "Player does not belong to any team");
+        }
+        Team sellingTeam = teams.get(player.getTeam().getId());
+        instruction.setSellingTeamId(sellingTeam.getId());
+        if (sellingTeam.getId().equals(buyingTeam.getId())) {
+            return reject(instruction, TransferStatus.ALREADY_ON_TEAM,
+                    "Can't transfer a player to a team he's already on");
+        }
+        TransferFee transferFee;
+        try {
+            transferFee = transferFeeCalculator.calculateFee(player, sellingTeam, today);
+        } catch (BadRequestException e) {
+            return reject(instruction, TransferStatus.REJECTED, e.getMessage());
+        }
+        BigDecimal fee = BigDecimal.valueOf(transferFee.totalCents(), CENTS_SCALE);
+        instruction.setFee(fee);
+        if (buyingTeam.getBudget().compareTo(fee) < 0) {
+            return reject(instruction, TransferStatus.INSUFFICIENT_FUNDS, "Insufficient funds in the team's budget");
         }
-        buyingTeam.setBudget(buyingTeam.getBudget().subtract(transferFee));
-        sellingTeam.setBudget(sellingTeam.getBudget().add(transferFee));
+        buyingTeam.setBudget(buyingTeam.getBudget().subtract(fee));
+        sellingTeam.setBudget(sellingTeam.getBudget().add(fee));
         player.setTeam(buyingTeam);
+        instruction.setStatus(TransferStatus.ACCEPTED);
+        instruction.setError(null);
+        return transferFee;
+    }
+
+    private TransferFee reject(TransferInstruction instruction, TransferStatus status, String error) {
+        instruction.setStatus(status);
+        instruction.setError(error);
+        return null;
+    }
+
+    private Transfer ledgerEntry(
+            Long playerId,
+            Long sellingTeamId,
+            Long buyingTeamId,
+            TransferFee fee,
+            LocalDateTime transferredAt
+    ) {
+        Transfer transfer = new Transfer();
+        transfer.setPlayerId(playerId);
+        transfer.setSellingTeamId(sellingTeamId);
+        transfer.setBuyingTeamId(buyingTeamId);
+        transfer.setFee(BigDecimal.valueOf(fee.totalCents(), CENTS_SCALE));
+        transfer.setCommission(BigDecimal.valueOf(fee.commissionCents(), CENTS_SCALE));
+        transfer.setTransferredAt(transferredAt);
+        return transfer;
+    }
 
-        return updateById(player.getId(), player);
+    private void failChunk(List<TransferInstruction> chunk, DataAccessException cause) {
+        for (TransferInstruction instruction : chunk) {
+            instruction.setSellingTeamId(null);
+            instruction.setFee(null);
+            reject(instruction, TransferStatus.FAILED,
+                    "Chunk could not be applied: " + cause.getMostSpecificCause().getMessage());
+        }
     }
 
-    private BigDecimal calculateTransferFee (Player player) {
-        Period playerExperience = Period.between(player.getCareerStartDate(), LocalDate.now());
-        int playerExperienceInMonths = MONTHS_PER_YEAR * playerExperience.getYears() + playerExperience.getMonths();
-        int playerAgeInYears = Period.between(player.getBirthDate(), LocalDate.now()).getYears();
+    private void backOff(int attempt, ConcurrencyFailureException cause) {
+        long maxDelay = transferBackoffMillis << Math.min(attempt - 1, MAX_BACKOFF_SHIFT);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxDelay / 2, maxDelay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
 
-        BigDecimal transferAmount = BigDecimal.valueOf(playerExperienceInMonths)
-                .multiply(BASE_MULTIPLIER)
-                .divide(BigDecimal.valueOf(playerAgeInYears), 2, RoundingMode.HALF_UP);
-        BigDecimal transferCommission = calculateTransferCommission(player,transferAmount);
+    @Transactional(readOnly = true)
+    @Override
+    public List<TransferQuote> quoteTransfers(List<TransferQuote> quotes) {
+        Set<Long> playerIds = new HashSet<>();
+        Set<Long> teamIds = new HashSet<>();
+        for (TransferQuote quote : quotes) {
+            playerIds.add(quote.getPlayerId());
+            teamIds.add(quote.getBuyingTeamId());
+        }
+        Map<Long, Player> players = playerRepository.findAllWithTeamByIdIn(playerIds).stream()
+                .collect(Collectors.toMap(Player::getId, Function.identity()));
+        Map<Long, Team> buyingTeams = teamRepository.findAllStripedByIdIn(teamIds).stream()
+                .map(StripedTeam::team)
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        LocalDate today = LocalDate.now();
+        for (TransferQuote quote : quotes) {
+            try {
+                quote(quote, players.get(quote.getPlayerId()), buyingTeams.get(quote.getBuyingTeamId()), today);
+            } catch (BadRequestException | EntityNotFoundException e) {
+                quote.setError(e.getMessage());
+            }
+        }
+        return quotes;
+    }
 
-        return transferAmount.add(transferCommission);
+    private void quote(TransferQuote quote, Player player, Team buyingTeam, LocalDate today) {
+        if (player == null) {
+            throw new EntityNotFoundException("No player present with id " + quote.getPlayerId());
+        }
+        if (buyingTeam == null) {
+            throw new EntityNotFoundException("No team present with id " + quote.getBuyingTeamId());
+        }
+        Team sellingTeam = player.getTeam();
+        if (sellingTeam == null) {
+            throw new EntityNotFoundException("Player does not belong to any team");
+        }
+        if (sellingTeam.getId().equals(buyingTeam.getId())) {
+            throw new BadRequestException("Can't transfer a player to a team he's already on");
+        }
+        BigDecimal fee = BigDecimal.valueOf(
+                transferFeeCalculator.calculateFeeCents(player, sellingTeam, today), CENTS_SCALE);
+        quote.setSellingTeamId(sellingTeam.getId());
+        quote.setFee(fee);
+        quote.setAffordable(buyingTeam.getTotalBudget().compareTo(fee) >= 0);
     }
 
-    private BigDecimal calculateTransferCommission(Player player, BigDecimal transferAmount) {
-        return transferAmount
-                .multiply(player.getTeam().getPlayerTransferCommission())
-                .divide(BigDecimal.valueOf(100), RoundingMode.HALF_UP);
+    private record CompletedTransfer(Player player, long feeCents) {
     }
 }
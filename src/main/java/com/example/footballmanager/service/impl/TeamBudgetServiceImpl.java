@@ -0,0 +1,145 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TeamBudgetStripe;
+import com.example.footballmanager.repository.TeamBudgetStripeRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.service.TeamBudgetService;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spreads each team's budget across {@code budget-stripes} sub-accounts, so
+ * transfers into or out of a popular team needn't all queue on its row,
+ * though {@code HotTeamTransferBenchmark} has yet to show a gain from it. A
+ * credit lands on a random stripe. A debit takes the whole amount from a
+ * random stripe when that stripe covers it; otherwise it locks the team row
+ * and every stripe, borrows across them and spreads what is left evenly
+ * again. The team row keeps the balance a client set until the first such
+ * rebalance moves it into the stripes.
+ */
+@Service
+public class TeamBudgetServiceImpl implements TeamBudgetService {
+    private static final int CENTS_SCALE = 2;
+    private final TeamRepository teamRepository;
+    private final TeamBudgetStripeRepository teamBudgetStripeRepository;
+    private final int stripeCount;
+
+    public TeamBudgetServiceImpl(
+            TeamRepository teamRepository,
+            TeamBudgetStripeRepository teamBudgetStripeRepository,
+            @Value("${football-manager.teams.budget-stripes}") int stripeCount
+    ) {
+        this.teamRepository = teamRepository;
+        this.teamBudgetStripeRepository = teamBudgetStripeRepository;
+        this.stripeCount = stripeCount;
+    }
+
+    @Override
+    public boolean isStriped() {
+        return stripeCount > 1;
+    }
+
+    /**
+     * Touches the two teams in ascending id order, like the team row locks
+     * of an unstriped transfer.
+     */
+    @Transactional
+    @Override
+    public boolean move(Long fromTeamId, Long toTeamId, BigDecimal amount) {
+        if (toTeamId < fromTeamId) {
+            credit(toTeamId, amount);
+        }
+        if (!debit(fromTeamId, amount)) {
+            return false;
+        }
+        if (toTeamId > fromTeamId) {
+            credit(toTeamId, amount);
+        }
+        return true;
+    }
+
+    @Transactional
+    @Override
+    public void settle(Collection<Team> teams) {
+        Map<Long, Team> teamsById = teams.stream().collect(Collectors.toMap(Team::getId, Function.identity()));
+        List<TeamBudgetStripe> stripes = teamBudgetStripeRepository.findAllByTeamIdInForUpdate(teamsById.keySet());
+        // Drained stripes keep their rows, so their versions still count towards the revision
+        if (stripes.stream().allMatch(stripe -> stripe.getBalance().signum() == 0)) {
+            return;
+        }
+        for (TeamBudgetStripe stripe : stripes) {
+            Team team = teamsById.get(stripe.getTeamId());
+            team.setBudget(team.getBudget().add(stripe.getBalance()));
+        }
+        teamBudgetStripeRepository.drainAllByTeamIdIn(teamsById.keySet());
+        for (Team team : teams) {
+            team.setStripedBudget(BigDecimal.ZERO);
+        }
+    }
+
+    private void credit(Long teamId, BigDecimal amount) {
+        teamBudgetStripeRepository.deposit(teamId, randomStripe(), amount);
+    }
+
+    private boolean debit(Long teamId, BigDecimal amount) {
+        return teamBudgetStripeRepository.withdraw(teamId, randomStripe(), amount) == 1
+                || rebalance(teamId, amount);
+    }
+
+    /**
+     * Takes the amount out of the whole budget with the team row and all of
+     * its stripes locked, then leaves the rest spread evenly over the
+     * configured stripes, down to the cent. Stripes beyond the configured
+     * count, left over from a larger setting, are emptied.
+     */
+    private boolean rebalance(Long teamId, BigDecimal amount) {
+        BigDecimal ownBalance = teamRepository.findBudgetByIdForUpdate(teamId).orElseThrow(
+                () -> new EntityNotFoundException("No team present with id " + teamId));
+        Map<Integer, BigDecimal> balances = new HashMap<>();
+        BigDecimal total = ownBalance;
+        for (TeamBudgetStripe stripe : teamBudgetStripeRepository.findAllByTeamIdInForUpdate(List.of(teamId))) {
+            balances.put(stripe.getStripe(), stripe.getBalance());
+            total = total.add(stripe.getBalance());
+        }
+        if (total.compareTo(amount) < 0) {
+            return false;
+        }
+        long remainingCents = total.subtract(amount).movePointRight(CENTS_SCALE).longValueExact();
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            long targetCents = remainingCents / stripeCount + (stripe < remainingCents % stripeCount ? 1 : 0);
+            BigDecimal balance = balances.getOrDefault(stripe, BigDecimal.ZERO);
+            adjust(teamId, stripe, BigDecimal.valueOf(targetCents, CENTS_SCALE).subtract(balance));
+        }
+        balances.forEach((stripe, balance) -> {
+            if (stripe >= stripeCount) {
+                adjust(teamId, stripe, balance.negate());
+            }
+        });
+        if (ownBalance.signum() != 0) {
+            teamRepository.addToBudget(teamId, ownBalance.negate());
+        }
+        return true;
+    }
+
+    /** Deposits the difference, which is negative when the stripe shrinks. */
+    private void adjust(Long teamId, int stripe, BigDecimal difference) {
+        if (difference.signum() != 0) {
+            teamBudgetStripeRepository.deposit(teamId, stripe, difference);
+        }
+    }
+
+    private int randomStripe() {
+        return ThreadLocalRandom.current().nextInt(stripeCount);
+    }
+}
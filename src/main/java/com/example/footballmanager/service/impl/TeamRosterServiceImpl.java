@@ -0,0 +1,97 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.dto.response.TeamResponseDto;
+import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.projection.RosterRow;
+import com.example.footballmanager.service.TeamRosterService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes a team and its players as one JSON document straight from a single
+ * projection query. Rows are serialized as they are read, so neither the
+ * entities nor a list of response DTOs are ever held for the whole squad.
+ * A missing team is detected before the first byte is written.
+ */
+@Service
+public class TeamRosterServiceImpl implements TeamRosterService {
+    private final TeamRepository teamRepository;
+    private final ObjectMapper objectMapper;
+
+    public TeamRosterServiceImpl(TeamRepository teamRepository, ObjectMapper objectMapper) {
+        this.teamRepository = teamRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void writeRoster(Long teamId, Integer maxSize, OutputStream outputStream) throws IOException {
+        // One extra row tells whether the roster was cut off
+        Pageable pageable = maxSize == null || maxSize == Integer.MAX_VALUE
+                ? Pageable.unpaged()
+                : PageRequest.of(0, maxSize + 1);
+        try (Stream<RosterRow> rows = teamRepository.streamRoster(teamId, pageable)) {
+            Iterator<RosterRow> iterator = rows.iterator();
+            if (!iterator.hasNext()) {
+                throw new EntityNotFoundException("No team present with id " + teamId);
+            }
+            write(iterator, maxSize, outputStream);
+        }
+    }
+
+    private void write(Iterator<RosterRow> iterator, Integer maxSize, OutputStream outputStream)
+            throws IOException {
+        RosterRow row = iterator.next();
+        long written = 0;
+        boolean truncated = false;
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writePOJOField("team", toTeamResponseDto(row));
+            generator.writeArrayFieldStart("players");
+            while (row != null && row.playerId() != null) {
+                if (maxSize != null && written == maxSize) {
+                    truncated = true;
+                    break;
+                }
+                generator.writePOJO(toPlayerResponseDto(row));
+                written++;
+                row = iterator.hasNext() ? iterator.next() : null;
+            }
+            generator.writeEndArray();
+            generator.writeBooleanField("truncated", truncated);
+            generator.writeEndObject();
+        }
+        outputStream.flush();
+    }
+
+    private static TeamResponseDto toTeamResponseDto(RosterRow row) {
+        TeamResponseDto responseDto = new TeamResponseDto();
+        responseDto.setId(row.teamId());
+        responseDto.setName(row.teamName());
+        responseDto.setPlayerTransferCommission(row.playerTransferCommission());
+        responseDto.setBudget(row.budget());
+        return responseDto;
+    }
+
+    private static PlayerResponseDto toPlayerResponseDto(RosterRow row) {
+        PlayerResponseDto responseDto = new PlayerResponseDto();
+        responseDto.setId(row.playerId());
+        responseDto.setFirstname(row.firstname());
+        responseDto.setLastname(row.lastname());
+        responseDto.setBirthDate(row.birthDate());
+        responseDto.setCareerStartDate(row.careerStartDate());
+        responseDto.setTeamId(row.teamId());
+        return responseDto;
+    }
+}
@@ -1,53 +1,129 @@
 package com.example.footballmanager.service.impl;
 
+import com.example.footballmanager.cache.TeamCache;
+import com.example.footballmanager.dto.response.TeamResponseDto;
 import com.example.footballmanager.exception.BadRequestException;
 import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.exception.PreconditionFailedException;
+import com.example.footballmanager.model.BudgetAdjustment;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TeamBudgetStripe;
+import com.example.footballmanager.repository.BudgetAdjustmentRepository;
+import com.example.footballmanager.repository.TeamBudgetStripeRepository;
 import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.projection.StripedTeam;
 import com.example.footballmanager.service.TeamService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class TeamServiceImpl implements TeamService {
     private final TeamRepository teamRepository;
+    private final TeamCache teamCache;
+    private final BudgetAdjustmentRepository budgetAdjustmentRepository;
+    private final TeamBudgetStripeRepository teamBudgetStripeRepository;
 
     @Override
     public Team getById(Long id) {
-        return teamRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("No team present with id " + id));
+        return teamCache.get(id, () -> findStripedById(id));
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public Page<Team> getAll(Pageable pageable) {
-        return teamRepository.findAll(pageable);
+    public Page<TeamResponseDto> getAll(Pageable pageable) {
+        return teamRepository.findAllResponseDtos(pageable);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<TeamResponseDto> getAllAfter(Long afterId, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        return teamRepository.findResponseDtosAfter(afterId == null ? 0L : afterId, pageable);
+    }
+
+    @Transactional
     @Override
     public Team create(Team team) {
         if (team.getId() != null) {
             throw new BadRequestException("Can't save a new team with an existing id!");
         }
-        return teamRepository.save(team);
+        Team savedTeam = teamRepository.save(team);
+        recordAdjustment(savedTeam.getId(), savedTeam.getBudget(), BudgetAdjustment.Reason.CREATED);
+        return savedTeam;
     }
 
+    /**
+     * Locks the team row and then its stripes, in the order a rebalance
+     * takes them, and folds the stripes into the row like a settlement, so
+     * the row holds exactly the requested budget and no stripe can spend
+     * money the request took away.
+     */
+    @Transactional
     @Override
     public Team updateById(Long id, Team team) {
-        if(!teamRepository.existsById(id)) {
-            throw new EntityNotFoundException("No team present with id " + id);
+        Team existingTeam = teamRepository.findAllByIdForUpdate(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("No team present with id " + id));
+        List<TeamBudgetStripe> stripes = teamBudgetStripeRepository.findAllByTeamIdInForUpdate(List.of(id));
+        existingTeam.setStripedBudget(stripes.stream()
+                .map(TeamBudgetStripe::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        existingTeam.setStripedVersion(stripes.stream().mapToLong(TeamBudgetStripe::getVersion).sum());
+        if (team.getVersion() != null && !team.getVersion().equals(existingTeam.getRevision())) {
+            throw new PreconditionFailedException("Team with id " + id + " has been modified");
         }
         team.setId(id);
-        return teamRepository.save(team);
+        team.setVersion(existingTeam.getVersion());
+        BigDecimal adjustment = team.getBudget().subtract(existingTeam.getTotalBudget());
+        if (adjustment.signum() != 0) {
+            recordAdjustment(id, adjustment, BudgetAdjustment.Reason.UPDATED);
+        }
+        long stripedVersion = existingTeam.getStripedVersion();
+        // Drained stripes keep their rows, so each one bumps the revision
+        if (existingTeam.getStripedBudget().signum() != 0) {
+            teamBudgetStripeRepository.drainAllByTeamIdIn(List.of(id));
+            stripedVersion += stripes.size();
+        }
+        existingTeam.setStripedBudget(BigDecimal.ZERO);
+        existingTeam.setStripedVersion(stripedVersion);
+        team.setStripedBudget(BigDecimal.ZERO);
+        team.setStripedVersion(stripedVersion);
+        Team updatedTeam = teamRepository.save(team);
+        teamCache.evict(id);
+        return updatedTeam;
+    }
+
+    private void recordAdjustment(Long teamId, BigDecimal amount, BudgetAdjustment.Reason reason) {
+        BudgetAdjustment budgetAdjustment = new BudgetAdjustment();
+        budgetAdjustment.setTeamId(teamId);
+        budgetAdjustment.setAmount(amount);
+        budgetAdjustment.setReason(reason);
+        budgetAdjustment.setAdjustedAt(LocalDateTime.now());
+        budgetAdjustmentRepository.save(budgetAdjustment);
+    }
+
+    private Team findStripedById(Long id) {
+        return teamRepository.findAllStripedByIdIn(List.of(id)).stream()
+                .findFirst()
+                .map(StripedTeam::team)
+                .orElseThrow(() -> new EntityNotFoundException("No team present with id " + id));
     }
 
+    @Transactional
     @Override
     public void deleteById(Long id) {
-        if(!teamRepository.existsById(id)) {
+        if (teamRepository.removeById(id) == 0) {
             throw new EntityNotFoundException("No team present with id " + id);
         }
-        teamRepository.deleteById(id);
+        teamCache.evict(id);
     }
 }
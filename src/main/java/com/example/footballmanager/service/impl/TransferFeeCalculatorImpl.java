@@ -0,0 +1,60 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TransferFee;
+import com.example.footballmanager.service.TransferFeeCalculator;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fee arithmetic on long cents. The transfer amount is experience in months
+ * times 100000 divided by the age in years, rounded half up to cents. The
+ * commission is rounded half up first to the scale of amount times
+ * commission, as BigDecimal division does, and then to whole cents, which is
+ * what the budget columns store.
+ */
+@Component
+public class TransferFeeCalculatorImpl implements TransferFeeCalculator {
+    private static final long BASE_MULTIPLIER_CENTS = 100000L * 100;
+    private static final long PERCENT = 100;
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L};
+
+    @Override
+    public TransferFee calculateFee(Player player, Team sellingTeam, LocalDate today) {
+        long experienceInMonths = player.getCareerStartDate().until(today, ChronoUnit.MONTHS);
+        long ageInYears = player.getBirthDate().until(today, ChronoUnit.YEARS);
+        if (ageInYears <= 0) {
+            throw new BadRequestException("Can't calculate a transfer fee for player with id "
+                    + player.getId() + ": age must be at least one year");
+        }
+        long transferAmountCents = divideHalfUp(experienceInMonths * BASE_MULTIPLIER_CENTS, ageInYears);
+        return new TransferFee(transferAmountCents, calculateCommissionCents(
+                transferAmountCents, sellingTeam.getPlayerTransferCommission()));
+    }
+
+    private long calculateCommissionCents(long transferAmountCents, BigDecimal commission) {
+        if (commission.scale() < 0) {
+            commission = commission.setScale(0);
+        }
+        int scale = commission.scale();
+        if (scale >= POWERS_OF_TEN.length) {
+            throw new BadRequestException("Transfer commission has too many decimal places: " + commission);
+        }
+        long commissionUnits = divideHalfUp(
+                transferAmountCents * commission.unscaledValue().longValueExact(), PERCENT);
+        return divideHalfUp(commissionUnits, POWERS_OF_TEN[scale]);
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.exception.TooManyRequestsException;
+import com.example.footballmanager.model.TransferJob;
+import com.example.footballmanager.model.TransferJobStatus;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.service.PlayerService;
+import com.example.footballmanager.service.TransferJobService;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs transfers on a dedicated pool of worker threads, so a spike of
+ * transfers holds neither request threads nor more connections than there
+ * are workers. At most {@code queue-capacity} jobs are admitted at a time;
+ * beyond that submissions are refused. Each job is chained after the last
+ * job submitted for either of its teams, so transfers touching the same team
+ * run one after another in submission order while other teams proceed in
+ * parallel. Waiting jobs don't occupy a worker. The selling team is read at
+ * submission. Finished jobs are kept for status queries until
+ * {@code retained-jobs} newer ones have finished.
+ */
+@Service
+public class TransferJobServiceImpl implements TransferJobService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransferJobServiceImpl.class);
+    private static final String CONCURRENCY_FAILURE_MESSAGE =
+            "The data was modified concurrently, please retry the transfer";
+    private static final String UNEXPECTED_FAILURE_MESSAGE = "The transfer could not be completed";
+    private final PlayerService playerService;
+    private final PlayerRepository playerRepository;
+    private final ThreadPoolExecutor workers;
+    private final Semaphore admissions;
+    private final int retainedJobs;
+    private final Map<String, TransferJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger finishedJobCount = new AtomicInteger();
+    private final Map<Long, CompletableFuture<Void>> lastJobByTeamId = new ConcurrentHashMap<>();
+    private final ReentrantLock enqueueLock = new ReentrantLock();
+
+    public TransferJobServiceImpl(
+            PlayerService playerService,
+            PlayerRepository playerRepository,
+            @Value("${football-manager.transfers.async.workers}") int workerCount,
+            @Value("${football-manager.transfers.async.queue-capacity}") int queueCapacity,
+            @Value("${football-manager.transfers.async.retained-jobs}") int retainedJobs
+    ) {
+        this.playerService = playerService;
+        this.playerRepository = playerRepository;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("transfer-worker-", 1).factory());
+        this.admissions = new Semaphore(queueCapacity);
+        this.retainedJobs = retainedJobs;
+    }
+
+    @Override
+    public TransferJob submit(Long playerId, Long buyingTeamId) {
+        if (!admissions.tryAcquire()) {
+            throw new TooManyRequestsException("Too many transfers are queued, please retry later");
+        }
+        try {
+            List<Long> teamIds = new ArrayList<>(2);
+            teamIds.add(buyingTeamId);
+            playerRepository.findTeamIdById(playerId)
+                    .filter(sellingTeamId -> !sellingTeamId.equals(buyingTeamId))
+                    .ifPresent(teamIds::add);
+            TransferJob job = new TransferJob();
+            job.setId(UUID.randomUUID().toString());
+            job.setPlayerId(playerId);
+            job.setBuyingTeamId(buyingTeamId);
+            job.setSubmittedAt(Instant.now());
+            job.setStatus(TransferJobStatus.QUEUED);
+            jobs.put(job.getId(), job);
+            enqueue(job, teamIds);
+            return job;
+        } catch (RuntimeException e) {
+            admissions.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public TransferJob getById(String id) {
+        TransferJob job = jobs.get(id);
+        if (job == null) {
+            throw new EntityNotFoundException("No transfer job present with id " + id);
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Reads the last jobs of both teams and publishes the new one for both
+     * under one lock, so two jobs sharing a team can't both chain after the
+     * same predecessor. A lock rather than a monitor, so a virtual request
+     * thread waiting here doesn't pin its carrier.
+     */
+    private void enqueue(TransferJob job, List<Long> teamIds) {
+        CompletableFuture<Void> done;
+        enqueueLock.lock();
+        try {
+            CompletableFuture<?>[] previousJobs = teamIds.stream()
+                    .map(lastJobByTeamId::get)
+                    .filter(Objects::nonNull)
+                    .toArray(CompletableFuture[]::new);
+            done = CompletableFuture.allOf(previousJobs)
+                    .exceptionally(e -> null)
+                    .thenRunAsync(() -> run(job), workers);
+            for (Long teamId : teamIds) {
+                lastJobByTeamId.put(teamId, done);
+            }
+        } finally {
+            enqueueLock.unlock();
+        }
+        done.whenComplete((result, e) -> forget(teamIds, done));
+    }
+
+    /**
+     * Drops the job from the teams it is still the last job of; each removal
+     * only happens while the team still maps to this job, so it needs no lock.
+     */
+    private void forget(List<Long> teamIds, CompletableFuture<Void> done) {
+        for (Long teamId : teamIds) {
+            lastJobByTeamId.remove(teamId, done);
+        }
+    }
+
+    private void run(TransferJob job) {
+        job.setStartedAt(Instant.now());
+        job.setStatus(TransferJobStatus.RUNNING);
+        TransferJobStatus status = TransferJobStatus.FAILED;
+        try {
+            playerService.transferPlayerToTeam(job.getPlayerId(), job.getBuyingTeamId());
+            status = TransferJobStatus.SUCCEEDED;
+        } catch (BadRequestException | NoSuchElementException e) {
+            job.setError(e.getMessage());
+        } catch (ConcurrencyFailureException e) {
+            job.setError(CONCURRENCY_FAILURE_MESSAGE);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Transfer job {} failed", job.getId(), e);
+            job.setError(UNEXPECTED_FAILURE_MESSAGE);
+        } finally {
+            job.setFinishedAt(Instant.now());
+            admissions.release();
+            retire(job);
+            job.setStatus(status);
+        }
+    }
+
+    private void retire(TransferJob job) {
+        finishedJobIds.add(job.getId());
+        if (finishedJobCount.incrementAndGet() > retainedJobs) {
+            String oldestJobId = finishedJobIds.poll();
+            if (oldestJobId != null) {
+                finishedJobCount.decrementAndGet();
+                jobs.remove(oldestJobId);
+            }
+        }
+    }
+}
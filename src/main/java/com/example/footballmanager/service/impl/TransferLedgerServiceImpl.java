@@ -0,0 +1,132 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.dto.request.TransferSearchRequestDto;
+import com.example.footballmanager.dto.response.TeamBudgetResponseDto;
+import com.example.footballmanager.dto.response.TransferResponseDto;
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.model.BudgetAdjustment;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.Transfer;
+import com.example.footballmanager.repository.BudgetAdjustmentRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.TransferRepository;
+import com.example.footballmanager.repository.TransferSpecifications;
+import com.example.footballmanager.repository.projection.IdRange;
+import com.example.footballmanager.repository.projection.StripedTeam;
+import com.example.footballmanager.repository.projection.TeamAdjustmentTotal;
+import com.example.footballmanager.repository.projection.TeamFeeTotal;
+import com.example.footballmanager.service.TransferLedgerService;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Replays the ledger backwards from the current budgets: a team's budget at
+ * {@code asOf} is its budget now, minus the fees it received since, plus the
+ * fees it paid, minus the budget adjustments clients made since. Teams
+ * created after {@code asOf} are left out, as are teams deleted since. The
+ * entries since {@code asOf} are split into id ranges of {@code chunk-size}
+ * that are summed in parallel on {@code parallelism} threads, one connection
+ * each. Transfers and updates committing while a replay runs may be counted
+ * in the budgets but not in the sums, or the reverse.
+ */
+@Service
+public class TransferLedgerServiceImpl implements TransferLedgerService {
+    private final TransferRepository transferRepository;
+    private final TeamRepository teamRepository;
+    private final BudgetAdjustmentRepository budgetAdjustmentRepository;
+    private final ExecutorService replayWorkers;
+    private final int replayChunkSize;
+
+    public TransferLedgerServiceImpl(
+            TransferRepository transferRepository,
+            TeamRepository teamRepository,
+            BudgetAdjustmentRepository budgetAdjustmentRepository,
+            @Value("${football-manager.transfers.replay.parallelism}") int replayParallelism,
+            @Value("${football-manager.transfers.replay.chunk-size}") int replayChunkSize
+    ) {
+        this.transferRepository = transferRepository;
+        this.teamRepository = teamRepository;
+        this.budgetAdjustmentRepository = budgetAdjustmentRepository;
+        this.replayWorkers = Executors.newFixedThreadPool(replayParallelism,
+                Thread.ofPlatform().name("transfer-replay-", 1).factory());
+        this.replayChunkSize = replayChunkSize;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<TransferResponseDto> search(TransferSearchRequestDto filters, Long afterId, int limit) {
+        if (filters.getFrom() != null && filters.getTo() != null && filters.getFrom().isAfter(filters.getTo())) {
+            throw new BadRequestException("from must not be after to");
+        }
+        Specification<Transfer> specification = Specification
+                .where(TransferSpecifications.ofPlayer(filters.getPlayerId()))
+                .and(TransferSpecifications.transferredBetween(filters.getFrom(), filters.getTo()));
+        return transferRepository.searchResponseDtos(
+                specification, filters.getTeamId(), afterId == null ? 0L : afterId, limit);
+    }
+
+    @Override
+    public List<TeamBudgetResponseDto> replayBudgets(LocalDateTime asOf) {
+        IdRange range = transferRepository.findIdRangeTransferredAfter(asOf);
+        List<CompletableFuture<Map<Long, BigDecimal>>> chunks = new ArrayList<>();
+        if (range.minId() != null) {
+            for (long fromId = range.minId(); fromId <= range.maxId(); fromId += replayChunkSize) {
+                long toId = Math.min(fromId + replayChunkSize - 1, range.maxId());
+                long chunkFromId = fromId;
+                chunks.add(CompletableFuture.supplyAsync(
+                        () -> sumChunk(chunkFromId, toId, asOf), replayWorkers));
+            }
+        }
+        Map<Long, BigDecimal> changes = new HashMap<>();
+        for (CompletableFuture<Map<Long, BigDecimal>> chunk : chunks) {
+            chunk.join().forEach((teamId, fees) -> changes.merge(teamId, fees, BigDecimal::add));
+        }
+        for (TeamAdjustmentTotal total : budgetAdjustmentRepository.sumAmountsAdjustedAfter(asOf)) {
+            changes.merge(total.teamId(), total.total(), BigDecimal::add);
+        }
+        budgetAdjustmentRepository.findTeamIdsAdjustedAfter(asOf, BudgetAdjustment.Reason.CREATED)
+                .forEach(changes::remove);
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        List<TeamBudgetResponseDto> budgets = new ArrayList<>(changes.size());
+        for (StripedTeam stripedTeam : teamRepository.findAllStripedByIdIn(changes.keySet())) {
+            Team team = stripedTeam.team();
+            BigDecimal budget = team.getTotalBudget().subtract(changes.get(team.getId()));
+            budgets.add(new TeamBudgetResponseDto(team.getId(), budget));
+        }
+        budgets.sort(Comparator.comparing(TeamBudgetResponseDto::getTeamId));
+        return budgets;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replayWorkers.shutdown();
+    }
+
+    /** Net fees each team received over the chunk; negative when it paid more. */
+    private Map<Long, BigDecimal> sumChunk(Long fromId, Long toId, LocalDateTime asOf) {
+        Map<Long, BigDecimal> received = new HashMap<>();
+        for (TeamFeeTotal total : transferRepository.sumFeesReceivedBetween(fromId, toId, asOf)) {
+            received.merge(total.teamId(), total.total(), BigDecimal::add);
+        }
+        for (TeamFeeTotal total : transferRepository.sumFeesPaidBetween(fromId, toId, asOf)) {
+            received.merge(total.teamId(), total.total().negate(), BigDecimal::add);
+        }
+        return received;
+    }
+}
@@ -0,0 +1,15 @@
+--liquibase formatted sql
+--changeset deschna:add_players_search_indexes splitStatements:true endDelimiter:;
+
+CREATE INDEX idx_players_lastname_firstname ON players (lastname, firstname);
+
+CREATE INDEX idx_players_firstname ON players (firstname);
+
+CREATE INDEX idx_players_birth_date ON players (birth_date);
+
+CREATE INDEX idx_players_career_start_date ON players (career_start_date);
+
+--rollback DROP INDEX idx_players_career_start_date ON players;
+--rollback DROP INDEX idx_players_birth_date ON players;
+--rollback DROP INDEX idx_players_firstname ON players;
+--rollback DROP INDEX idx_players_lastname_firstname ON players;
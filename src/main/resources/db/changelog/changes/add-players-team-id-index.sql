@@ -0,0 +1,6 @@
+--liquibase formatted sql
+--changeset deschna:add_players_team_id_index splitStatements:true endDelimiter:;
+
+CREATE INDEX idx_players_team_id_id ON players (team_id, id);
+
+--rollback DROP INDEX idx_players_team_id_id ON players;
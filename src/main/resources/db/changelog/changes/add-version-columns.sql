@@ -0,0 +1,9 @@
+--liquibase formatted sql
+--changeset deschna:add_version_columns splitStatements:true endDelimiter:;
+
+ALTER TABLE teams ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE players ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+--rollback ALTER TABLE players DROP COLUMN version;
+--rollback ALTER TABLE teams DROP COLUMN version;
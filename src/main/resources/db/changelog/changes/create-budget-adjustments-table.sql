@@ -0,0 +1,30 @@
+--liquibase formatted sql
+--changeset deschna:create_budget_adjustments_table splitStatements:true endDelimiter:;
+
+CREATE TABLE IF NOT EXISTS budget_adjustments (
+    id BIGINT PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    amount DECIMAL(15, 2) NOT NULL,
+    reason VARCHAR(16) NOT NULL,
+    adjusted_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_budget_adjustments_adjusted_at ON budget_adjustments (adjusted_at);
+
+--rollback DROP TABLE budget_adjustments;
+
+--changeset deschna:create_budget_adjustments_sequence_table dbms:mysql splitStatements:true endDelimiter:;
+
+CREATE TABLE IF NOT EXISTS budget_adjustments_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO budget_adjustments_seq (next_val) VALUES (1);
+
+--rollback DROP TABLE budget_adjustments_seq;
+
+--changeset deschna:create_budget_adjustments_sequence dbms:h2 splitStatements:true endDelimiter:;
+
+CREATE SEQUENCE IF NOT EXISTS budget_adjustments_seq START WITH 1 INCREMENT BY 50;
+
+--rollback DROP SEQUENCE budget_adjustments_seq;
@@ -0,0 +1,26 @@
+--liquibase formatted sql
+--changeset deschna:create_id_sequence_tables dbms:mysql splitStatements:true endDelimiter:;
+
+CREATE TABLE IF NOT EXISTS teams_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO teams_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM teams;
+
+CREATE TABLE IF NOT EXISTS players_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO players_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM players;
+
+--rollback DROP TABLE players_seq;
+--rollback DROP TABLE teams_seq;
+
+--changeset deschna:create_id_sequences dbms:h2 splitStatements:true endDelimiter:;
+
+CREATE SEQUENCE IF NOT EXISTS teams_seq START WITH 100 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS players_seq START WITH 100 INCREMENT BY 50;
+
+--rollback DROP SEQUENCE players_seq;
+--rollback DROP SEQUENCE teams_seq;
@@ -0,0 +1,14 @@
+--liquibase formatted sql
+--changeset deschna:create_idempotent_requests_table splitStatements:true endDelimiter:;
+
+CREATE TABLE IF NOT EXISTS idempotent_requests (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_status INT,
+    response_body VARCHAR(4000),
+    created_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_idempotent_requests_created_at ON idempotent_requests (created_at);
+
+--rollback DROP TABLE idempotent_requests;
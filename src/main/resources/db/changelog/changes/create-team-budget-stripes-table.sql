@@ -0,0 +1,13 @@
+--liquibase formatted sql
+--changeset deschna:create_team_budget_stripes_table splitStatements:true endDelimiter:;
+
+CREATE TABLE IF NOT EXISTS team_budget_stripes (
+    team_id BIGINT NOT NULL,
+    stripe INT NOT NULL,
+    balance DECIMAL(15, 2) NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (team_id, stripe),
+    CONSTRAINT fk_team_budget_stripes_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE team_budget_stripes;
@@ -0,0 +1,38 @@
+--liquibase formatted sql
+--changeset deschna:create_transfers_table splitStatements:true endDelimiter:;
+
+CREATE TABLE IF NOT EXISTS transfers (
+    id BIGINT PRIMARY KEY,
+    player_id BIGINT NOT NULL,
+    selling_team_id BIGINT NOT NULL,
+    buying_team_id BIGINT NOT NULL,
+    fee DECIMAL(15, 2) NOT NULL,
+    commission DECIMAL(15, 2) NOT NULL,
+    transferred_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_transfers_player_id_id ON transfers (player_id, id);
+
+CREATE INDEX idx_transfers_selling_team_id_id ON transfers (selling_team_id, id);
+
+CREATE INDEX idx_transfers_buying_team_id_id ON transfers (buying_team_id, id);
+
+CREATE INDEX idx_transfers_transferred_at ON transfers (transferred_at);
+
+--rollback DROP TABLE transfers;
+
+--changeset deschna:create_transfers_sequence_table dbms:mysql splitStatements:true endDelimiter:;
+
+CREATE TABLE IF NOT EXISTS transfers_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO transfers_seq (next_val) VALUES (1);
+
+--rollback DROP TABLE transfers_seq;
+
+--changeset deschna:create_transfers_sequence dbms:h2 splitStatements:true endDelimiter:;
+
+CREATE SEQUENCE IF NOT EXISTS transfers_seq START WITH 1 INCREMENT BY 50;
+
+--rollback DROP SEQUENCE transfers_seq;
@@ -0,0 +1,123 @@
+package com.example.footballmanager.admission;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int INITIAL_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    @Test
+    public void testTryAcquireUpToLimit_Ok() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, MAX_LIMIT);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+
+        limit.release(FAST_NANOS, false);
+
+        assertEquals(1, limit.getInFlight());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    public void testGrowsWhileLatencyStaysFlat_Ok() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(INITIAL_LIMIT, 1, MAX_LIMIT);
+
+        for (int i = 0; i < 20; i++) {
+            runFullyLoaded(limit, FAST_NANOS);
+        }
+
+        assertEquals(MAX_LIMIT, limit.getLimit());
+    }
+
+    @Test
+    public void testStaysWhenLimitIsNotUsed_Ok() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(INITIAL_LIMIT, 1, MAX_LIMIT);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(FAST_NANOS, false);
+        }
+
+        assertEquals(INITIAL_LIMIT, limit.getLimit());
+    }
+
+    @Test
+    public void testShrinksWhenLatencyRises_Ok() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(MAX_LIMIT, 1, MAX_LIMIT);
+        runFullyLoaded(limit, FAST_NANOS);
+
+        for (int i = 0; i < 20; i++) {
+            runFullyLoaded(limit, SLOW_NANOS);
+        }
+
+        assertTrue("Limit " + limit.getLimit(), limit.getLimit() < INITIAL_LIMIT);
+    }
+
+    @Test
+    public void testShrinksOnFailures_Ok() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(INITIAL_LIMIT, 1, MAX_LIMIT);
+        limit.tryAcquire();
+        limit.release(FAST_NANOS, false);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(FAST_NANOS, true);
+        }
+
+        assertEquals(1, limit.getLimit());
+    }
+
+    @Test
+    public void testConcurrentReleases_Ok() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(INITIAL_LIMIT, 1, MAX_LIMIT);
+        Callable<Void> worker = () -> {
+            for (int i = 0; i < 1000; i++) {
+                if (limit.tryAcquire()) {
+                    limit.release(i % 2 == 0 ? FAST_NANOS : SLOW_NANOS, i % 10 == 0);
+                }
+            }
+            return null;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (Future<Void> future : executor.invokeAll(Collections.nCopies(8, worker))) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(0, limit.getInFlight());
+        assertTrue("Limit " + limit.getLimit(), limit.getLimit() >= 1 && limit.getLimit() <= MAX_LIMIT);
+    }
+
+    @Test
+    public void testInvalidLimits_NotOk() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(1, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(20, 1, 10));
+    }
+
+    /** Fills every slot, then finishes the requests, each after rttNanos. */
+    private static void runFullyLoaded(AdaptiveConcurrencyLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos, false);
+        }
+    }
+}
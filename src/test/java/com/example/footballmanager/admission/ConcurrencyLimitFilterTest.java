@@ -0,0 +1,114 @@
+package com.example.footballmanager.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class ConcurrencyLimitFilterTest {
+    private static final FilterChain EMPTY_CHAIN = (request, response) -> { };
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimit reads;
+    private AdaptiveConcurrencyLimit writes;
+    private AdaptiveConcurrencyLimit transfers;
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reads = new AdaptiveConcurrencyLimit(2, 1, 10);
+        writes = new AdaptiveConcurrencyLimit(1, 1, 10);
+        transfers = new AdaptiveConcurrencyLimit(1, 1, 10);
+        concurrencyLimitFilter = new ConcurrencyLimitFilter(meterRegistry, objectMapper, Map.of(
+                EndpointGroup.READS, reads, EndpointGroup.WRITES, writes, EndpointGroup.TRANSFERS, transfers),
+                nanoTime::get);
+    }
+
+    @Test
+    public void testReleasesSlotAfterRequest_Ok() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(HttpStatus.OK.value(), perform(request("GET", "/teams/1"), EMPTY_CHAIN).getStatus());
+        }
+        assertEquals(0, reads.getInFlight());
+    }
+
+    @Test
+    public void testRejectsOverLimit_NotOk() throws Exception {
+        transfers.tryAcquire();
+
+        MockHttpServletResponse response = perform(request("POST", "/players/1/transfer"), EMPTY_CHAIN);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals(ConcurrencyLimitFilter.RETRY_AFTER_SECONDS, response.getHeader(HttpHeaders.RETRY_AFTER));
+        Map<?, ?> body = objectMapper.readValue(response.getContentAsString(), Map.class);
+        assertEquals(ConcurrencyLimitFilter.OVERLOADED_MESSAGE, body.get("error"));
+        assertEquals(1, meterRegistry.get("football.manager.concurrency.rejected")
+                .tag("group", "transfers").counter().count(), 0);
+    }
+
+    @Test
+    public void testGroupsLimitedSeparately_Ok() throws Exception {
+        transfers.tryAcquire();
+
+        assertEquals(HttpStatus.OK.value(), perform(request("GET", "/teams/1"), EMPTY_CHAIN).getStatus());
+        assertEquals(HttpStatus.OK.value(), perform(request("POST", "/teams"), EMPTY_CHAIN).getStatus());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                perform(request("POST", "/players/transfers"), EMPTY_CHAIN).getStatus());
+    }
+
+    @Test
+    public void testReleasesSlotWhenChainFails_Ok() {
+        FilterChain failingChain = (request, response) -> {
+            throw new ServletException("Request failed");
+        };
+
+        assertThrows(ServletException.class, () -> perform(request("POST", "/teams"), failingChain));
+        assertEquals(0, writes.getInFlight());
+    }
+
+    @Test
+    public void testKeepsSlotUntilAsyncRequestCompletes_Ok() throws Exception {
+        MockHttpServletRequest request = request("POST", "/players/1/transfer");
+        request.setAsyncSupported(true);
+        FilterChain asyncChain = (asyncRequest, response) -> asyncRequest.startAsync();
+
+        perform(request, asyncChain);
+
+        assertEquals(1, transfers.getInFlight());
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(0, transfers.getInFlight());
+    }
+
+    @Test
+    public void testExposesLimits_Ok() {
+        assertEquals(2, meterRegistry.get("football.manager.concurrency.limit")
+                .tag("group", "reads").gauge().value(), 0);
+        assertEquals(0, meterRegistry.get("football.manager.concurrency.in-flight")
+                .tag("group", "writes").gauge().value(), 0);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain filterChain)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        concurrencyLimitFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
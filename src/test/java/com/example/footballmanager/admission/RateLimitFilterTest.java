@@ -0,0 +1,184 @@
+package com.example.footballmanager.admission;
+
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.exception.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class RateLimitFilterTest {
+    private static final RateLimitFilter.Limits READS = new RateLimitFilter.Limits(2, 4);
+    private static final RateLimitFilter.Limits WRITES = new RateLimitFilter.Limits(1, 6);
+    private static final int TRANSFER_COST = 5;
+    private static final long MAX_CLIENTS = 100;
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(1);
+    private static final String DEFAULT_API_KEY = "client-1";
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter rateLimitFilter;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter(meterRegistry, objectMapper, READS, WRITES, TRANSFER_COST,
+                MAX_CLIENTS, IDLE_TIMEOUT, nanoTime::get);
+    }
+
+    @Test
+    public void testReadsWithinBurst_Ok() throws Exception {
+        for (int i = 0; i < READS.burst(); i++) {
+            assertPassed(perform(get(DEFAULT_API_KEY)));
+        }
+        assertEquals(READS.burst(), requests("read", "allowed"), 0);
+    }
+
+    @Test
+    public void testReadsOverBurst_NotOk() throws Exception {
+        for (int i = 0; i < READS.burst(); i++) {
+            perform(get(DEFAULT_API_KEY));
+        }
+
+        MockHttpServletResponse response = perform(get(DEFAULT_API_KEY));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        Map<?, ?> body = objectMapper.readValue(response.getContentAsString(), Map.class);
+        assertEquals(RateLimitFilter.RATE_LIMITED_MESSAGE, body.get("error"));
+        assertEquals(1, requests("read", "rejected"), 0);
+    }
+
+    @Test
+    public void testReadsRefill_Ok() throws Exception {
+        for (int i = 0; i < READS.burst(); i++) {
+            perform(get(DEFAULT_API_KEY));
+        }
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertPassed(perform(get(DEFAULT_API_KEY)));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), perform(get(DEFAULT_API_KEY)).getStatus());
+    }
+
+    @Test
+    public void testTransfersCostMore_Ok() throws Exception {
+        assertPassed(perform(post(DEFAULT_API_KEY, "/players/1/transfer")));
+        assertPassed(perform(post(DEFAULT_API_KEY, "/players")));
+
+        MockHttpServletResponse response = perform(post(DEFAULT_API_KEY, "/players/transfers"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("5", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, requests("write", "rejected"), 0);
+    }
+
+    @Test
+    public void testBatchTransfersChargedPerTransfer_Ok() throws Exception {
+        rateLimitFilter = new RateLimitFilter(meterRegistry, objectMapper, READS,
+                new RateLimitFilter.Limits(1, 20), TRANSFER_COST, MAX_CLIENTS, IDLE_TIMEOUT, nanoTime::get);
+        MockHttpServletRequest firstBatch = post(DEFAULT_API_KEY, "/players/transfers");
+        assertPassed(perform(firstBatch));
+        transferCharge(firstBatch).take(3);
+        MockHttpServletRequest secondBatch = post(DEFAULT_API_KEY, "/players/transfers");
+        assertPassed(perform(secondBatch));
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> transferCharge(secondBatch).take(2));
+
+        assertEquals(Long.valueOf(5), exception.getRetryAfterSeconds());
+        assertEquals(1, requests("write", "rejected"), 0);
+        assertNull(post(DEFAULT_API_KEY, "/players").getAttribute(RateLimitFilter.TRANSFER_CHARGE_ATTRIBUTE));
+    }
+
+    @Test
+    public void testBatchOverWriteBurst_NotOk() throws Exception {
+        MockHttpServletRequest batch = post(DEFAULT_API_KEY, "/players/transfers");
+        assertPassed(perform(batch));
+
+        assertThrows(BadRequestException.class, () -> transferCharge(batch).take(2));
+    }
+
+    @Test
+    public void testReadsAndWritesLimitedSeparately_Ok() throws Exception {
+        for (int i = 0; i < READS.burst(); i++) {
+            perform(get(DEFAULT_API_KEY));
+        }
+
+        assertPassed(perform(post(DEFAULT_API_KEY, "/teams")));
+    }
+
+    @Test
+    public void testClientsLimitedSeparately_Ok() throws Exception {
+        for (int i = 0; i < READS.burst(); i++) {
+            perform(get(DEFAULT_API_KEY));
+        }
+
+        assertPassed(perform(get("client-2")));
+        assertPassed(perform(get(null)));
+    }
+
+    @Test
+    public void testTransferCostOverWriteBurst_NotOk() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitFilter(meterRegistry, objectMapper,
+                READS, WRITES, WRITES.burst() + 1, MAX_CLIENTS, IDLE_TIMEOUT));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        rateLimitFilter.doFilter(request, response, filterChain);
+        if (response.getStatus() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+            assertNotNull(filterChain.getRequest());
+        } else {
+            assertNull(filterChain.getRequest());
+        }
+        return response;
+    }
+
+    private static RateLimitFilter.TransferCharge transferCharge(MockHttpServletRequest request) {
+        return (RateLimitFilter.TransferCharge) request.getAttribute(
+                RateLimitFilter.TRANSFER_CHARGE_ATTRIBUTE);
+    }
+
+    private static MockHttpServletRequest get(String apiKey) {
+        return withApiKey(new MockHttpServletRequest("GET", "/players"), apiKey);
+    }
+
+    private static MockHttpServletRequest post(String apiKey, String uri) {
+        return withApiKey(new MockHttpServletRequest("POST", uri), apiKey);
+    }
+
+    private static MockHttpServletRequest withApiKey(MockHttpServletRequest request, String apiKey) {
+        if (apiKey != null) {
+            request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        }
+        return request;
+    }
+
+    private static void assertPassed(MockHttpServletResponse response) {
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+    }
+
+    private double requests(String bucket, String outcome) {
+        return meterRegistry.get("football.manager.rate-limit.requests")
+                .tag("bucket", bucket)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.footballmanager.admission;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long NOW = 42 * SECOND;
+
+    @Test
+    public void testTryTake_Ok() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+
+        assertEquals(0, bucket.tryTake(2, NOW));
+        assertEquals(0, bucket.tryTake(1, NOW));
+        assertEquals(SECOND / 10, bucket.tryTake(1, NOW));
+        assertEquals(0, bucket.tryTake(1, NOW + SECOND / 10));
+    }
+
+    @Test
+    public void testRefillsUpToCapacity_Ok() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        bucket.tryTake(3, NOW);
+
+        assertEquals(0, bucket.tryTake(3, NOW + 60 * SECOND));
+        assertTrue(bucket.tryTake(1, NOW + 60 * SECOND) > 0);
+    }
+
+    @Test
+    public void testConcurrentTakesNeverExceedCapacity_Ok() throws InterruptedException {
+        int capacity = 1000;
+        TokenBucket bucket = new TokenBucket(1, capacity);
+        AtomicInteger taken = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < capacity; j++) {
+                    if (bucket.tryTake(1, NOW) == 0) {
+                        taken.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(capacity, taken.get());
+    }
+
+    @Test
+    public void testInvalidRate_NotOk() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.footballmanager.cache;
+
+import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.model.Team;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class TeamCacheTest {
+    private TeamCache teamCache;
+    private AtomicInteger loads;
+    private static final Long DEFAULT_TEAM_ID = 1L;
+    private static final BigDecimal DEFAULT_TEAM_BUDGET = BigDecimal.valueOf(1000000);
+    private static final BigDecimal UPDATED_TEAM_BUDGET = BigDecimal.valueOf(500000);
+
+    @Before
+    public void setUp() {
+        teamCache = new TeamCache(new ConcurrentMapCacheManager(TeamCache.CACHE_NAME));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testGetReturnsCopies_Ok() {
+        Team first = teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+        first.setBudget(BigDecimal.ZERO);
+        Team second = teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+
+        assertNotSame(first, second);
+        assertEquals(DEFAULT_TEAM_BUDGET, second.getBudget());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testEvict_Ok() {
+        teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+        teamCache.evict(DEFAULT_TEAM_ID);
+        teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testEvictDuringLoadIsNotCached_Ok() {
+        Team stale = teamCache.get(DEFAULT_TEAM_ID, () -> {
+            Team team = loadTeam();
+            teamCache.evict(DEFAULT_TEAM_ID);
+            return team;
+        });
+        Team fresh = teamCache.get(DEFAULT_TEAM_ID, () -> loadTeam(UPDATED_TEAM_BUDGET));
+
+        assertEquals(DEFAULT_TEAM_BUDGET, stale.getBudget());
+        assertEquals(UPDATED_TEAM_BUDGET, fresh.getBudget());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testEvictWhileStoringLoadIsNotCached_Ok() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new ConcurrentMapCache(name) {
+                    @Override
+                    public ValueWrapper putIfAbsent(Object key, Object value) {
+                        teamCache.evict(DEFAULT_TEAM_ID);
+                        return super.putIfAbsent(key, value);
+                    }
+                };
+            }
+        };
+        cacheManager.setCacheNames(List.of(TeamCache.CACHE_NAME));
+        teamCache = new TeamCache(cacheManager);
+
+        teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+
+        assertNull(cacheManager.getCache(TeamCache.CACHE_NAME).get(DEFAULT_TEAM_ID));
+    }
+
+    @Test
+    public void testEvictInTransactionWaitsForCommit_Ok() {
+        teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            teamCache.evict(DEFAULT_TEAM_ID);
+            teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+            assertEquals(1, loads.get());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysLoads_Ok() {
+        teamCache = new TeamCache(new NoOpCacheManager());
+
+        teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+        teamCache.get(DEFAULT_TEAM_ID, this::loadTeam);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testLoaderExceptionIsRethrown_NotOk() {
+        assertThrows(EntityNotFoundException.class, () -> teamCache.get(DEFAULT_TEAM_ID, () -> {
+            throw new EntityNotFoundException("No team present with id " + DEFAULT_TEAM_ID);
+        }));
+    }
+
+    private Team loadTeam() {
+        return loadTeam(DEFAULT_TEAM_BUDGET);
+    }
+
+    private Team loadTeam(BigDecimal budget) {
+        loads.incrementAndGet();
+        Team team = new Team();
+        team.setId(DEFAULT_TEAM_ID);
+        team.setBudget(budget);
+        return team;
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.footballmanager.controller;
 
 import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.exception.ConflictException;
+import com.example.footballmanager.exception.PreconditionFailedException;
+import com.example.footballmanager.exception.TooManyRequestsException;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -42,4 +48,81 @@ public class GlobalExceptionHandlerTest {
         assertNotNull(responseBody);
         assertEquals(DEFAULT_ERROR_MESSAGE, responseBody.get("error"));
     }
+
+    @Test
+    public void testHandlePreconditionFailedException() {
+        PreconditionFailedException ex = new PreconditionFailedException(DEFAULT_ERROR_MESSAGE);
+
+        ResponseEntity<Object> responseEntity = exceptionHandler.handlePreconditionFailedException(ex);
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, responseEntity.getStatusCode());
+
+        Map<String, Object> responseBody = (Map<String, Object>) responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertEquals(DEFAULT_ERROR_MESSAGE, responseBody.get("error"));
+    }
+
+    @Test
+    public void testHandleConflictException() {
+        ConflictException ex = new ConflictException(DEFAULT_ERROR_MESSAGE);
+
+        ResponseEntity<Object> responseEntity = exceptionHandler.handleConflictException(ex);
+
+        assertEquals(HttpStatus.CONFLICT, responseEntity.getStatusCode());
+
+        Map<String, Object> responseBody = (Map<String, Object>) responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertEquals(DEFAULT_ERROR_MESSAGE, responseBody.get("error"));
+    }
+
+    @Test
+    public void testHandleDataIntegrityViolationException() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException(DEFAULT_ERROR_MESSAGE);
+
+        ResponseEntity<Object> responseEntity = exceptionHandler.handleDataIntegrityViolationException(ex);
+
+        assertEquals(HttpStatus.CONFLICT, responseEntity.getStatusCode());
+
+        Map<String, Object> responseBody = (Map<String, Object>) responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertEquals(GlobalExceptionHandler.DATA_INTEGRITY_VIOLATION_MESSAGE, responseBody.get("error"));
+    }
+
+    @Test
+    public void testHandleConcurrencyFailureException() {
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException(DEFAULT_ERROR_MESSAGE);
+
+        ResponseEntity<Object> responseEntity = exceptionHandler.handleConcurrencyFailureException(ex);
+
+        assertEquals(HttpStatus.CONFLICT, responseEntity.getStatusCode());
+
+        Map<String, Object> responseBody = (Map<String, Object>) responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertEquals(GlobalExceptionHandler.CONCURRENCY_FAILURE_MESSAGE, responseBody.get("error"));
+    }
+
+    @Test
+    public void testHandleTooManyRequestsException() {
+        TooManyRequestsException ex = new TooManyRequestsException(DEFAULT_ERROR_MESSAGE);
+
+        ResponseEntity<Object> responseEntity = exceptionHandler.handleTooManyRequestsException(ex);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseEntity.getStatusCode());
+        assertEquals(GlobalExceptionHandler.RETRY_AFTER_SECONDS,
+                responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        Map<String, Object> responseBody = (Map<String, Object>) responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertEquals(DEFAULT_ERROR_MESSAGE, responseBody.get("error"));
+    }
+
+    @Test
+    public void testHandleTooManyRequestsExceptionWithRetryAfter() {
+        TooManyRequestsException ex = new TooManyRequestsException(DEFAULT_ERROR_MESSAGE, 5L);
+
+        ResponseEntity<Object> responseEntity = exceptionHandler.handleTooManyRequestsException(ex);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseEntity.getStatusCode());
+        assertEquals("5", responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
 }
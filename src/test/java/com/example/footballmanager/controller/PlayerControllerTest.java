@@ -1,21 +1,46 @@
 package com.example.footballmanager.controller;
 
+import com.example.footballmanager.admission.RateLimitFilter;
 import com.example.footballmanager.dto.mapper.DtoMapper;
+import com.example.footballmanager.dto.mapper.TransferJobDtoMapper;
 import com.example.footballmanager.dto.request.PlayerRequestDto;
+import com.example.footballmanager.dto.request.PlayerSearchRequestDto;
 import com.example.footballmanager.dto.request.TeamRequestDto;
+import com.example.footballmanager.dto.request.TransferInstructionRequestDto;
+import com.example.footballmanager.dto.request.TransferInstructionsRequestDto;
+import com.example.footballmanager.dto.request.TransferQuoteRequestDto;
+import com.example.footballmanager.dto.request.TransferQuotesRequestDto;
+import com.example.footballmanager.dto.response.PlayerImportResponseDto;
 import com.example.footballmanager.dto.response.PlayerResponseDto;
 import com.example.footballmanager.dto.response.TeamResponseDto;
+import com.example.footballmanager.dto.response.TransferInstructionResponseDto;
+import com.example.footballmanager.dto.response.TransferJobResponseDto;
+import com.example.footballmanager.dto.response.TransferQuoteResponseDto;
 import com.example.footballmanager.exception.BadRequestException;
 import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.exception.PreconditionFailedException;
+import com.example.footballmanager.exception.TooManyRequestsException;
 import com.example.footballmanager.model.Player;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TransferInstruction;
+import com.example.footballmanager.model.TransferJob;
+import com.example.footballmanager.model.TransferJobStatus;
+import com.example.footballmanager.model.TransferQuote;
+import com.example.footballmanager.model.TransferStatus;
+import com.example.footballmanager.service.IdempotencyService;
+import com.example.footballmanager.service.PlayerExportService;
+import com.example.footballmanager.service.PlayerImportService;
 import com.example.footballmanager.service.PlayerService;
 import com.example.footballmanager.service.TeamService;
+import com.example.footballmanager.service.TransferJobService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Supplier;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -23,19 +48,31 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(SpringRunner.class)
@@ -48,7 +85,22 @@ public class PlayerControllerTest {
     @MockBean
     private TeamService teamService;
     @MockBean
+    private PlayerImportService playerImportService;
+    @MockBean
+    private PlayerExportService playerExportService;
+    @MockBean
+    private TransferJobService transferJobService;
+    @MockBean
+    private IdempotencyService idempotencyService;
+    @MockBean
+    private TransferJobDtoMapper transferJobDtoMapper;
+    @MockBean
     private DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper;
+    @MockBean
+    private DtoMapper<TransferQuote, TransferQuoteRequestDto, TransferQuoteResponseDto> transferQuoteDtoMapper;
+    @MockBean
+    private DtoMapper<TransferInstruction, TransferInstructionRequestDto, TransferInstructionResponseDto>
+            transferInstructionDtoMapper;
     private final ObjectMapper objectMapper;
     private final Player player;
     private final PlayerRequestDto playerRequestDto;
@@ -81,6 +133,8 @@ public class PlayerControllerTest {
     @Before
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
         objectMapper.registerModule(new JavaTimeModule());
 
         player.setId(DEFAULT_PLAYER_ID);
@@ -116,8 +170,7 @@ public class PlayerControllerTest {
 
     @Test
     public void testGetPlayerById_Ok() throws Exception {
-        when(playerService.getById(DEFAULT_PLAYER_ID)).thenReturn(player);
-        when(playerDtoMapper.toResponseDto(player)).thenReturn(playerResponseDto);
+        when(playerService.getResponseDtoById(DEFAULT_PLAYER_ID)).thenReturn(playerResponseDto);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/players/{id}", DEFAULT_PLAYER_ID))
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -129,9 +182,34 @@ public class PlayerControllerTest {
                         .value(DEFAULT_PLAYER_CAREER_START_DATE.toString()));
     }
 
+    @Test
+    public void testGetPlayerByIdNotModified_Ok() throws Exception {
+        when(playerService.getVersionById(DEFAULT_PLAYER_ID)).thenReturn(3L);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/players/{id}", DEFAULT_PLAYER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(playerService, times(0)).getResponseDtoById(DEFAULT_PLAYER_ID);
+    }
+
+    @Test
+    public void testGetPlayerByIdModified_Ok() throws Exception {
+        playerResponseDto.setVersion(4L);
+        when(playerService.getVersionById(DEFAULT_PLAYER_ID)).thenReturn(4L);
+        when(playerService.getResponseDtoById(DEFAULT_PLAYER_ID)).thenReturn(playerResponseDto);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/players/{id}", DEFAULT_PLAYER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstname").value(DEFAULT_PLAYER_FIRST_NAME));
+    }
+
     @Test
     public void testGetPlayerByIdNotFound_NotOk() throws Exception {
-        when(playerService.getById(DEFAULT_PLAYER_ID)).thenReturn(null);
+        when(playerService.getResponseDtoById(DEFAULT_PLAYER_ID)).thenReturn(null);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/players/{id}", DEFAULT_PLAYER_ID))
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
@@ -141,33 +219,126 @@ public class PlayerControllerTest {
     public void testGetAllPlayersByTeamId_Ok() throws Exception {
         Long teamId = 1L;
 
-        Player firstPlayer = new Player();
-        firstPlayer.setId(1L);
-
-        Player secondPlayer = new Player();
-        secondPlayer.setId(2L);
-
-        List<Player> players = List.of(firstPlayer, secondPlayer);
-
         PlayerResponseDto firstPlayerResponseDto = new PlayerResponseDto();
-        firstPlayerResponseDto.setId(firstPlayer.getId());
+        firstPlayerResponseDto.setId(1L);
         PlayerResponseDto secondPlayerResponseDto = new PlayerResponseDto();
-        secondPlayerResponseDto.setId(secondPlayer.getId());
+        secondPlayerResponseDto.setId(2L);
 
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
-        Page<Player> page = new PageImpl<>(players, pageable, players.size());
+        List<PlayerResponseDto> players = List.of(firstPlayerResponseDto, secondPlayerResponseDto);
+
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<PlayerResponseDto> page = new PageImpl<>(players, pageable, players.size());
 
         when(playerService.getAllByTeamId(pageable, teamId)).thenReturn(page);
-        when(playerDtoMapper.toResponseDto(firstPlayer)).thenReturn(firstPlayerResponseDto);
-        when(playerDtoMapper.toResponseDto(secondPlayer)).thenReturn(secondPlayerResponseDto);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/players")
+                        .param("page", "0")
                         .param("teamId", String.valueOf(teamId)))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(2));
     }
 
+    @Test
+    public void testGetAllPlayersByTeamIdKeyset_Ok() throws Exception {
+        Long teamId = 1L;
+
+        PlayerResponseDto firstPlayerResponseDto = new PlayerResponseDto();
+        firstPlayerResponseDto.setId(5L);
+        PlayerResponseDto secondPlayerResponseDto = new PlayerResponseDto();
+        secondPlayerResponseDto.setId(7L);
+
+        Slice<PlayerResponseDto> slice = new SliceImpl<>(
+                List.of(firstPlayerResponseDto, secondPlayerResponseDto), PageRequest.of(0, 2), true);
+
+        when(playerService.getAllByTeamIdAfter(teamId, null, 2)).thenReturn(slice);
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/players")
+                        .param("teamId", String.valueOf(teamId))
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(7))
+                .andExpect(MockMvcResultMatchers.header().exists(KeysetCursor.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        String nextCursor = mvcResult.getResponse().getHeader(KeysetCursor.NEXT_CURSOR_HEADER);
+        when(playerService.getAllByTeamIdAfter(teamId, 7L, 2))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/players")
+                        .param("teamId", String.valueOf(teamId))
+                        .param("after", nextCursor)
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$").isEmpty())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(KeysetCursor.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    public void testSearchPlayers_Ok() throws Exception {
+        PlayerSearchRequestDto filters = new PlayerSearchRequestDto();
+        filters.setLastname("Last");
+        filters.setBornFrom(LocalDate.of(1990, 1, 1));
+        filters.setFreeAgent(true);
+        PlayerResponseDto firstPlayerResponseDto = new PlayerResponseDto();
+        firstPlayerResponseDto.setId(5L);
+        when(playerService.search(filters, null, 1)).thenReturn(
+                new SliceImpl<>(List.of(firstPlayerResponseDto), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/players/search")
+                        .param("lastname", "Last")
+                        .param("bornFrom", "1990-01-01")
+                        .param("freeAgent", "true")
+                        .param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(5))
+                .andExpect(MockMvcResultMatchers.header().string(
+                        KeysetCursor.NEXT_CURSOR_HEADER, KeysetCursor.encode(5L)));
+    }
+
+    @Test
+    public void testSearchPlayersInvalidDate_NotOk() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/players/search")
+                        .param("bornFrom", "01.01.1990"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verifyNoInteractions(playerService);
+    }
+
+    @Test
+    public void testGetAllPlayersByTeamIdInvalidCursor_NotOk() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/players")
+                        .param("teamId", "1")
+                        .param("after", "not-a-cursor"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testGetAllPlayersByTeamIdInvalidLimit_NotOk() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/players")
+                        .param("teamId", "1")
+                        .param("limit", "0"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testExportPlayers_Ok() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(playerExportService).exportAll(any());
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/players/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string("{\"id\":1}\n"));
+    }
+
     @Test
     public void testCreatePlayer_Ok() throws Exception {
         when(playerService.create(player)).thenReturn(player);
@@ -184,6 +355,44 @@ public class PlayerControllerTest {
                         .value(DEFAULT_PLAYER_BIRTH_DATE.toString()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.careerStartDate")
                         .value(DEFAULT_PLAYER_CAREER_START_DATE.toString()));
+        verifyNoInteractions(teamService);
+    }
+
+    @Test
+    public void testCreatePlayerWithMissingTeam_NotOk() throws Exception {
+        when(playerDtoMapper.toModel(playerRequestDto)).thenReturn(player);
+        when(playerService.create(player)).thenThrow(new DataIntegrityViolationException("fk_players_team_id"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(playerRequestDto)))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+        verifyNoInteractions(teamService);
+    }
+
+    @Test
+    public void testImportPlayers_Ok() throws Exception {
+        PlayerImportResponseDto importResponseDto = new PlayerImportResponseDto();
+        importResponseDto.setReceived(2);
+        importResponseDto.setImported(2);
+        importResponseDto.setErrors(List.of());
+        when(playerImportService.importPlayers(any())).thenReturn(importResponseDto);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(playerRequestDto) + "\n"
+                                + objectMapper.writeValueAsString(playerRequestDto)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.received").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.imported").value(2));
+    }
+
+    @Test
+    public void testImportPlayersUnsupportedMediaType_NotOk() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/bulk")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("players"))
+                .andExpect(MockMvcResultMatchers.status().isUnsupportedMediaType());
     }
 
     @Test
@@ -218,9 +427,7 @@ public class PlayerControllerTest {
 
     @Test
     public void testTransferPlayer_Ok() throws Exception {
-        when(playerService.getById(DEFAULT_PLAYER_ID)).thenReturn(player);
-        when(teamService.getById(DEFAULT_TEAM_ID)).thenReturn(team);
-        when(playerService.transferPlayerToTeam(player, team)).thenReturn(player);
+        when(playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID)).thenReturn(player);
         when(playerDtoMapper.toResponseDto(player)).thenReturn(playerResponseDto);
 
         mockMvc.perform(MockMvcRequestBuilders.post("/players/{playerId}/transfer?teamId={teamId}",
@@ -234,11 +441,24 @@ public class PlayerControllerTest {
                         .value(DEFAULT_PLAYER_CAREER_START_DATE.toString()));
     }
 
+    @Test
+    public void testTransferPlayerWithIdempotencyKey_Ok() throws Exception {
+        doReturn(ResponseEntity.ok().header(IdempotencyService.REPLAYED_HEADER, "true").body(playerResponseDto))
+                .when(idempotencyService).execute(eq("transfer-1"), eq("POST /players/{playerId}/transfer"),
+                        eq(List.of(DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID)), eq(PlayerResponseDto.class), any());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/{playerId}/transfer?teamId={teamId}",
+                        DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID)
+                        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "transfer-1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstname").value(DEFAULT_PLAYER_FIRST_NAME));
+        verifyNoInteractions(playerService);
+    }
+
     @Test
     public void testTransferPlayerNotFoundStatus_NotOk() throws Exception {
-        when(playerService.getById(DEFAULT_PLAYER_ID)).thenReturn(player);
-        when(teamService.getById(DEFAULT_TEAM_ID)).thenReturn(team);
-        when(playerService.transferPlayerToTeam(player, team))
+        when(playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID))
                 .thenThrow(new EntityNotFoundException("Player does not belong to any team"));
 
         mockMvc.perform(MockMvcRequestBuilders.post("/players/{playerId}/transfer?teamId={teamId}",
@@ -251,9 +471,7 @@ public class PlayerControllerTest {
     @Test
     public void testTransferPlayerBadRequestStatus_NotOk() throws Exception {
         player.setTeam(team);
-        when(playerService.getById(DEFAULT_PLAYER_ID)).thenReturn(player);
-        when(teamService.getById(DEFAULT_TEAM_ID)).thenReturn(team);
-        when(playerService.transferPlayerToTeam(player, team))
+        when(playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID))
                 .thenThrow(new BadRequestException("Can't transfer a player to a team he's already on"));
 
         mockMvc.perform(MockMvcRequestBuilders.post("/players/{playerId}/transfer?teamId={teamId}",
@@ -261,6 +479,154 @@ public class PlayerControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
+    @Test
+    public void testTransferPlayerConflictStatus_NotOk() throws Exception {
+        when(playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/{playerId}/transfer?teamId={teamId}",
+                        DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+    }
+
+    @Test
+    public void testTransferPlayerAsync_Ok() throws Exception {
+        TransferJob job = new TransferJob();
+        job.setId("job-id");
+        TransferJobResponseDto jobResponseDto = new TransferJobResponseDto();
+        jobResponseDto.setId("job-id");
+        jobResponseDto.setStatus(TransferJobStatus.QUEUED);
+        when(transferJobService.submit(DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID)).thenReturn(job);
+        when(transferJobDtoMapper.toResponseDto(job)).thenReturn(jobResponseDto);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/{playerId}/transfer", DEFAULT_PLAYER_ID)
+                        .param("teamId", DEFAULT_TEAM_ID.toString())
+                        .param("async", "true"))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, "/transfers/jobs/job-id"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value("job-id"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("QUEUED"));
+        verifyNoInteractions(playerService);
+    }
+
+    @Test
+    public void testTransferPlayerAsyncWithIdempotencyKey_Ok() throws Exception {
+        TransferJobResponseDto jobResponseDto = new TransferJobResponseDto();
+        jobResponseDto.setId("job-id");
+        jobResponseDto.setStatus(TransferJobStatus.QUEUED);
+        doReturn(ResponseEntity.accepted().header(IdempotencyService.REPLAYED_HEADER, "true").body(jobResponseDto))
+                .when(idempotencyService).execute(eq("transfer-1"),
+                        eq("POST /players/{playerId}/transfer?async=true"),
+                        eq(List.of(DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID)), eq(TransferJobResponseDto.class), any());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/{playerId}/transfer", DEFAULT_PLAYER_ID)
+                        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "transfer-1")
+                        .param("teamId", DEFAULT_TEAM_ID.toString())
+                        .param("async", "true"))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, "/transfers/jobs/job-id"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value("job-id"));
+        verifyNoInteractions(transferJobService);
+    }
+
+    @Test
+    public void testTransferPlayerAsyncQueueFull_NotOk() throws Exception {
+        when(transferJobService.submit(DEFAULT_PLAYER_ID, DEFAULT_TEAM_ID))
+                .thenThrow(new TooManyRequestsException("Too many transfers are queued, please retry later"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/{playerId}/transfer", DEFAULT_PLAYER_ID)
+                        .param("teamId", DEFAULT_TEAM_ID.toString())
+                        .param("async", "true"))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void testTransferPlayers_Ok() throws Exception {
+        TransferInstructionRequestDto instructionRequestDto = new TransferInstructionRequestDto();
+        instructionRequestDto.setPlayerId(DEFAULT_PLAYER_ID);
+        instructionRequestDto.setBuyingTeamId(DEFAULT_TEAM_ID);
+        TransferInstructionsRequestDto instructionsRequestDto = new TransferInstructionsRequestDto();
+        instructionsRequestDto.setTransfers(List.of(instructionRequestDto));
+        TransferInstruction instruction = new TransferInstruction();
+        TransferInstructionResponseDto instructionResponseDto = new TransferInstructionResponseDto();
+        instructionResponseDto.setPlayerId(DEFAULT_PLAYER_ID);
+        instructionResponseDto.setFee(new BigDecimal("44000.00"));
+        instructionResponseDto.setStatus(TransferStatus.ACCEPTED);
+        when(transferInstructionDtoMapper.toModels(List.of(instructionRequestDto))).thenReturn(List.of(instruction));
+        when(playerService.transferAll(List.of(instruction))).thenReturn(List.of(instruction));
+        when(transferInstructionDtoMapper.toResponseDto(instruction)).thenReturn(instructionResponseDto);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(instructionsRequestDto)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].playerId").value(DEFAULT_PLAYER_ID))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].fee").value(44000.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("ACCEPTED"));
+    }
+
+    @Test
+    public void testTransferPlayersOverRateLimit_NotOk() throws Exception {
+        RateLimitFilter.TransferCharge transferCharge = transfers -> {
+            assertEquals(2, transfers);
+            throw new TooManyRequestsException("Rate limit exceeded, please retry later", 3L);
+        };
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/transfers")
+                        .requestAttr(RateLimitFilter.TRANSFER_CHARGE_ATTRIBUTE, transferCharge)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transfers\":[{\"playerId\":1,\"buyingTeamId\":2},"
+                                + "{\"playerId\":3,\"buyingTeamId\":2}]}"))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "3"));
+        verifyNoInteractions(playerService);
+    }
+
+    @Test
+    public void testTransferPlayersMissingTeam_NotOk() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transfers\":[{\"playerId\":1}]}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyNoInteractions(playerService);
+    }
+
+    @Test
+    public void testQuoteTransfers_Ok() throws Exception {
+        TransferQuoteRequestDto quoteRequestDto = new TransferQuoteRequestDto();
+        quoteRequestDto.setPlayerId(DEFAULT_PLAYER_ID);
+        quoteRequestDto.setBuyingTeamId(DEFAULT_TEAM_ID);
+        TransferQuotesRequestDto quotesRequestDto = new TransferQuotesRequestDto();
+        quotesRequestDto.setQuotes(List.of(quoteRequestDto));
+        TransferQuote quote = new TransferQuote();
+        TransferQuoteResponseDto quoteResponseDto = new TransferQuoteResponseDto();
+        quoteResponseDto.setPlayerId(DEFAULT_PLAYER_ID);
+        quoteResponseDto.setFee(new BigDecimal("44000.00"));
+        quoteResponseDto.setAffordable(true);
+        when(transferQuoteDtoMapper.toModels(List.of(quoteRequestDto))).thenReturn(List.of(quote));
+        when(playerService.quoteTransfers(List.of(quote))).thenReturn(List.of(quote));
+        when(transferQuoteDtoMapper.toResponseDto(quote)).thenReturn(quoteResponseDto);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/transfer-quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(quotesRequestDto)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].playerId").value(DEFAULT_PLAYER_ID))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].fee").value(44000.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].affordable").value(true));
+    }
+
+    @Test
+    public void testQuoteTransfersEmpty_NotOk() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/players/transfer-quotes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quotes\":[]}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyNoInteractions(playerService);
+    }
+
     @Test
     public void testUpdatePlayerById_Ok() throws Exception {
         when(playerDtoMapper.toModel(playerRequestDto)).thenReturn(player);
@@ -279,6 +645,36 @@ public class PlayerControllerTest {
                         .value(DEFAULT_PLAYER_CAREER_START_DATE.toString()));
     }
 
+    @Test
+    public void testUpdatePlayerByIdStaleVersion_NotOk() throws Exception {
+        when(playerDtoMapper.toModel(playerRequestDto)).thenReturn(player);
+        when(playerService.updateById(DEFAULT_PLAYER_ID, player))
+                .thenThrow(new PreconditionFailedException("Player with id " + DEFAULT_PLAYER_ID
+                        + " has been modified"));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/players/{id}", DEFAULT_PLAYER_ID)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(playerRequestDto)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        verify(playerService).updateById(DEFAULT_PLAYER_ID, player);
+        assertEquals(Long.valueOf(2L), player.getVersion());
+    }
+
+    @Test
+    public void testUpdatePlayerByIdMalformedIfMatch_NotOk() throws Exception {
+        when(playerDtoMapper.toModel(playerRequestDto)).thenReturn(player);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/players/{id}", DEFAULT_PLAYER_ID)
+                        .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(playerRequestDto)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        verifyNoInteractions(playerService);
+    }
+
     @Test
     public void testUpdatePlayerByIdNotFound_NotOk() throws Exception {
         when(playerDtoMapper.toModel(playerRequestDto)).thenReturn(player);
@@ -4,11 +4,18 @@ import com.example.footballmanager.dto.mapper.DtoMapper;
 import com.example.footballmanager.dto.request.TeamRequestDto;
 import com.example.footballmanager.dto.response.TeamResponseDto;
 import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.exception.PreconditionFailedException;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.service.IdempotencyService;
+import com.example.footballmanager.service.PlayerExportService;
+import com.example.footballmanager.service.TeamRosterService;
 import com.example.footballmanager.service.TeamService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Supplier;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -20,12 +27,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -39,6 +51,12 @@ public class TeamControllerTest {
     @MockBean
     private TeamService teamService;
     @MockBean
+    private PlayerExportService playerExportService;
+    @MockBean
+    private TeamRosterService teamRosterService;
+    @MockBean
+    private IdempotencyService idempotencyService;
+    @MockBean
     private DtoMapper<Team, TeamRequestDto, TeamResponseDto> teamDtoMapper;
     private final Team team;
     private final TeamRequestDto teamRequestDto;
@@ -57,6 +75,8 @@ public class TeamControllerTest {
     @Before
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
 
         team.setId(DEFAULT_TEAM_ID);
         team.setName(DEFAULT_TEAM_NAME);
@@ -88,6 +108,19 @@ public class TeamControllerTest {
                         .value(DEFAULT_TEAM_TRANSFER_COMMISSION));
     }
 
+    @Test
+    public void testGetByIdNotModified_Ok() throws Exception {
+        team.setVersion(3L);
+        when(teamService.getById(DEFAULT_TEAM_ID)).thenReturn(team);
+        when(teamDtoMapper.toResponseDto(team)).thenReturn(teamResponseDto);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/" + DEFAULT_TEAM_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
     @Test
     public void testGetByIdNotFound_NotOk() throws Exception {
         when(teamService.getById(DEFAULT_TEAM_ID))
@@ -100,25 +133,17 @@ public class TeamControllerTest {
 
     @Test
     public void testGetAll_Ok() throws Exception {
-        Team firstTeam = new Team();
-        firstTeam.setId(1L);
-
-        Team secondTeam = new Team();
-        secondTeam.setId(2L);
-
-        List<Team> teams = List.of(firstTeam, secondTeam);
-
         TeamResponseDto firstTeamResponseDto = new TeamResponseDto();
-        firstTeamResponseDto.setId(firstTeam.getId());
+        firstTeamResponseDto.setId(1L);
         TeamResponseDto secondTeamResponseDto = new TeamResponseDto();
-        secondTeamResponseDto.setId(secondTeam.getId());
+        secondTeamResponseDto.setId(2L);
 
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
-        Page<Team> page = new PageImpl<>(teams, pageable, teams.size());
+        List<TeamResponseDto> teams = List.of(firstTeamResponseDto, secondTeamResponseDto);
+
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<TeamResponseDto> page = new PageImpl<>(teams, pageable, teams.size());
 
         when(teamService.getAll(pageable)).thenReturn(page);
-        when(teamDtoMapper.toResponseDto(firstTeam)).thenReturn(firstTeamResponseDto);
-        when(teamDtoMapper.toResponseDto(secondTeam)).thenReturn(secondTeamResponseDto);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/teams")
                         .param("page", "0")
@@ -129,6 +154,97 @@ public class TeamControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(2));
     }
 
+    @Test
+    public void testExportTeamPlayers_Ok() throws Exception {
+        when(teamService.getById(DEFAULT_TEAM_ID)).thenReturn(team);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(playerExportService).exportAllByTeamId(eq(DEFAULT_TEAM_ID), any());
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}/players/export", DEFAULT_TEAM_ID))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    public void testExportTeamPlayersNotFound_NotOk() throws Exception {
+        when(teamService.getById(DEFAULT_TEAM_ID))
+                .thenThrow(new EntityNotFoundException("No team present with id " + DEFAULT_TEAM_ID));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}/players/export", DEFAULT_TEAM_ID))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void testGetTeamRoster_Ok() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("{\"players\":[]}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(teamRosterService).writeRoster(eq(DEFAULT_TEAM_ID), eq(5), any());
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}/roster", DEFAULT_TEAM_ID)
+                        .param("maxSize", "5"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.content().string("{\"players\":[]}"));
+    }
+
+    @Test
+    public void testGetTeamRosterNotFound_NotOk() throws Exception {
+        doThrow(new EntityNotFoundException("No team present with id " + DEFAULT_TEAM_ID))
+                .when(teamRosterService).writeRoster(eq(DEFAULT_TEAM_ID), eq(null), any());
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}/roster", DEFAULT_TEAM_ID))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void testGetTeamRosterNegativeMaxSize_NotOk() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams/{id}/roster", DEFAULT_TEAM_ID)
+                        .param("maxSize", "-1"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testGetAllKeyset_Ok() throws Exception {
+        TeamResponseDto firstTeamResponseDto = new TeamResponseDto();
+        firstTeamResponseDto.setId(3L);
+
+        when(teamService.getAllAfter(null, 1))
+                .thenReturn(new SliceImpl<>(List.of(firstTeamResponseDto), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams")
+                        .param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(3))
+                .andExpect(MockMvcResultMatchers.header()
+                        .string(KeysetCursor.NEXT_CURSOR_HEADER, KeysetCursor.encode(3L)));
+    }
+
+    @Test
+    public void testGetAllKeysetLastPage_Ok() throws Exception {
+        when(teamService.getAllAfter(3L, 10))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/teams")
+                        .param("after", KeysetCursor.encode(3L)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(KeysetCursor.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     public void testCreate_Ok() throws Exception {
         when(teamDtoMapper.toModel(teamRequestDto)).thenReturn(team);
@@ -146,6 +262,19 @@ public class TeamControllerTest {
                         .value(DEFAULT_TEAM_TRANSFER_COMMISSION));
     }
 
+    @Test
+    public void testUpdateTeamByIdStaleVersion_NotOk() throws Exception {
+        when(teamDtoMapper.toModel(teamRequestDto)).thenReturn(team);
+        when(teamService.updateById(DEFAULT_TEAM_ID, team))
+                .thenThrow(new PreconditionFailedException("Team with id " + DEFAULT_TEAM_ID + " has been modified"));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/teams/" + DEFAULT_TEAM_ID)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(teamRequestDto)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
     @Test
     public void testUpdateTeamById_Ok() throws Exception {
         String updatedName = "Updated Test Team Name";
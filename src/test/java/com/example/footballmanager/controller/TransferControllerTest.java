@@ -0,0 +1,112 @@
+package com.example.footballmanager.controller;
+
+import com.example.footballmanager.dto.mapper.TransferJobDtoMapper;
+import com.example.footballmanager.dto.response.TeamBudgetResponseDto;
+import com.example.footballmanager.dto.response.TransferJobResponseDto;
+import com.example.footballmanager.dto.response.TransferResponseDto;
+import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.model.TransferJob;
+import com.example.footballmanager.model.TransferJobStatus;
+import com.example.footballmanager.service.TransferJobService;
+import com.example.footballmanager.service.TransferLedgerService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(TransferController.class)
+public class TransferControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private TransferJobService transferJobService;
+    @MockBean
+    private TransferJobDtoMapper transferJobDtoMapper;
+    @MockBean
+    private TransferLedgerService transferLedgerService;
+    private static final String DEFAULT_JOB_ID = "job-id";
+    private static final Long DEFAULT_PLAYER_ID = 1L;
+    private static final Long DEFAULT_TEAM_ID = 11L;
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    public void testGetTransferJobById_Ok() throws Exception {
+        TransferJob job = new TransferJob();
+        TransferJobResponseDto jobResponseDto = new TransferJobResponseDto();
+        jobResponseDto.setId(DEFAULT_JOB_ID);
+        jobResponseDto.setPlayerId(DEFAULT_PLAYER_ID);
+        jobResponseDto.setStatus(TransferJobStatus.SUCCEEDED);
+        when(transferJobService.getById(DEFAULT_JOB_ID)).thenReturn(job);
+        when(transferJobDtoMapper.toResponseDto(job)).thenReturn(jobResponseDto);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/transfers/jobs/{id}", DEFAULT_JOB_ID))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.playerId").value(DEFAULT_PLAYER_ID))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("SUCCEEDED"));
+    }
+
+    @Test
+    public void testGetTransferJobByIdNotFound_NotOk() throws Exception {
+        when(transferJobService.getById(DEFAULT_JOB_ID))
+                .thenThrow(new EntityNotFoundException("No transfer job present with id " + DEFAULT_JOB_ID));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/transfers/jobs/{id}", DEFAULT_JOB_ID))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void testSearchTransfers_Ok() throws Exception {
+        TransferResponseDto transfer = new TransferResponseDto(5L, DEFAULT_PLAYER_ID, 12L, DEFAULT_TEAM_ID,
+                new BigDecimal("44000.00"), new BigDecimal("4000.00"), AS_OF);
+        when(transferLedgerService.search(argThat(filters -> DEFAULT_TEAM_ID.equals(filters.getTeamId())
+                && AS_OF.equals(filters.getFrom())), eq(null), eq(1)))
+                .thenReturn(new SliceImpl<>(List.of(transfer), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/transfers")
+                        .param("teamId", String.valueOf(DEFAULT_TEAM_ID))
+                        .param("from", AS_OF.toString())
+                        .param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(KeysetCursor.NEXT_CURSOR_HEADER,
+                        KeysetCursor.encode(5L)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].commission").value(4000.00))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].sellingTeamId").value(12));
+    }
+
+    @Test
+    public void testSearchTransfersInvalidTeamId_NotOk() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/transfers").param("teamId", "0"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testReplayBudgets_Ok() throws Exception {
+        when(transferLedgerService.replayBudgets(AS_OF))
+                .thenReturn(List.of(new TeamBudgetResponseDto(DEFAULT_TEAM_ID, new BigDecimal("1000.00"))));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/transfers/budgets").param("asOf", AS_OF.toString()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].teamId").value(DEFAULT_TEAM_ID))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].budget").value(1000.00));
+    }
+
+    @Test
+    public void testReplayBudgetsWithoutAsOf_NotOk() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/transfers/budgets"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.footballmanager.dto.mapper;
+
+import com.example.footballmanager.dto.mapper.impl.PlayerDtoMapperImpl;
+import com.example.footballmanager.dto.request.PlayerRequestDto;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.TeamRepository;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class TeamReferenceMapperTest {
+    @Mock
+    private TeamRepository teamRepository;
+    private TeamReferenceMapper teamReferenceMapper;
+    private PlayerDtoMapper playerDtoMapper;
+    private static final Long DEFAULT_TEAM_ID = 1L;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        teamReferenceMapper = new TeamReferenceMapper(teamRepository);
+        playerDtoMapper = new PlayerDtoMapperImpl(teamReferenceMapper);
+    }
+
+    @Test
+    public void testToModelUsesTeamReference_Ok() {
+        Team reference = new Team();
+        when(teamRepository.getReferenceById(DEFAULT_TEAM_ID)).thenReturn(reference);
+        PlayerRequestDto requestDto = new PlayerRequestDto();
+        requestDto.setTeamId(DEFAULT_TEAM_ID);
+
+        Player player = playerDtoMapper.toModel(requestDto);
+
+        assertSame(reference, player.getTeam());
+        verify(teamRepository, times(1)).getReferenceById(DEFAULT_TEAM_ID);
+        verifyNoMoreInteractions(teamRepository);
+    }
+
+    @Test
+    public void testToModelWithoutTeam_Ok() {
+        Player player = playerDtoMapper.toModel(new PlayerRequestDto());
+
+        assertNull(player.getTeam());
+        verifyNoInteractions(teamRepository);
+    }
+
+    @Test
+    public void testFindMissingTeamIds_Ok() {
+        when(teamRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+
+        Set<Long> missingTeamIds = teamReferenceMapper.findMissingTeamIds(List.of(1L, 2L, 3L, 3L));
+
+        assertEquals(Set.of(3L), missingTeamIds);
+        verify(teamRepository, times(1)).findExistingIds(anyCollection());
+    }
+
+    @Test
+    public void testFindMissingTeamIdsEmpty_Ok() {
+        assertEquals(Set.of(), teamReferenceMapper.findMissingTeamIds(List.of()));
+        verifyNoInteractions(teamRepository);
+    }
+}
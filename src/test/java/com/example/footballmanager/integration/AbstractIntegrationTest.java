@@ -0,0 +1,103 @@
+package com.example.footballmanager.integration;
+
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * Runs the whole application, real repositories included, against an
+ * in-memory database. Requests sent through {@link #perform} are counted
+ * against the test's {@link QueryBudget}.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"h2", "test"})
+public abstract class AbstractIntegrationTest {
+    protected static final BigDecimal DEFAULT_TEAM_BUDGET = new BigDecimal("5000000.00");
+    @Autowired
+    protected MockMvc mockMvc;
+    @Autowired
+    protected PlayerRepository playerRepository;
+    @Autowired
+    protected TeamRepository teamRepository;
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+    @Rule
+    public final QueryCountRule queryCount = new QueryCountRule(() -> entityManagerFactory);
+    protected final List<Long> playerIds = new ArrayList<>();
+    protected final List<Long> teamIds = new ArrayList<>();
+
+    @After
+    public void deleteTestData() {
+        playerRepository.deleteAllByIdInBatch(playerIds);
+        teamRepository.deleteAllByIdInBatch(teamIds);
+    }
+
+    /**
+     * Performs the request, and its async dispatch for streamed responses,
+     * inside the counted window.
+     */
+    protected ResultActions perform(RequestBuilder request) throws Exception {
+        queryCount.start();
+        try {
+            ResultActions resultActions = mockMvc.perform(request);
+            MvcResult result = resultActions.andReturn();
+            if (result.getRequest().isAsyncStarted()) {
+                result.getAsyncResult();
+                resultActions = mockMvc.perform(asyncDispatch(result));
+            }
+            return resultActions;
+        } finally {
+            queryCount.stop();
+        }
+    }
+
+    protected Team createTeam(String name) {
+        Team team = new Team();
+        team.setName(name);
+        team.setPlayerTransferCommission(BigDecimal.TEN);
+        team.setBudget(DEFAULT_TEAM_BUDGET);
+        team = teamRepository.save(team);
+        teamIds.add(team.getId());
+        return team;
+    }
+
+    protected Player createPlayer(String lastname, Team team) {
+        Player player = new Player();
+        player.setFirstname("FirstName");
+        player.setLastname(lastname);
+        player.setBirthDate(LocalDate.now().minusYears(25));
+        player.setCareerStartDate(LocalDate.now().minusYears(5));
+        player.setTeam(team);
+        player = playerRepository.save(player);
+        playerIds.add(player.getId());
+        return player;
+    }
+
+    protected String playerJson(Long teamId) {
+        return "{\"firstname\":\"FirstName\",\"lastname\":\"LastName\","
+                + "\"birthDate\":\"" + LocalDate.now().minusYears(25) + "\","
+                + "\"careerStartDate\":\"" + LocalDate.now().minusYears(5) + "\""
+                + (teamId == null ? "" : ",\"teamId\":" + teamId) + "}";
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.footballmanager.integration;
+
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.service.IdempotencyService;
+import com.jayway.jsonpath.JsonPath;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class PlayerIntegrationTest extends AbstractIntegrationTest {
+    private static final int PLAYERS_PER_TEAM = 20;
+    private static final long JOB_TIMEOUT_MILLIS = 10000;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private Team sellingTeam;
+    private Team buyingTeam;
+    private Player player;
+
+    @Before
+    public void setUp() {
+        sellingTeam = createTeam("Selling Team");
+        buyingTeam = createTeam("Buying Team");
+        for (int i = 0; i < PLAYERS_PER_TEAM; i++) {
+            Player teamPlayer = createPlayer("LastName" + i, sellingTeam);
+            if (player == null) {
+                player = teamPlayer;
+            }
+        }
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetPlayerById_Ok() throws Exception {
+        perform(get("/players/{id}", player.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamId").value(sellingTeam.getId()));
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetUnassignedPlayerById_Ok() throws Exception {
+        Player unassignedPlayer = createPlayer("Unassigned", null);
+
+        perform(get("/players/{id}", unassignedPlayer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + unassignedPlayer.getVersion() + "\""))
+                .andExpect(jsonPath("$.lastname").value("Unassigned"))
+                .andExpect(jsonPath("$.teamId").doesNotExist())
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetPlayerByIdNotModified_Ok() throws Exception {
+        perform(get("/players/{id}", player.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + player.getVersion() + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testSearchPlayers_Ok() throws Exception {
+        perform(get("/players/search")
+                .param("teamId", sellingTeam.getId().toString())
+                .param("lastname", "LastName1")
+                .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(11))
+                .andExpect(jsonPath("$[0].lastname").value("LastName1"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testSearchPlayersEscapesWildcards_Ok() throws Exception {
+        perform(get("/players/search")
+                .param("teamId", sellingTeam.getId().toString())
+                .param("lastname", "Last%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetPlayersByTeamKeyset_Ok() throws Exception {
+        perform(get("/players").param("teamId", sellingTeam.getId().toString()).param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PLAYERS_PER_TEAM));
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testGetPlayersByTeamPage_Ok() throws Exception {
+        perform(get("/players").param("teamId", sellingTeam.getId().toString()).param("page", "0")
+                .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PLAYERS_PER_TEAM));
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testExportPlayers_Ok() throws Exception {
+        perform(get("/players/export")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testCreatePlayer_Ok() throws Exception {
+        String response = perform(post("/players")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(playerJson(sellingTeam.getId())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        playerIds.add(((Number) JsonPath.read(response, "$.id")).longValue());
+    }
+
+    @Test
+    @QueryBudget(statements = 3)
+    public void testImportPlayers_Ok() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < PLAYERS_PER_TEAM; i++) {
+            ndjson.append(playerJson(buyingTeam.getId())).append('\n');
+        }
+        perform(post("/players/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(PLAYERS_PER_TEAM));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> playerIds.addAll(
+                playerRepository.findResponseDtosByTeamId(buyingTeam.getId(), Pageable.unpaged())
+                        .map(PlayerResponseDto::getId).toList()));
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testUpdatePlayerById_Ok() throws Exception {
+        perform(put("/players/{id}", player.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(playerJson(buyingTeam.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamId").value(buyingTeam.getId()));
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testUpdatePlayerByIdIfMatch_Ok() throws Exception {
+        perform(put("/players/{id}", player.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + player.getVersion() + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(playerJson(sellingTeam.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (player.getVersion() + 1) + "\""));
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testUpdatePlayerByIdStaleIfMatch_NotOk() throws Exception {
+        perform(put("/players/{id}", player.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + (player.getVersion() - 1) + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(playerJson(sellingTeam.getId())))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testDeletePlayerById_Ok() throws Exception {
+        perform(delete("/players/{id}", player.getId())).andExpect(status().isNoContent());
+    }
+
+    @Test
+    @QueryBudget(statements = 3)
+    public void testAddUnassignedPlayerToTeam_Ok() throws Exception {
+        Player unassignedPlayer = createPlayer("Unassigned", null);
+
+        perform(post("/players/{id}/add-to-team", unassignedPlayer.getId())
+                .param("teamId", buyingTeam.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamId").value(buyingTeam.getId()));
+    }
+
+    @Test
+    // The ledger insert, plus a read of its sequence once every 50 transfers
+    @QueryBudget(statements = 6)
+    public void testTransferPlayer_Ok() throws Exception {
+        perform(post("/players/{id}/transfer", player.getId())
+                .param("teamId", buyingTeam.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamId").value(buyingTeam.getId()));
+    }
+
+    @Test
+    // The transfer, plus claiming the key, storing the response and now and then purging expired keys;
+    // the retry is answered from memory
+    @QueryBudget(statements = 10)
+    public void testTransferPlayerWithIdempotencyKey_Ok() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        perform(post("/players/{id}/transfer", player.getId())
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .param("teamId", buyingTeam.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER));
+        perform(post("/players/{id}/transfer", player.getId())
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .param("teamId", buyingTeam.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.teamId").value(buyingTeam.getId()));
+    }
+
+    @Test
+    @QueryBudget(statements = 7)
+    public void testTransferPlayerAsync_Ok() throws Exception {
+        String response = perform(post("/players/{id}/transfer", player.getId())
+                .param("teamId", buyingTeam.getId().toString())
+                .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = JsonPath.read(response, "$.id");
+
+        long deadline = System.currentTimeMillis() + JOB_TIMEOUT_MILLIS;
+        String jobStatus;
+        do {
+            Thread.sleep(10);
+            jobStatus = JsonPath.read(perform(get("/transfers/jobs/{id}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), "$.status");
+        } while (!"SUCCEEDED".equals(jobStatus) && !"FAILED".equals(jobStatus)
+                && System.currentTimeMillis() < deadline);
+        assertEquals("SUCCEEDED", jobStatus);
+    }
+
+    @Test
+    // The queued transfer, plus claiming the key, storing the job and now and then purging expired keys;
+    // the retry is answered from memory
+    @QueryBudget(statements = 11)
+    public void testTransferPlayerAsyncWithIdempotencyKey_Ok() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        String response = perform(post("/players/{id}/transfer", player.getId())
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .param("teamId", buyingTeam.getId().toString())
+                .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = JsonPath.read(response, "$.id");
+        perform(post("/players/{id}/transfer", player.getId())
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .param("teamId", buyingTeam.getId().toString())
+                .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(header().string(HttpHeaders.LOCATION, "/transfers/jobs/" + jobId))
+                .andExpect(jsonPath("$.id").value(jobId));
+
+        long deadline = System.currentTimeMillis() + JOB_TIMEOUT_MILLIS;
+        String jobStatus;
+        do {
+            Thread.sleep(10);
+            jobStatus = JsonPath.read(mockMvc.perform(get("/transfers/jobs/{id}", jobId))
+                    .andReturn().getResponse().getContentAsString(), "$.status");
+        } while (!"SUCCEEDED".equals(jobStatus) && !"FAILED".equals(jobStatus)
+                && System.currentTimeMillis() < deadline);
+        assertEquals("SUCCEEDED", jobStatus);
+    }
+
+    @Test
+    @QueryBudget(statements = 7)
+    public void testTransferPlayers_Ok() throws Exception {
+        StringBuilder transfers = new StringBuilder("{\"transfers\":[");
+        List<Long> ids = playerIds.subList(0, PLAYERS_PER_TEAM);
+        for (int i = 0; i < ids.size(); i++) {
+            transfers.append(i == 0 ? "" : ",")
+                    .append("{\"playerId\":").append(ids.get(i))
+                    .append(",\"buyingTeamId\":").append(buyingTeam.getId()).append('}');
+        }
+        // Every fee is 264000.00, so the buying team's budget covers the first 18 only
+        perform(post("/players/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(transfers.append("]}").toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PLAYERS_PER_TEAM))
+                .andExpect(jsonPath("$[0].status").value("ACCEPTED"))
+                .andExpect(jsonPath("$[0].sellingTeamId").value(sellingTeam.getId()))
+                .andExpect(jsonPath("$[17].status").value("ACCEPTED"))
+                .andExpect(jsonPath("$[18].status").value("INSUFFICIENT_FUNDS"))
+                .andExpect(jsonPath("$[19].status").value("INSUFFICIENT_FUNDS"));
+        perform(get("/teams/{id}", buyingTeam.getId()))
+                .andExpect(jsonPath("$.budget").value(248000.00));
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testQuoteTransfers_Ok() throws Exception {
+        StringBuilder quotes = new StringBuilder("{\"quotes\":[");
+        List<Long> ids = playerIds.subList(0, PLAYERS_PER_TEAM);
+        for (int i = 0; i < ids.size(); i++) {
+            quotes.append(i == 0 ? "" : ",")
+                    .append("{\"playerId\":").append(ids.get(i))
+                    .append(",\"buyingTeamId\":").append(buyingTeam.getId()).append('}');
+        }
+        perform(post("/players/transfer-quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(quotes.append("]}").toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PLAYERS_PER_TEAM));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.footballmanager.integration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most JDBC statements and lazy loads a test may trigger while it calls the
+ * application, checked by {@link QueryCountRule}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+    int statements();
+
+    /** Proxies and collections initialized on access, the usual sign of an N+1 query. */
+    int lazyLoads() default 0;
+}
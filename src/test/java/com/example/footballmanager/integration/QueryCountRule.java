@@ -0,0 +1,69 @@
+package com.example.footballmanager.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Fails a test that issues more statements or lazy loads than its
+ * {@link QueryBudget} allows, using Hibernate statistics. Counting runs from
+ * the first {@link #start()} to the last {@link #stop()}, so test data set
+ * up and cleaned around the calls under test is not counted.
+ */
+public class QueryCountRule implements TestRule {
+    private final Supplier<EntityManagerFactory> entityManagerFactory;
+    private boolean started;
+    private long statements;
+    private long lazyLoads;
+
+    public QueryCountRule(Supplier<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void start() {
+        if (!started) {
+            started = true;
+            statistics().clear();
+        }
+    }
+
+    public void stop() {
+        Statistics statistics = statistics();
+        statements = statistics.getPrepareStatementCount();
+        lazyLoads = statistics.getEntityFetchCount() + statistics.getCollectionFetchCount();
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        QueryBudget budget = description.getAnnotation(QueryBudget.class);
+        if (budget == null) {
+            return base;
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                started = false;
+                base.evaluate();
+                if (!started) {
+                    fail(description.getMethodName() + " declares a query budget but never started counting");
+                }
+                assertTrue(String.format("%s issued %d statements, the budget is %d",
+                                description.getMethodName(), statements, budget.statements()),
+                        statements <= budget.statements());
+                assertTrue(String.format("%s lazily loaded %d entities or collections, the budget is %d",
+                                description.getMethodName(), lazyLoads, budget.lazyLoads()),
+                        lazyLoads <= budget.lazyLoads());
+            }
+        };
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.get().unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.footballmanager.integration;
+
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class QueryCountRuleTest extends AbstractIntegrationTest {
+    private static final int TEAMS = 3;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = createTeam("Team " + i);
+            createPlayer("LastName" + i, team);
+        }
+    }
+
+    @Test
+    public void testTeamProxyInitializedPerRow_NotOk() throws Exception {
+        QueryCountRule rule = new QueryCountRule(() -> entityManagerFactory);
+        Statement statement = rule.apply(new Statement() {
+            @Override
+            public void evaluate() {
+                rule.start();
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    for (Player player : playerRepository.findAllById(playerIds)) {
+                        player.getTeam().getName();
+                    }
+                });
+                rule.stop();
+            }
+        }, description("lazyTeamAccess"));
+
+        AssertionError error = assertThrows(AssertionError.class, statement::evaluate);
+
+        assertTrue(error.getMessage(), error.getMessage().contains("lazily loaded " + TEAMS));
+    }
+
+    @Test
+    public void testStatementsOverBudget_NotOk() throws Exception {
+        QueryCountRule rule = new QueryCountRule(() -> entityManagerFactory);
+        Statement statement = rule.apply(new Statement() {
+            @Override
+            public void evaluate() {
+                rule.start();
+                playerIds.forEach(playerRepository::findById);
+                rule.stop();
+            }
+        }, description("perPlayerLookup"));
+
+        AssertionError error = assertThrows(AssertionError.class, statement::evaluate);
+
+        assertTrue(error.getMessage(), error.getMessage().contains("issued " + TEAMS + " statements"));
+    }
+
+    @QueryBudget(statements = TEAMS + 1)
+    private void lazyTeamAccess() {
+    }
+
+    @QueryBudget(statements = TEAMS - 1)
+    private void perPlayerLookup() {
+    }
+
+    private Description description(String methodName) throws NoSuchMethodException {
+        return Description.createTestDescription(getClass(), methodName,
+                getClass().getDeclaredMethod(methodName).getAnnotations());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.footballmanager.integration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+/**
+ * Records the selects, updates and deletes the application runs while
+ * recording, with their parameters, and explains them afterwards with the same
+ * parameters bound. Works on the proxy the metrics configuration wraps the
+ * data source in.
+ */
+public class QueryPlanRecorder implements QueryExecutionListener, AutoCloseable {
+    private static final List<String> EXPLAINED_STATEMENTS = List.of("select", "update", "delete");
+    private final DataSource dataSource;
+    private final List<RecordedQuery> queries = new ArrayList<>();
+    private volatile boolean recording;
+
+    public QueryPlanRecorder(DataSource dataSource) {
+        this.dataSource = dataSource;
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(this);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        if (!recording) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            String statement = queryInfo.getQuery().trim().toLowerCase(Locale.ROOT);
+            if (EXPLAINED_STATEMENTS.stream().anyMatch(statement::startsWith)) {
+                List<List<ParameterSetOperation>> parameters = queryInfo.getParametersList();
+                queries.add(new RecordedQuery(queryInfo.getQuery(),
+                        parameters.isEmpty() ? List.of() : List.copyOf(parameters.get(0))));
+            }
+        }
+    }
+
+    /** Runs the action and returns the plans of the selects it issued. */
+    public List<String> explain(Runnable action) {
+        queries.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        List<String> plans = new ArrayList<>(queries.size());
+        for (RecordedQuery query : queries) {
+            plans.add(explain(query));
+        }
+        return plans;
+    }
+
+    @Override
+    public void close() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(this);
+    }
+
+    private String explain(RecordedQuery query) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+            for (ParameterSetOperation parameter : query.parameters()) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (SQLException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Can't explain " + query.sql(), e);
+        }
+    }
+
+    private record RecordedQuery(String sql, List<ParameterSetOperation> parameters) {
+    }
+}
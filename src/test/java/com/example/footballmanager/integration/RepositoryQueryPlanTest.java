@@ -0,0 +1,513 @@
+package com.example.footballmanager.integration;
+
+import com.example.footballmanager.dto.request.PlayerSearchRequestDto;
+import com.example.footballmanager.dto.request.TransferSearchRequestDto;
+import com.example.footballmanager.repository.BudgetAdjustmentRepository;
+import com.example.footballmanager.repository.IdempotentRequestRepository;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamBudgetStripeRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.TransferRepository;
+import com.example.footballmanager.service.PlayerService;
+import com.example.footballmanager.service.TransferLedgerService;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Explains every query the repositories issue against a million seeded
+ * players, 200,000 ledger entries and 20,000 budget adjustments, and fails
+ * when one stops using the index it is written for, scans the whole table or
+ * sorts rows an index should deliver in order. The indexes the queries
+ * depend on are checked against the migrated schema, so a changeset that
+ * drops or changes one fails here. The database is private to this class
+ * and dropped with its context.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:repository_query_plans;"
+        + "MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000")
+@ActiveProfiles({"h2", "test"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class RepositoryQueryPlanTest {
+    private static final int PLAYERS = 1_000_000;
+    private static final int TEAMS = 10_000;
+    private static final int TRANSFERS = 200_000;
+    private static final int STRIPES_PER_TEAM = 4;
+    private static final int IDEMPOTENT_REQUESTS = 10_000;
+    private static final int BUDGET_ADJUSTMENTS = 20_000;
+    /** Ledger entries are one minute apart from here on, budget adjustments ten minutes. */
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(2020, 1, 1, 0, 0);
+    /** Idempotency keys are claimed one minute apart from here on. */
+    private static final LocalDateTime IDEMPOTENCY_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long FIRST_ID = 1_000_001L;
+    private static final long TEAM_ID = FIRST_ID + 7;
+    private static final long PLAYER_ID = FIRST_ID + 12_345;
+    private static final int LIMIT = 20;
+    private static final String PRIMARY_KEY = "primary_key_\\w+";
+    /**
+     * H2 keeps the foreign key's own index on team_id next to (team_id, id),
+     * where MySQL drops it, and picks either. Neither tells H2 that rows with
+     * one team_id come in id order, so it sorts a team's players; InnoDB reads
+     * them in order from (team_id, id). Team lookups therefore only have to
+     * use one of the two.
+     */
+    private static final ExpectedPlan TEAM_ID_INDEX =
+            new ExpectedPlan("idx_players_team_id_id|fk_team_index_\\w+", false, false);
+    /**
+     * Likewise H2 keeps the foreign key's index on team_id next to the
+     * (team_id, stripe) primary key; a team has a handful of stripes either way.
+     */
+    private static final String STRIPE_KEY = PRIMARY_KEY + "|fk_team_budget_stripes_team_index_\\w+";
+    /** Indexes the queries below depend on, with their columns in order. */
+    private static final Map<String, List<String>> QUERY_INDEXES = Map.ofEntries(
+            Map.entry("idx_players_team_id_id", List.of("team_id", "id")),
+            Map.entry("idx_players_lastname_firstname", List.of("lastname", "firstname")),
+            Map.entry("idx_players_firstname", List.of("firstname")),
+            Map.entry("idx_players_birth_date", List.of("birth_date")),
+            Map.entry("idx_players_career_start_date", List.of("career_start_date")),
+            Map.entry("idx_transfers_player_id_id", List.of("player_id", "id")),
+            Map.entry("idx_transfers_selling_team_id_id", List.of("selling_team_id", "id")),
+            Map.entry("idx_transfers_buying_team_id_id", List.of("buying_team_id", "id")),
+            Map.entry("idx_transfers_transferred_at", List.of("transferred_at")),
+            Map.entry("idx_idempotent_requests_created_at", List.of("created_at")),
+            Map.entry("idx_budget_adjustments_adjusted_at", List.of("adjusted_at"))
+    );
+    /** Repository methods explained below; a new query method has to be added here and tested. */
+    private static final Set<String> EXPLAINED_METHODS = Set.of(
+            "findResponseDtoById", "findResponseDtosByTeamId", "findResponseDtosByTeamIdAfter",
+            "findVersionById", "findTeamIdById", "streamAll", "streamAllByTeamId", "findAllWithTeamByIdIn",
+            "removeById", "searchResponseDtos", "findAllResponseDtos", "findResponseDtosAfter", "findExistingIds",
+            "findAllByIdForUpdate", "streamRoster", "findIdRangeTransferredAfter", "sumFeesReceivedBetween",
+            "sumFeesPaidBetween", "findBudgetByIdForUpdate", "addToBudget", "deposit", "withdraw",
+            "findAllByTeamIdInForUpdate", "drainAllByTeamIdIn", "findAllStripedByIdIn", "claim", "complete",
+            "release", "removeExpired", "removeAllCreatedBefore", "sumAmountsAdjustedAfter",
+            "findTeamIdsAdjustedAfter"
+    );
+    private static boolean seeded;
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TransferRepository transferRepository;
+    @Autowired
+    private TeamBudgetStripeRepository teamBudgetStripeRepository;
+    @Autowired
+    private IdempotentRequestRepository idempotentRequestRepository;
+    @Autowired
+    private BudgetAdjustmentRepository budgetAdjustmentRepository;
+    @Autowired
+    private PlayerService playerService;
+    @Autowired
+    private TransferLedgerService transferLedgerService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private QueryPlanRecorder queryPlanRecorder;
+
+    @Before
+    public void setUp() {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        queryPlanRecorder = new QueryPlanRecorder(dataSource);
+    }
+
+    @After
+    public void tearDown() {
+        queryPlanRecorder.close();
+    }
+
+    @Test
+    public void testEveryRepositoryQueryIsExplained_Ok() {
+        Set<String> declaredMethods = Stream.of(PlayerRepository.class, TeamRepository.class, TransferRepository.class,
+                        TeamBudgetStripeRepository.class, IdempotentRequestRepository.class,
+                        BudgetAdjustmentRepository.class)
+                .flatMap(repository -> Stream.concat(Stream.of(repository), Arrays.stream(repository.getInterfaces())
+                        .filter(fragment -> fragment.getPackage().equals(repository.getPackage()))))
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .map(Method::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(new TreeSet<>(EXPLAINED_METHODS), declaredMethods);
+    }
+
+    @Test
+    public void testQueryIndexesMatchMigrations_Ok() {
+        Map<String, MigratedIndex> indexes = migratedIndexes();
+
+        QUERY_INDEXES.forEach((index, columns) -> {
+            assertTrue("Missing index " + index, indexes.containsKey(index));
+            assertEquals("Columns of " + index, columns, indexes.get(index).columns());
+        });
+    }
+
+    @Test
+    public void testFindPlayerById_Ok() {
+        assertPlans(() -> playerRepository.findById(PLAYER_ID), plan(PRIMARY_KEY));
+        assertPlans(() -> playerRepository.findResponseDtoById(PLAYER_ID), plan(PRIMARY_KEY));
+        assertPlans(() -> playerRepository.findVersionById(PLAYER_ID), plan(PRIMARY_KEY));
+        assertPlans(() -> playerRepository.findTeamIdById(PLAYER_ID), plan(PRIMARY_KEY));
+    }
+
+    @Test
+    public void testFindPlayersByTeam_Ok() {
+        assertPlans(() -> playerRepository.findResponseDtosByTeamId(TEAM_ID, PageRequest.of(2, LIMIT)),
+                TEAM_ID_INDEX, TEAM_ID_INDEX);
+        assertPlans(() -> playerRepository.findResponseDtosByTeamIdAfter(
+                TEAM_ID, PLAYER_ID, PageRequest.of(0, LIMIT)), TEAM_ID_INDEX);
+    }
+
+    @Test
+    public void testStreamPlayers_Ok() {
+        assertPlans(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<?> players = playerRepository.streamAll()) {
+                players.findFirst();
+            }
+        }), plan(PRIMARY_KEY));
+        assertPlans(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<?> players = playerRepository.streamAllByTeamId(TEAM_ID)) {
+                players.findFirst();
+            }
+        }), TEAM_ID_INDEX);
+    }
+
+    @Test
+    public void testFindPlayersWithTeamByIds_Ok() {
+        assertPlans(() -> playerRepository.findAllWithTeamByIdIn(List.of(PLAYER_ID, PLAYER_ID + 1)),
+                plan(PRIMARY_KEY));
+    }
+
+    @Test
+    public void testRemovePlayerById_Ok() {
+        assertPlans(() -> transactionTemplate.executeWithoutResult(status -> playerRepository.removeById(0L)),
+                plan(PRIMARY_KEY));
+    }
+
+    @Test
+    public void testFindTeams_Ok() {
+        assertPlans(() -> teamRepository.findById(TEAM_ID), plan(PRIMARY_KEY));
+        assertPlans(() -> teamRepository.findAllById(List.of(TEAM_ID, TEAM_ID + 1)), plan(PRIMARY_KEY));
+        // The stripes are summed in subqueries on their own primary key
+        assertPlans(() -> teamRepository.findAllStripedByIdIn(List.of(TEAM_ID, TEAM_ID + 1)), plan(PRIMARY_KEY));
+        assertPlans(() -> teamRepository.findExistingIds(List.of(TEAM_ID, 0L)), plan(PRIMARY_KEY));
+        assertPlans(() -> teamRepository.findResponseDtosAfter(TEAM_ID, PageRequest.of(0, LIMIT)),
+                plan(PRIMARY_KEY));
+    }
+
+    @Test
+    public void testFindTeamsPage_Ok() {
+        // Counting a whole table reads it whatever the indexes
+        assertPlans(() -> teamRepository.findAllResponseDtos(PageRequest.of(2, LIMIT)),
+                plan(PRIMARY_KEY), new ExpectedPlan("teams\\.tablescan", true, true));
+    }
+
+    @Test
+    public void testLockTeamsForUpdate_Ok() {
+        // The locked rows are looked up one by one and sorted, two per transfer
+        assertPlans(() -> transactionTemplate.executeWithoutResult(status ->
+                teamRepository.findAllByIdForUpdate(List.of(TEAM_ID, TEAM_ID + 1))),
+                new ExpectedPlan(PRIMARY_KEY, false, false));
+    }
+
+    @Test
+    public void testTeamBudgetStripes_Ok() {
+        // The team row and its stripes by primary key, the locked stripes sorted like locked teams;
+        // the deposit is an insert, which isn't explained
+        assertPlans(() -> transactionTemplate.executeWithoutResult(status -> {
+            teamRepository.findBudgetByIdForUpdate(TEAM_ID);
+            teamBudgetStripeRepository.findAllByTeamIdInForUpdate(List.of(TEAM_ID));
+            teamBudgetStripeRepository.withdraw(TEAM_ID, 0, BigDecimal.ONE);
+            teamBudgetStripeRepository.deposit(TEAM_ID, 0, BigDecimal.ONE);
+            teamBudgetStripeRepository.drainAllByTeamIdIn(List.of(TEAM_ID));
+            teamRepository.addToBudget(TEAM_ID, BigDecimal.ONE);
+            status.setRollbackOnly();
+        }), plan(PRIMARY_KEY), new ExpectedPlan(STRIPE_KEY, false, false), plan(STRIPE_KEY), plan(STRIPE_KEY),
+                plan(PRIMARY_KEY));
+    }
+
+    @Test
+    public void testIdempotentRequests_Ok() {
+        // Keys by primary key, expired keys by creation time; the claim is an insert, which isn't explained
+        String key = "key-" + IDEMPOTENT_REQUESTS / 2;
+        assertPlans(() -> transactionTemplate.executeWithoutResult(status -> {
+            idempotentRequestRepository.findById(key);
+            idempotentRequestRepository.removeExpired(key, IDEMPOTENCY_START);
+            idempotentRequestRepository.complete(key, 201, "{}");
+            idempotentRequestRepository.release(key);
+            idempotentRequestRepository.removeAllCreatedBefore(IDEMPOTENCY_START.plusMinutes(10));
+            status.setRollbackOnly();
+        }), plan(PRIMARY_KEY), plan(PRIMARY_KEY), plan(PRIMARY_KEY), plan(PRIMARY_KEY),
+                new ExpectedPlan("idx_idempotent_requests_created_at", false, false));
+    }
+
+    @Test
+    public void testStreamRoster_Ok() {
+        // The team by primary key, joined to its players by team_id
+        assertPlans(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<?> rows = teamRepository.streamRoster(TEAM_ID, PageRequest.of(0, LIMIT))) {
+                rows.findFirst();
+            }
+        }), TEAM_ID_INDEX);
+    }
+
+    @Test
+    public void testRemoveTeamById_Ok() {
+        assertPlans(() -> transactionTemplate.executeWithoutResult(status -> teamRepository.removeById(0L)),
+                plan(PRIMARY_KEY));
+    }
+
+    @Test
+    public void testSearchByLastname_Ok() {
+        assertSearchUses("idx_players_lastname_firstname", filters -> filters.setLastname("Last12"));
+    }
+
+    @Test
+    public void testSearchByLastnameAndFirstname_Ok() {
+        assertSearchUses("idx_players_lastname_firstname", filters -> {
+            filters.setLastname("Last12");
+            filters.setFirstname("First1");
+        });
+    }
+
+    @Test
+    public void testSearchByFirstname_Ok() {
+        assertSearchUses("idx_players_firstname", filters -> filters.setFirstname("First12"));
+    }
+
+    @Test
+    public void testSearchByBirthDate_Ok() {
+        assertSearchUses("idx_players_birth_date", filters -> {
+            filters.setBornFrom(LocalDate.of(1990, 3, 1));
+            filters.setBornTo(LocalDate.of(1990, 3, 7));
+        });
+    }
+
+    @Test
+    public void testSearchByCareerStartDate_Ok() {
+        assertSearchUses("idx_players_career_start_date", filters -> {
+            filters.setCareerStartFrom(LocalDate.of(2010, 6, 1));
+            filters.setCareerStartTo(LocalDate.of(2010, 6, 7));
+        });
+    }
+
+    @Test
+    public void testSearchByTeam_Ok() {
+        assertSearchUses(TEAM_ID_INDEX.index(), filters -> filters.setTeamId(TEAM_ID));
+    }
+
+    @Test
+    public void testSearchFreeAgentsBornInRange_Ok() {
+        assertSearchUses("idx_players_birth_date|" + TEAM_ID_INDEX.index(), filters -> {
+            filters.setFreeAgent(true);
+            filters.setBornFrom(LocalDate.of(1990, 3, 1));
+            filters.setBornTo(LocalDate.of(1990, 3, 31));
+        });
+    }
+
+    @Test
+    public void testSearchTeamByLastname_Ok() {
+        assertSearchUses("idx_players_lastname_firstname|" + TEAM_ID_INDEX.index(), filters -> {
+            filters.setTeamId(TEAM_ID);
+            filters.setLastname("Last1");
+        });
+    }
+
+    @Test
+    public void testSearchWithoutFilters_Ok() {
+        assertSearchUses(PRIMARY_KEY, filters -> { });
+    }
+
+    @Test
+    public void testFindTransferById_Ok() {
+        assertPlans(() -> transferRepository.findById(FIRST_ID), plan(PRIMARY_KEY));
+    }
+
+    @Test
+    public void testSearchTransfersByPlayer_Ok() {
+        assertTransferSearchUses(List.of("idx_transfers_player_id_id"),
+                filters -> filters.setPlayerId(FIRST_ID + 31 * 7));
+    }
+
+    @Test
+    public void testSearchTransfersByTeam_Ok() {
+        // One id query per side of the transfer
+        assertTransferSearchUses(List.of("idx_transfers_selling_team_id_id", "idx_transfers_buying_team_id_id"),
+                filters -> filters.setTeamId(TEAM_ID));
+    }
+
+    @Test
+    public void testSearchTransfersByTime_Ok() {
+        assertTransferSearchUses(List.of("idx_transfers_transferred_at"), filters -> {
+            filters.setFrom(LEDGER_START.plusDays(30));
+            filters.setTo(LEDGER_START.plusDays(31));
+        });
+    }
+
+    @Test
+    public void testReplayBudgets_Ok() {
+        // The last 10,000 entries, summed as one id range on each side, the last 1,000 budget adjustments
+        // and the teams created among them, then their teams
+        assertPlans(() -> assertFalse(transferLedgerService.replayBudgets(
+                        LEDGER_START.plusMinutes(TRANSFERS - 10_000)).isEmpty()),
+                new ExpectedPlan("idx_transfers_transferred_at", false, false),
+                new ExpectedPlan(PRIMARY_KEY, false, false),
+                new ExpectedPlan(PRIMARY_KEY, false, false),
+                new ExpectedPlan("idx_budget_adjustments_adjusted_at", false, false),
+                new ExpectedPlan("idx_budget_adjustments_adjusted_at", false, false),
+                plan(PRIMARY_KEY));
+    }
+
+    private void assertTransferSearchUses(List<String> indexes, Consumer<TransferSearchRequestDto> filterSetter) {
+        TransferSearchRequestDto filters = new TransferSearchRequestDto();
+        filterSetter.accept(filters);
+        List<ExpectedPlan> expectedPlans = new ArrayList<>();
+        indexes.forEach(index -> expectedPlans.add(new ExpectedPlan(index, false, false)));
+        expectedPlans.add(new ExpectedPlan(PRIMARY_KEY, false, false));
+
+        assertPlans(() -> assertFalse(transferLedgerService.search(filters, null, LIMIT).isEmpty()),
+                expectedPlans.toArray(ExpectedPlan[]::new));
+    }
+
+    /**
+     * Range filters match rows out of id order, so the matching ids are
+     * sorted; the page is then loaded by primary key.
+     */
+    private void assertSearchUses(String index, Consumer<PlayerSearchRequestDto> filterSetter) {
+        PlayerSearchRequestDto filters = new PlayerSearchRequestDto();
+        filterSetter.accept(filters);
+
+        assertPlans(() -> assertFalse(playerService.search(filters, null, LIMIT).isEmpty()),
+                new ExpectedPlan(index, false, false), new ExpectedPlan(PRIMARY_KEY, false, false));
+    }
+
+    private void assertPlans(Runnable action, ExpectedPlan... expectedPlans) {
+        List<String> plans = queryPlanRecorder.explain(action);
+
+        assertEquals("Statements explained: " + plans, expectedPlans.length, plans.size());
+        for (int i = 0; i < expectedPlans.length; i++) {
+            String plan = plans.get(i).toLowerCase(Locale.ROOT);
+            ExpectedPlan expected = expectedPlans[i];
+            assertTrue("Expected " + expected.index() + " in\n" + plan,
+                    Pattern.compile("/\\* public\\.(" + expected.index() + ")[: ]").matcher(plan).find());
+            if (!expected.tableScan()) {
+                assertFalse("Full table scan in\n" + plan, plan.contains("tablescan"));
+            }
+            if (expected.indexSorted() && plan.contains("\norder by")) {
+                assertTrue("Rows sorted instead of read in index order in\n" + plan,
+                        plan.contains("/* index sorted */"));
+            }
+        }
+    }
+
+    private static ExpectedPlan plan(String index) {
+        return new ExpectedPlan(index, false, true);
+    }
+
+    private Map<String, MigratedIndex> migratedIndexes() {
+        Map<String, MigratedIndex> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT table_name, index_name, column_name FROM information_schema.index_columns "
+                + "WHERE table_name IN ('players', 'teams', 'transfers', 'idempotent_requests', "
+                + "'budget_adjustments') "
+                + "AND index_name LIKE 'idx\\_%' "
+                + "ORDER BY index_name, ordinal_position", (RowCallbackHandler) row -> {
+                    String table = row.getString("table_name");
+                    indexes.computeIfAbsent(row.getString("index_name"),
+                            index -> new MigratedIndex(table, new ArrayList<>()))
+                            .columns().add(row.getString("column_name"));
+                });
+        return indexes;
+    }
+
+    /**
+     * Bulk loads without the secondary indexes and rebuilds them afterwards
+     * from their migrated definitions; loading a million rows into H2 with
+     * them in place takes minutes.
+     */
+    private void seed() {
+        Map<String, MigratedIndex> indexes = migratedIndexes();
+        indexes.keySet().forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+
+        jdbcTemplate.update("INSERT INTO teams (id, name, player_transfer_commission, budget, version) "
+                + "SELECT ? + \"X\" - 1, 'Team ' || \"X\", 5, 1000000, 0 FROM SYSTEM_RANGE(1, ?)",
+                FIRST_ID, TEAMS);
+        // Every tenth player is a free agent; names and dates spread evenly
+        jdbcTemplate.update("INSERT INTO players "
+                + "(id, firstname, lastname, birth_date, career_start_date, team_id, version) "
+                + "SELECT ? + \"X\" - 1, 'First' || MOD(\"X\", 1000), 'Last' || MOD(\"X\" * 7919, 100000), "
+                + "DATEADD(DAY, MOD(\"X\", 7300), DATE '1985-01-01'), "
+                + "DATEADD(DAY, MOD(\"X\", 5000), DATE '2005-01-01'), "
+                + "CASE WHEN MOD(\"X\", 10) = 0 THEN NULL ELSE ? + MOD(\"X\", ?) END, 0 FROM SYSTEM_RANGE(1, ?)",
+                FIRST_ID, FIRST_ID, TEAMS, PLAYERS);
+        // A fifth of the players are sold once; every team sells twenty and buys twenty
+        jdbcTemplate.update("INSERT INTO transfers "
+                + "(id, player_id, selling_team_id, buying_team_id, fee, commission, transferred_at) "
+                + "SELECT ? + \"X\" - 1, ? + MOD(\"X\" * 31, ?), ? + MOD(\"X\", ?), ? + MOD(\"X\" + 1, ?), "
+                + "1100, 100, DATEADD(MINUTE, \"X\", CAST(? AS TIMESTAMP)) FROM SYSTEM_RANGE(1, ?)",
+                FIRST_ID, FIRST_ID, PLAYERS, FIRST_ID, TEAMS, FIRST_ID, TEAMS, LEDGER_START, TRANSFERS);
+
+        // Every team's budget is striped as many ways
+        jdbcTemplate.update("INSERT INTO team_budget_stripes (team_id, stripe, balance, version) "
+                + "SELECT ? + MOD(\"X\" - 1, ?), (\"X\" - 1) / ?, 1000, 1 FROM SYSTEM_RANGE(1, ?)",
+                FIRST_ID, TEAMS, TEAMS, TEAMS * STRIPES_PER_TEAM);
+        jdbcTemplate.update("INSERT INTO idempotent_requests "
+                + "(idempotency_key, request_hash, response_status, response_body, created_at) "
+                + "SELECT 'key-' || \"X\", 'hash', 201, '{}', DATEADD(MINUTE, \"X\", CAST(? AS TIMESTAMP)) "
+                + "FROM SYSTEM_RANGE(1, ?)", IDEMPOTENCY_START, IDEMPOTENT_REQUESTS);
+        // Every team is created once, then updated now and then
+        jdbcTemplate.update("INSERT INTO budget_adjustments (id, team_id, amount, reason, adjusted_at) "
+                + "SELECT ? + \"X\" - 1, ? + MOD(\"X\" - 1, ?), 1000, "
+                + "CASE WHEN \"X\" <= ? THEN 'CREATED' ELSE 'UPDATED' END, "
+                + "DATEADD(MINUTE, \"X\" * 10, CAST(? AS TIMESTAMP)) FROM SYSTEM_RANGE(1, ?)",
+                FIRST_ID, FIRST_ID, TEAMS, TEAMS, LEDGER_START, BUDGET_ADJUSTMENTS);
+
+        indexes.forEach((index, definition) -> jdbcTemplate.execute("CREATE INDEX " + index + " ON "
+                + definition.table() + " (" + String.join(", ", definition.columns()) + ")"));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * The index a statement must use, as a pattern, whether it may read the
+     * whole table and whether its ORDER BY must be served by the index rather
+     * than a sort.
+     */
+    private record ExpectedPlan(String index, boolean tableScan, boolean indexSorted) {
+    }
+
+    private record MigratedIndex(String table, List<String> columns) {
+    }
+}
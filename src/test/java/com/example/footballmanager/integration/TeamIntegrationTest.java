@@ -0,0 +1,183 @@
+package com.example.footballmanager.integration;
+
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.service.IdempotencyService;
+import com.jayway.jsonpath.JsonPath;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class TeamIntegrationTest extends AbstractIntegrationTest {
+    private static final int PLAYERS_PER_TEAM = 20;
+    private static final String TEAM_JSON =
+            "{\"name\":\"New Team\",\"playerTransferCommission\":5,\"budget\":1000000}";
+    private Team team;
+
+    @Before
+    public void setUp() {
+        team = createTeam("Team");
+        for (int i = 0; i < PLAYERS_PER_TEAM; i++) {
+            createPlayer("LastName" + i, team);
+        }
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetTeamById_Ok() throws Exception {
+        perform(get("/teams/{id}", team.getId())).andExpect(status().isOk());
+        perform(get("/teams/{id}", team.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetTeamByIdNotModified_Ok() throws Exception {
+        String eTag = perform(get("/teams/{id}", team.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        perform(get("/teams/{id}", team.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetTeamsKeyset_Ok() throws Exception {
+        perform(get("/teams").param("limit", "50")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testGetTeamsKeysetNotModified_Ok() throws Exception {
+        String eTag = perform(get("/teams").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        perform(get("/teams").param("limit", "50").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testGetTeamsPage_Ok() throws Exception {
+        perform(get("/teams").param("page", "0").param("size", "50")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testExportTeamPlayers_Ok() throws Exception {
+        perform(get("/teams/{id}/players/export", team.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetTeamRoster_Ok() throws Exception {
+        perform(get("/teams/{id}/roster", team.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.team.name").value("Team"))
+                .andExpect(jsonPath("$.players.length()").value(PLAYERS_PER_TEAM))
+                .andExpect(jsonPath("$.players[0].teamId").value(team.getId()))
+                .andExpect(jsonPath("$.truncated").value(false));
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetTeamRosterMaxSize_Ok() throws Exception {
+        perform(get("/teams/{id}/roster", team.getId()).param("maxSize", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players.length()").value(5))
+                .andExpect(jsonPath("$.truncated").value(true));
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetEmptyTeamRoster_Ok() throws Exception {
+        Team emptyTeam = createTeam("Empty Team");
+
+        perform(get("/teams/{id}/roster", emptyTeam.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.team.name").value("Empty Team"))
+                .andExpect(jsonPath("$.players.length()").value(0));
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testGetMissingTeamRoster_NotOk() throws Exception {
+        perform(get("/teams/{id}/roster", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    // The team and its budget adjustment, each with headroom for a sequence read every 50 ids
+    @QueryBudget(statements = 4)
+    public void testCreateTeam_Ok() throws Exception {
+        String response = perform(post("/teams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TEAM_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        teamIds.add(((Number) JsonPath.read(response, "$.id")).longValue());
+    }
+
+    @Test
+    // The inserts and their sequence reads, plus claiming the key, storing the response and now and
+    // then purging expired keys; the retry is answered from memory
+    @QueryBudget(statements = 8)
+    public void testCreateTeamWithIdempotencyKey_Ok() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        long teams = teamRepository.count();
+        String response = perform(post("/teams")
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TEAM_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long teamId = ((Number) JsonPath.read(response, "$.id")).longValue();
+        teamIds.add(teamId);
+        perform(post("/teams")
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TEAM_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(teamId));
+        assertEquals(teams + 1, teamRepository.count());
+    }
+
+    @Test
+    // Locking the team and its stripes, the update, and the budget adjustment with a sequence read now
+    // and then
+    @QueryBudget(statements = 5)
+    public void testUpdateTeamById_Ok() throws Exception {
+        perform(put("/teams/{id}", team.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TEAM_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("New Team"));
+    }
+
+    @Test
+    // Locking the team and its stripes
+    @QueryBudget(statements = 2)
+    public void testUpdateTeamByIdStaleIfMatch_NotOk() throws Exception {
+        perform(put("/teams/{id}", team.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + (team.getVersion() + 1) + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TEAM_JSON))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @QueryBudget(statements = 1)
+    public void testDeleteTeamById_Ok() throws Exception {
+        Team emptyTeam = createTeam("Empty Team");
+
+        perform(delete("/teams/{id}", emptyTeam.getId())).andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.footballmanager.integration;
+
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.jayway.jsonpath.JsonPath;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class TransferIntegrationTest extends AbstractIntegrationTest {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private Team sellingTeam;
+    private Team buyingTeam;
+    private Player firstPlayer;
+    private Player secondPlayer;
+    private LocalDateTime asOf;
+
+    @Before
+    public void setUp() throws Exception {
+        sellingTeam = createTeam("Selling Team");
+        buyingTeam = createTeam("Buying Team");
+        firstPlayer = createPlayer("First", sellingTeam);
+        secondPlayer = createPlayer("Second", sellingTeam);
+        asOf = LocalDateTime.now().minusSeconds(1).truncatedTo(ChronoUnit.SECONDS);
+        // Every fee is 264000.00
+        for (Player player : new Player[] {firstPlayer, secondPlayer}) {
+            mockMvc.perform(post("/players/{id}/transfer", player.getId())
+                            .param("teamId", buyingTeam.getId().toString()))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    @QueryBudget(statements = 3)
+    public void testSearchTransfersByTeam_Ok() throws Exception {
+        perform(get("/transfers")
+                .param("teamId", sellingTeam.getId().toString())
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].playerId").value(firstPlayer.getId()))
+                .andExpect(jsonPath("$[0].sellingTeamId").value(sellingTeam.getId()))
+                .andExpect(jsonPath("$[0].buyingTeamId").value(buyingTeam.getId()))
+                .andExpect(jsonPath("$[0].fee").value(264000.00))
+                .andExpect(jsonPath("$[0].commission").value(24000.00));
+    }
+
+    @Test
+    @QueryBudget(statements = 2)
+    public void testSearchTransfersByPlayerAndTime_Ok() throws Exception {
+        perform(get("/transfers")
+                .param("playerId", secondPlayer.getId().toString())
+                .param("from", asOf.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].playerId").value(secondPlayer.getId()));
+    }
+
+    @Test
+    @QueryBudget(statements = 6)
+    public void testReplayBudgets_Ok() throws Exception {
+        perform(get("/transfers/budgets").param("asOf", asOf.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.teamId == %d)].budget", sellingTeam.getId())
+                        .value(contains(DEFAULT_TEAM_BUDGET.doubleValue())))
+                .andExpect(jsonPath("$[?(@.teamId == %d)].budget", buyingTeam.getId())
+                        .value(contains(DEFAULT_TEAM_BUDGET.doubleValue())));
+    }
+
+    @Test
+    // The id range and one chunk on each side, the adjustments and new teams since, then the teams
+    @QueryBudget(statements = 6)
+    public void testReplayBudgetsAfterBudgetUpdateAndNewTeam_Ok() throws Exception {
+        mockMvc.perform(put("/teams/{id}", sellingTeam.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Selling Team\",\"playerTransferCommission\":10,"
+                                + "\"budget\":1000000}"))
+                .andExpect(status().isOk());
+        String response = mockMvc.perform(post("/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"New Team\",\"playerTransferCommission\":5,\"budget\":1000000}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long newTeamId = ((Number) JsonPath.read(response, "$.id")).longValue();
+        teamIds.add(newTeamId);
+        Player thirdPlayer = createPlayer("Third", buyingTeam);
+        mockMvc.perform(post("/players/{id}/transfer", thirdPlayer.getId())
+                        .param("teamId", newTeamId.toString()))
+                .andExpect(status().isOk());
+
+        perform(get("/transfers/budgets").param("asOf", asOf.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.teamId == %d)].budget", sellingTeam.getId())
+                        .value(contains(DEFAULT_TEAM_BUDGET.doubleValue())))
+                .andExpect(jsonPath("$[?(@.teamId == %d)].budget", buyingTeam.getId())
+                        .value(contains(DEFAULT_TEAM_BUDGET.doubleValue())))
+                .andExpect(jsonPath("$[?(@.teamId == %d)]", newTeamId).isEmpty());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.footballmanager.metrics;
+
+import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.service.TeamService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.aop.framework.ProxyFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.when;
+
+public class ServiceMetricsInterceptorTest {
+    @Mock
+    private TeamService teamService;
+    private SimpleMeterRegistry meterRegistry;
+    private TeamService timedTeamService;
+    private static final Long DEFAULT_TEAM_ID = 1L;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ProxyFactory proxyFactory = new ProxyFactory(teamService);
+        proxyFactory.addInterface(TeamService.class);
+        proxyFactory.addAdvice(new ServiceMetricsInterceptor(() -> meterRegistry));
+        timedTeamService = (TeamService) proxyFactory.getProxy();
+    }
+
+    @Test
+    public void testRecordsSuccess_Ok() {
+        when(teamService.getById(DEFAULT_TEAM_ID)).thenReturn(new Team());
+
+        timedTeamService.getById(DEFAULT_TEAM_ID);
+        timedTeamService.getById(DEFAULT_TEAM_ID);
+
+        assertEquals(2, timer("getById", ServiceMetricsInterceptor.SUCCESS).count());
+    }
+
+    @Test
+    public void testRecordsFailureByException_NotOk() {
+        when(teamService.getById(DEFAULT_TEAM_ID)).thenThrow(new EntityNotFoundException("No team present"));
+
+        assertThrows(EntityNotFoundException.class, () -> timedTeamService.getById(DEFAULT_TEAM_ID));
+
+        assertEquals(1, timer("getById", "EntityNotFoundException").count());
+        assertEquals(0, timer("getById", ServiceMetricsInterceptor.SUCCESS).count());
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return meterRegistry.get(ServiceMetricsInterceptor.METRIC_NAME)
+                .tag("service", "TeamService")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.footballmanager.metrics;
+
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.either;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Runs endpoints against an in-memory database and checks how many SQL
+ * statements each one issues, as reported in the {@code Server-Timing} header.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"h2", "test"})
+public class SqlStatisticsFilterTest {
+    private static final Pattern STATEMENTS = Pattern.compile("desc=\"(\\d+) statements, (\\d+) rows\"");
+    private static final BigDecimal DEFAULT_TEAM_BUDGET = new BigDecimal("5000000.00");
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    private final List<Team> teams = new ArrayList<>();
+    private Player player;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < 2; i++) {
+            Team team = new Team();
+            team.setName("Statement Team " + i);
+            team.setPlayerTransferCommission(BigDecimal.TEN);
+            team.setBudget(DEFAULT_TEAM_BUDGET);
+            teams.add(teamRepository.save(team));
+        }
+        player = new Player();
+        player.setFirstname("FirstName");
+        player.setLastname("LastName");
+        player.setBirthDate(LocalDate.now().minusYears(25));
+        player.setCareerStartDate(LocalDate.now().minusYears(5));
+        player.setTeam(teams.get(0));
+        player = playerRepository.save(player);
+    }
+
+    @After
+    public void tearDown() {
+        playerRepository.deleteAllByIdInBatch(List.of(player.getId()));
+        teamRepository.deleteAllByIdInBatch(teams.stream().map(Team::getId).toList());
+    }
+
+    @Test
+    public void testGetPlayerById_Ok() throws Exception {
+        assertEquals(1, statements(get("/players/{id}", player.getId())));
+    }
+
+    @Test
+    public void testUpdatePlayerById_Ok() throws Exception {
+        String requestBody = "{\"firstname\":\"NewName\",\"lastname\":\"LastName\","
+                + "\"birthDate\":\"" + player.getBirthDate() + "\","
+                + "\"careerStartDate\":\"" + player.getCareerStartDate() + "\","
+                + "\"teamId\":" + teams.get(0).getId() + "}";
+
+        assertEquals(2, statements(put("/players/{id}", player.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody)));
+    }
+
+    @Test
+    public void testDeletePlayerById_Ok() throws Exception {
+        assertEquals(1, statements(delete("/players/{id}", player.getId())));
+        assertEquals(1, statements(delete("/players/{id}", player.getId())));
+    }
+
+    @Test
+    public void testTransferPlayer_Ok() throws Exception {
+        // The ledger insert is the fifth; its sequence is read once every 50 transfers
+        assertThat(statements(post("/players/{id}/transfer", player.getId())
+                .param("teamId", teams.get(1).getId().toString())), either(is(5L)).or(is(6L)));
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        String serverTiming = result.getResponse().getHeader(SqlStatisticsFilter.SERVER_TIMING_HEADER);
+        assertNotNull(serverTiming);
+        Matcher matcher = STATEMENTS.matcher(serverTiming);
+        assertTrue(serverTiming, matcher.find());
+        return Long.parseLong(matcher.group(1));
+    }
+}
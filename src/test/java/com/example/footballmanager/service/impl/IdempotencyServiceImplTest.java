@@ -0,0 +1,248 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.dto.response.TeamResponseDto;
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.exception.ConflictException;
+import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.model.IdempotentRequest;
+import com.example.footballmanager.repository.IdempotentRequestRepository;
+import com.example.footballmanager.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class IdempotencyServiceImplTest {
+    @Mock
+    private IdempotentRequestRepository idempotentRequestRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private IdempotencyServiceImpl idempotencyService;
+    private SimpleMeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final TeamResponseDto teamResponseDto = new TeamResponseDto();
+    private final AtomicInteger executions = new AtomicInteger();
+    private static final String DEFAULT_KEY = "create-team-1";
+    private static final String DEFAULT_OPERATION = "POST /teams";
+    private static final List<Long> DEFAULT_REQUEST = List.of(1L, 11L);
+    private static final Long DEFAULT_TEAM_ID = 11L;
+    private static final String DEFAULT_TEAM_NAME = "Test Team Name";
+    private static final long DEFAULT_RETENTION_HOURS = 24;
+    private static final long DEFAULT_CACHE_SIZE = 100;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = new IdempotencyServiceImpl(idempotentRequestRepository,
+                new TransactionTemplate(transactionManager), objectMapper, meterRegistry,
+                DEFAULT_RETENTION_HOURS, DEFAULT_CACHE_SIZE);
+        teamResponseDto.setId(DEFAULT_TEAM_ID);
+        teamResponseDto.setName(DEFAULT_TEAM_NAME);
+    }
+
+    @Test
+    public void testExecuteWithoutKey_Ok() {
+        ResponseEntity<TeamResponseDto> first = execute(null, DEFAULT_REQUEST);
+        ResponseEntity<TeamResponseDto> second = execute(null, DEFAULT_REQUEST);
+
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertEquals(HttpStatus.CREATED, second.getStatusCode());
+        assertEquals(2, executions.get());
+        verifyNoInteractions(idempotentRequestRepository);
+    }
+
+    @Test
+    public void testExecuteStoresResponse_Ok() throws Exception {
+        ResponseEntity<TeamResponseDto> response = execute(DEFAULT_KEY, DEFAULT_REQUEST);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+        verify(idempotentRequestRepository).claim(eq(DEFAULT_KEY), anyString(), any());
+        verify(idempotentRequestRepository).complete(DEFAULT_KEY, HttpStatus.CREATED.value(),
+                objectMapper.writeValueAsString(teamResponseDto));
+    }
+
+    @Test
+    public void testExecuteReplaysFromMemory_Ok() {
+        execute(DEFAULT_KEY, DEFAULT_REQUEST);
+
+        ResponseEntity<TeamResponseDto> replayed = execute(DEFAULT_KEY, DEFAULT_REQUEST);
+
+        assertReplayed(replayed);
+        assertEquals(1, executions.get());
+        verify(idempotentRequestRepository).claim(eq(DEFAULT_KEY), anyString(), any());
+        assertEquals(1, replays("memory"), 0);
+    }
+
+    @Test
+    public void testExecuteReplaysFromDatabase_Ok() throws Exception {
+        IdempotentRequest storedRequest = storedRequest();
+        storedRequest.setResponseStatus(HttpStatus.CREATED.value());
+        storedRequest.setResponseBody(objectMapper.writeValueAsString(teamResponseDto));
+        doThrow(new DataIntegrityViolationException("PRIMARY KEY"))
+                .when(idempotentRequestRepository).claim(eq(DEFAULT_KEY), anyString(), any());
+        when(idempotentRequestRepository.findById(DEFAULT_KEY)).thenReturn(Optional.of(storedRequest));
+
+        ResponseEntity<TeamResponseDto> replayed = execute(DEFAULT_KEY, DEFAULT_REQUEST);
+
+        assertReplayed(replayed);
+        assertEquals(0, executions.get());
+        verify(idempotentRequestRepository, never()).complete(anyString(), anyInt(), any());
+        assertEquals(1, replays("database"), 0);
+    }
+
+    @Test
+    public void testExecuteWithDifferentRequest_NotOk() {
+        execute(DEFAULT_KEY, DEFAULT_REQUEST);
+
+        assertThrows(BadRequestException.class, () -> execute(DEFAULT_KEY, List.of(2L, 11L)));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testExecuteWithInvalidKey_NotOk() {
+        assertThrows(BadRequestException.class, () -> execute(" ", DEFAULT_REQUEST));
+        assertThrows(BadRequestException.class, () -> execute("k".repeat(256), DEFAULT_REQUEST));
+        assertEquals(0, executions.get());
+        verifyNoInteractions(idempotentRequestRepository);
+    }
+
+    @Test
+    public void testExecuteWhileFirstRequestIsRunning_NotOk() {
+        IdempotentRequest storedRequest = storedRequest();
+        doThrow(new DataIntegrityViolationException("PRIMARY KEY"))
+                .when(idempotentRequestRepository).claim(eq(DEFAULT_KEY), anyString(), any());
+        when(idempotentRequestRepository.findById(DEFAULT_KEY)).thenReturn(Optional.of(storedRequest));
+
+        assertThrows(ConflictException.class, () -> execute(DEFAULT_KEY, DEFAULT_REQUEST));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    public void testExecuteReleasesKeyWhenActionFails_Ok() {
+        assertThrows(EntityNotFoundException.class, () -> idempotencyService.execute(DEFAULT_KEY,
+                DEFAULT_OPERATION, DEFAULT_REQUEST, TeamResponseDto.class, () -> {
+                    throw new EntityNotFoundException("No team present with id " + DEFAULT_TEAM_ID);
+                }));
+        verify(idempotentRequestRepository).release(DEFAULT_KEY);
+
+        ResponseEntity<TeamResponseDto> retried = execute(DEFAULT_KEY, DEFAULT_REQUEST);
+
+        assertEquals(HttpStatus.CREATED, retried.getStatusCode());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testExecuteCoalescesConcurrentRequests_Ok() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponseEntity<TeamResponseDto>> first = executor.submit(() -> idempotencyService.execute(
+                    DEFAULT_KEY, DEFAULT_OPERATION, DEFAULT_REQUEST, TeamResponseDto.class, () -> {
+                        started.countDown();
+                        await(release);
+                        return created();
+                    }));
+            assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            Thread releaser = new Thread(() -> {
+                sleep();
+                release.countDown();
+            });
+            releaser.start();
+
+            ResponseEntity<TeamResponseDto> second = execute(DEFAULT_KEY, DEFAULT_REQUEST);
+
+            assertEquals(HttpStatus.CREATED, first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getStatusCode());
+            assertReplayed(second);
+            assertEquals(0, executions.get());
+            verify(idempotentRequestRepository, times(1)).claim(eq(DEFAULT_KEY), anyString(), any());
+            releaser.join();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<TeamResponseDto> execute(String key, Object request) {
+        return idempotencyService.execute(key, DEFAULT_OPERATION, request, TeamResponseDto.class, () -> {
+            executions.incrementAndGet();
+            return created();
+        });
+    }
+
+    private ResponseEntity<TeamResponseDto> created() {
+        return ResponseEntity.status(HttpStatus.CREATED).body(teamResponseDto);
+    }
+
+    private void assertReplayed(ResponseEntity<TeamResponseDto> response) {
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(teamResponseDto, response.getBody());
+    }
+
+    /** Runs a request with the key, then restarts the service as if the first attempt was on another instance. */
+    private IdempotentRequest storedRequest() {
+        execute(DEFAULT_KEY, DEFAULT_REQUEST);
+        ArgumentCaptor<String> requestHash = ArgumentCaptor.forClass(String.class);
+        verify(idempotentRequestRepository).claim(eq(DEFAULT_KEY), requestHash.capture(), any());
+        setUp();
+        executions.set(0);
+        IdempotentRequest storedRequest = new IdempotentRequest();
+        storedRequest.setIdempotencyKey(DEFAULT_KEY);
+        storedRequest.setRequestHash(requestHash.getValue());
+        return storedRequest;
+    }
+
+    private double replays(String source) {
+        return meterRegistry.get("football.manager.idempotency.replays").tag("source", source).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.dto.mapper.DtoMapper;
+import com.example.footballmanager.dto.request.PlayerRequestDto;
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.service.PlayerExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PlayerExportServiceImplTest {
+    @Mock
+    private PlayerRepository playerRepository;
+    @Mock
+    private DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper;
+    @Mock
+    private EntityManager entityManager;
+    private PlayerExportService playerExportService;
+    private static final Long DEFAULT_TEAM_ID = 11L;
+    private static final int DEFAULT_CLEAR_INTERVAL = 2;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        playerExportService = new PlayerExportServiceImpl(
+                playerRepository,
+                playerDtoMapper,
+                new ObjectMapper(),
+                entityManager,
+                DEFAULT_CLEAR_INTERVAL
+        );
+        when(playerDtoMapper.toResponseDto(any(Player.class))).thenAnswer(invocation -> {
+            PlayerResponseDto responseDto = new PlayerResponseDto();
+            responseDto.setId(invocation.<Player>getArgument(0).getId());
+            return responseDto;
+        });
+    }
+
+    @Test
+    public void testExportAll_Ok() throws IOException {
+        when(playerRepository.streamAll()).thenReturn(Stream.of(player(1L), player(2L), player(3L)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        playerExportService.exportAll(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(1L, new ObjectMapper().readTree(lines[0]).get("id").asLong());
+        assertEquals(3L, new ObjectMapper().readTree(lines[2]).get("id").asLong());
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    public void testExportAllByTeamId_Ok() throws IOException {
+        when(playerRepository.streamAllByTeamId(DEFAULT_TEAM_ID)).thenReturn(Stream.of(player(1L)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        playerExportService.exportAllByTeamId(DEFAULT_TEAM_ID, outputStream);
+
+        assertEquals(1L, new ObjectMapper().readTree(outputStream.toString(StandardCharsets.UTF_8))
+                .get("id").asLong());
+    }
+
+    @Test
+    public void testExportEmpty_Ok() throws IOException {
+        when(playerRepository.streamAll()).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        playerExportService.exportAll(outputStream);
+
+        assertEquals(0, outputStream.size());
+    }
+
+    private Player player(Long id) {
+        Player player = new Player();
+        player.setId(id);
+        return player;
+    }
+}
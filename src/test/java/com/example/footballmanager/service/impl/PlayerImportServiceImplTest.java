@@ -0,0 +1,160 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.dto.mapper.DtoMapper;
+import com.example.footballmanager.dto.mapper.TeamReferenceMapper;
+import com.example.footballmanager.dto.request.PlayerRequestDto;
+import com.example.footballmanager.dto.response.PlayerImportResponseDto;
+import com.example.footballmanager.dto.response.PlayerResponseDto;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.service.PlayerImportService;
+import com.example.footballmanager.service.PlayerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PlayerImportServiceImplTest {
+    @Mock
+    private DtoMapper<Player, PlayerRequestDto, PlayerResponseDto> playerDtoMapper;
+    @Mock
+    private TeamReferenceMapper teamReferenceMapper;
+    @Mock
+    private PlayerService playerService;
+    @Mock
+    private EntityManager entityManager;
+    private PlayerImportService playerImportService;
+    private static final int DEFAULT_CHUNK_SIZE = 2;
+    private static final String VALID_PLAYER_JSON = "{\"firstname\":\"FirstName\",\"lastname\":\"LastName\","
+            + "\"birthDate\":\"" + LocalDate.now().minusYears(30) + "\","
+            + "\"careerStartDate\":\"" + LocalDate.now().minusYears(1) + "\"}";
+    private static final String INVALID_PLAYER_JSON = "{\"firstname\":\"\",\"lastname\":\"LastName\","
+            + "\"birthDate\":\"" + LocalDate.now().minusYears(30) + "\","
+            + "\"careerStartDate\":\"" + LocalDate.now().minusYears(1) + "\"}";
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        playerImportService = new PlayerImportServiceImpl(
+                objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                playerDtoMapper,
+                teamReferenceMapper,
+                playerService,
+                entityManager,
+                DEFAULT_CHUNK_SIZE
+        );
+        when(playerDtoMapper.toModels(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0))
+                .stream()
+                .map(dto -> new Player())
+                .toList());
+        when(teamReferenceMapper.findMissingTeamIds(anyCollection())).thenReturn(Set.of());
+    }
+
+    @Test
+    public void testImportJsonArray_Ok() throws IOException {
+        PlayerImportResponseDto response = playerImportService.importPlayers(
+                toStream("[" + VALID_PLAYER_JSON + "," + VALID_PLAYER_JSON + "," + VALID_PLAYER_JSON + "]"));
+
+        assertEquals(3, response.getReceived());
+        assertEquals(3, response.getImported());
+        assertEquals(0, response.getFailed());
+        assertNull(response.getError());
+        verify(playerService, times(2)).createAll(anyList());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    public void testImportNdjson_Ok() throws IOException {
+        PlayerImportResponseDto response = playerImportService.importPlayers(
+                toStream(VALID_PLAYER_JSON + "\n" + VALID_PLAYER_JSON + "\n"));
+
+        assertEquals(2, response.getReceived());
+        assertEquals(2, response.getImported());
+        verify(playerService, times(1)).createAll(anyList());
+    }
+
+    @Test
+    public void testImportReportsInvalidRows_Ok() throws IOException {
+        PlayerImportResponseDto response = playerImportService.importPlayers(
+                toStream("[" + VALID_PLAYER_JSON + "," + INVALID_PLAYER_JSON + ",{\"birthDate\":\"not a date\"}]"));
+
+        assertEquals(3, response.getReceived());
+        assertEquals(1, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertEquals(2, response.getErrors().get(0).getRow());
+        assertEquals(List.of("firstname: First name is required"), response.getErrors().get(0).getErrors());
+        assertEquals(3, response.getErrors().get(1).getRow());
+    }
+
+    @Test
+    public void testImportReportsMissingTeam_Ok() throws IOException {
+        when(teamReferenceMapper.findMissingTeamIds(anyCollection())).thenReturn(Set.of(5L));
+
+        PlayerImportResponseDto response = playerImportService.importPlayers(toStream(
+                "[" + withTeamId(VALID_PLAYER_JSON, 5L) + "," + withTeamId(VALID_PLAYER_JSON, 1L) + "]"));
+
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(1, response.getErrors().get(0).getRow());
+        assertEquals(List.of("No team present with id 5"), response.getErrors().get(0).getErrors());
+        verify(teamReferenceMapper, times(1)).findMissingTeamIds(anyCollection());
+        verify(playerDtoMapper).toModels(argThat(dtos -> dtos.size() == 1 && dtos.get(0).getTeamId() == 1L));
+    }
+
+    @Test
+    public void testImportContinuesAfterFailedChunk_Ok() throws IOException {
+        doThrow(new DataIntegrityViolationException("constraint violation"))
+                .doReturn(List.of())
+                .when(playerService).createAll(anyList());
+
+        PlayerImportResponseDto response = playerImportService.importPlayers(
+                toStream("[" + VALID_PLAYER_JSON + "," + VALID_PLAYER_JSON + "," + VALID_PLAYER_JSON + "]"));
+
+        assertEquals(1, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertEquals(1, response.getErrors().get(0).getRow());
+        assertEquals(2, response.getErrors().get(1).getRow());
+    }
+
+    @Test
+    public void testImportMalformedInput_NotOk() throws IOException {
+        PlayerImportResponseDto response = playerImportService.importPlayers(
+                toStream("[" + VALID_PLAYER_JSON + ",{\"firstname\":"));
+
+        assertEquals(1, response.getReceived());
+        assertEquals(1, response.getImported());
+        assertNotNull(response.getError());
+    }
+
+    private String withTeamId(String playerJson, Long teamId) {
+        return playerJson.replace("{", "{\"teamId\":" + teamId + ",");
+    }
+
+    private InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
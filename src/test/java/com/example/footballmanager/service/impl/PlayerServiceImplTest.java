@@ -1,28 +1,71 @@
 package com.example.footballmanager.service.impl;
 
+import com.example.footballmanager.cache.TeamCache;
+import com.example.footballmanager.dto.request.PlayerSearchRequestDto;
+import com.example.footballmanager.dto.response.PlayerResponseDto;
 import com.example.footballmanager.exception.BadRequestException;
 import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.exception.PreconditionFailedException;
+import com.example.footballmanager.metrics.TransferMetrics;
 import com.example.footballmanager.model.Player;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.Transfer;
+import com.example.footballmanager.model.TransferInstruction;
+import com.example.footballmanager.model.TransferQuote;
+import com.example.footballmanager.model.TransferStatus;
 import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.TransferRepository;
+import com.example.footballmanager.repository.projection.StripedTeam;
 import com.example.footballmanager.service.PlayerService;
+import com.example.footballmanager.service.TeamBudgetService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 public class PlayerServiceImplTest {
     @Mock
     private PlayerRepository playerRepository;
+    @Mock
+    private TeamRepository teamRepository;
+    @Mock
+    private TransferRepository transferRepository;
+    @Mock
+    private TeamCache teamCache;
+    @Mock
+    private TeamBudgetService teamBudgetService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
     private PlayerService playerService;
     private final Player playerWithId;
     private final Player playerWithoutInitialId;
@@ -40,6 +83,9 @@ public class PlayerServiceImplTest {
     private static final BigDecimal DEFAULT_SELLING_TEAM_BUDGET = new BigDecimal("0.00");
     private static final BigDecimal DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER = new BigDecimal("44000.00");
     private static final BigDecimal DEFAULT_SELLING_TEAM_TRANSFER_COMMISSION = BigDecimal.valueOf(10);
+    private static final BigDecimal DEFAULT_TRANSFER_COMMISSION = new BigDecimal("4000.00");
+    private static final int DEFAULT_MAX_TRANSFER_ATTEMPTS = 3;
+    private static final int DEFAULT_TRANSFER_CHUNK_SIZE = 2;
 
     public PlayerServiceImplTest() {
         playerWithId = new Player();
@@ -52,7 +98,20 @@ public class PlayerServiceImplTest {
     @Before
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        playerService = new PlayerServiceImpl(playerRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        playerService = new PlayerServiceImpl(
+                playerRepository,
+                teamRepository,
+                transferRepository,
+                teamCache,
+                teamBudgetService,
+                new TransferFeeCalculatorImpl(),
+                new TransactionTemplate(transactionManager),
+                new TransferMetrics(meterRegistry),
+                DEFAULT_MAX_TRANSFER_ATTEMPTS,
+                0,
+                DEFAULT_TRANSFER_CHUNK_SIZE
+        );
 
         playerWithId.setId(DEFAULT_PLAYER_ID);
         playerWithId.setFirstname(DEFAULT_PLAYER_FIRST_NAME);
@@ -86,6 +145,23 @@ public class PlayerServiceImplTest {
         assertEquals(playerWithId, actualPlayer);
     }
 
+    @Test
+    public void testGetResponseDtoById_Ok() {
+        PlayerResponseDto responseDto = new PlayerResponseDto();
+        responseDto.setId(DEFAULT_PLAYER_ID);
+        when(playerRepository.findResponseDtoById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(responseDto));
+
+        assertEquals(responseDto, playerService.getResponseDtoById(DEFAULT_PLAYER_ID));
+        verify(playerRepository, times(0)).findById(DEFAULT_PLAYER_ID);
+    }
+
+    @Test
+    public void testGetResponseDtoByIdNotFound_NotOk() {
+        when(playerRepository.findResponseDtoById(DEFAULT_PLAYER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> playerService.getResponseDtoById(DEFAULT_PLAYER_ID));
+    }
+
     @Test
     public void testGetByIdNotFound_NotOk() {
         when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.empty());
@@ -93,6 +169,50 @@ public class PlayerServiceImplTest {
         assertThrows(EntityNotFoundException.class, () -> playerService.getById(DEFAULT_PLAYER_ID));
     }
 
+    @Test
+    public void testGetAllByTeamIdAfter_Ok() {
+        Slice<PlayerResponseDto> slice = new SliceImpl<>(List.of(new PlayerResponseDto()));
+        when(playerRepository.findResponseDtosByTeamIdAfter(
+                DEFAULT_BUYING_TEAM_ID, 0L, PageRequest.of(0, 10))).thenReturn(slice);
+
+        Slice<PlayerResponseDto> actualSlice = playerService.getAllByTeamIdAfter(DEFAULT_BUYING_TEAM_ID, null, 10);
+
+        assertEquals(slice, actualSlice);
+    }
+
+    @Test
+    public void testSearch_Ok() {
+        PlayerSearchRequestDto filters = new PlayerSearchRequestDto();
+        filters.setLastname(DEFAULT_PLAYER_LAST_NAME);
+        filters.setFreeAgent(true);
+        Slice<PlayerResponseDto> slice = new SliceImpl<>(List.of(new PlayerResponseDto()));
+        when(playerRepository.searchResponseDtos(any(), eq(0L), eq(10))).thenReturn(slice);
+
+        Slice<PlayerResponseDto> actualSlice = playerService.search(filters, null, 10);
+
+        assertEquals(slice, actualSlice);
+    }
+
+    @Test
+    public void testSearchInvertedBirthDateRange_NotOk() {
+        PlayerSearchRequestDto filters = new PlayerSearchRequestDto();
+        filters.setBornFrom(DEFAULT_PLAYER_BIRTH_DATE);
+        filters.setBornTo(DEFAULT_PLAYER_BIRTH_DATE.minusDays(1));
+
+        assertThrows(BadRequestException.class, () -> playerService.search(filters, null, 10));
+        verifyNoInteractions(playerRepository);
+    }
+
+    @Test
+    public void testSearchFreeAgentInTeam_NotOk() {
+        PlayerSearchRequestDto filters = new PlayerSearchRequestDto();
+        filters.setTeamId(DEFAULT_BUYING_TEAM_ID);
+        filters.setFreeAgent(true);
+
+        assertThrows(BadRequestException.class, () -> playerService.search(filters, null, 10));
+        verifyNoInteractions(playerRepository);
+    }
+
     @Test
     public void testCreate_Ok() {
         when(playerRepository.save(playerWithoutInitialId)).thenReturn(playerWithId);
@@ -108,20 +228,65 @@ public class PlayerServiceImplTest {
         assertThrows(BadRequestException.class, () -> playerService.create(playerWithId));
     }
 
+    @Test
+    public void testCreateAll_Ok() {
+        List<Player> players = List.of(playerWithoutInitialId);
+        when(playerRepository.saveAll(players)).thenReturn(List.of(playerWithId));
+
+        List<Player> createdPlayers = playerService.createAll(players);
+
+        assertEquals(List.of(playerWithId), createdPlayers);
+    }
+
+    @Test
+    public void testCreateAllWithId_NotOk() {
+        assertThrows(BadRequestException.class, () -> playerService.createAll(List.of(playerWithId)));
+
+        verify(playerRepository, times(0)).saveAll(List.of(playerWithId));
+    }
+
     @Test
     public void testUpdateById_Ok() {
-        when(playerRepository.existsById(DEFAULT_PLAYER_ID)).thenReturn(true);
+        playerWithId.setVersion(3L);
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
         when(playerRepository.save(playerWithoutInitialId)).thenReturn(playerWithoutInitialId);
 
         Player updatedPlayer = playerService.updateById(DEFAULT_PLAYER_ID, playerWithoutInitialId);
 
         assertNotNull(updatedPlayer);
         assertEquals(DEFAULT_PLAYER_ID, updatedPlayer.getId());
+        assertEquals(Long.valueOf(3L), updatedPlayer.getVersion());
+    }
+
+    @Test
+    public void testUpdateByIdStaleVersion_NotOk() {
+        playerWithId.setVersion(3L);
+        playerWithoutInitialId.setVersion(2L);
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> playerService.updateById(DEFAULT_PLAYER_ID, playerWithoutInitialId));
+
+        verify(playerRepository, times(0)).save(playerWithoutInitialId);
+    }
+
+    @Test
+    public void testGetVersionById_Ok() {
+        when(playerRepository.findVersionById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(3L));
+
+        assertEquals(Long.valueOf(3L), playerService.getVersionById(DEFAULT_PLAYER_ID));
+    }
+
+    @Test
+    public void testGetVersionByIdNotFound_NotOk() {
+        when(playerRepository.findVersionById(DEFAULT_PLAYER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> playerService.getVersionById(DEFAULT_PLAYER_ID));
     }
 
     @Test
     public void testUpdateByIdNotFound_NotOk() {
-        when(playerRepository.existsById(DEFAULT_PLAYER_ID)).thenReturn(false);
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> playerService.updateById(DEFAULT_PLAYER_ID, playerWithoutInitialId));
@@ -129,25 +294,25 @@ public class PlayerServiceImplTest {
 
     @Test
     public void testDeleteById_Ok() {
-        when(playerRepository.existsById(DEFAULT_PLAYER_ID)).thenReturn(true);
+        when(playerRepository.removeById(DEFAULT_PLAYER_ID)).thenReturn(1);
 
         playerService.deleteById(DEFAULT_PLAYER_ID);
 
-        verify(playerRepository, times(1)).deleteById(DEFAULT_PLAYER_ID);
+        verify(playerRepository, times(1)).removeById(DEFAULT_PLAYER_ID);
     }
 
     @Test
     public void testDeleteByIdNotFound_NotOk() {
-        when(playerRepository.existsById(DEFAULT_PLAYER_ID)).thenReturn(false);
+        when(playerRepository.removeById(DEFAULT_PLAYER_ID)).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> playerService.deleteById(DEFAULT_PLAYER_ID));
 
-        verify(playerRepository, times(0)).deleteById(DEFAULT_PLAYER_ID);
+        verify(playerRepository, times(1)).removeById(DEFAULT_PLAYER_ID);
     }
 
     @Test
     public void testAddUnassignedPlayerToTeam_Ok() {
-        when(playerRepository.existsById(DEFAULT_PLAYER_ID)).thenReturn(true);
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
         when(playerRepository.save(playerWithId)).thenReturn(playerWithId);
 
         Player resultPlayer = playerService.addUnassignedPlayerToTeam(playerWithId, buyingTeam);
@@ -168,28 +333,175 @@ public class PlayerServiceImplTest {
     public void testTransferPlayerToTeam_Ok() {
         playerWithId.setTeam(sellingTeam);
 
-        when(playerRepository.existsById(DEFAULT_PLAYER_ID)).thenReturn(true);
-        when(playerRepository.save(playerWithId)).thenReturn(playerWithId);
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
+        when(teamRepository.findAllByIdForUpdate(List.of(DEFAULT_SELLING_TEAM_ID, DEFAULT_BUYING_TEAM_ID)))
+                .thenReturn(List.of(buyingTeam, sellingTeam));
+        when(playerRepository.saveAndFlush(playerWithId)).thenReturn(playerWithId);
 
-        Player resultPlayer = playerService.transferPlayerToTeam(playerWithId, buyingTeam);
+        Player resultPlayer = playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID);
 
         assertEquals(DEFAULT_BUYING_TEAM_BUDGET_AFTER_TRANSFER, buyingTeam.getBudget());
         assertEquals(DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER, sellingTeam.getBudget());
         assertNotNull(resultPlayer);
         assertEquals(buyingTeam, resultPlayer.getTeam());
+        verify(teamCache, times(1)).evict(DEFAULT_BUYING_TEAM_ID);
+        verify(teamCache, times(1)).evict(DEFAULT_SELLING_TEAM_ID);
+        assertEquals(1, meterRegistry.get("football.manager.transfers.fee").summary().count());
+        assertEquals(DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER.doubleValue(),
+                meterRegistry.get("football.manager.transfers.fee").summary().totalAmount(), 0.001);
+        verify(transferRepository).save(argThat(transfer -> DEFAULT_PLAYER_ID.equals(transfer.getPlayerId())
+                && DEFAULT_SELLING_TEAM_ID.equals(transfer.getSellingTeamId())
+                && DEFAULT_BUYING_TEAM_ID.equals(transfer.getBuyingTeamId())
+                && DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER.equals(transfer.getFee())
+                && DEFAULT_TRANSFER_COMMISSION.equals(transfer.getCommission())
+                && transfer.getTransferredAt() != null));
+    }
+
+    @Test
+    public void testTransferPlayerToTeamSettlesLeftoverStripes_Ok() {
+        playerWithId.setTeam(sellingTeam);
+        buyingTeam.setBudget(BigDecimal.ZERO);
+
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
+        when(teamRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(buyingTeam, sellingTeam));
+        doAnswer(invocation -> {
+            buyingTeam.setBudget(DEFAULT_BUYING_TEAM_BUDGET);
+            return null;
+        }).when(teamBudgetService).settle(List.of(buyingTeam));
+        when(playerRepository.saveAndFlush(playerWithId)).thenReturn(playerWithId);
+
+        playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID);
+
+        assertEquals(DEFAULT_BUYING_TEAM_BUDGET_AFTER_TRANSFER, buyingTeam.getBudget());
+        assertEquals(DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER, sellingTeam.getBudget());
+        verify(teamBudgetService, times(0)).move(any(), any(), any());
+    }
+
+    @Test
+    public void testTransferPlayerToTeamStriped_Ok() {
+        playerWithId.setTeam(sellingTeam);
+        BigDecimal transferFee = DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER;
+
+        when(teamBudgetService.isStriped()).thenReturn(true);
+        when(teamBudgetService.move(DEFAULT_BUYING_TEAM_ID, DEFAULT_SELLING_TEAM_ID, transferFee)).thenReturn(true);
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
+        when(teamRepository.findAllById(List.of(DEFAULT_SELLING_TEAM_ID, DEFAULT_BUYING_TEAM_ID)))
+                .thenReturn(List.of(buyingTeam, sellingTeam));
+        when(playerRepository.saveAndFlush(playerWithId)).thenReturn(playerWithId);
+
+        Player resultPlayer = playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID);
+
+        assertEquals(buyingTeam, resultPlayer.getTeam());
+        assertEquals(DEFAULT_BUYING_TEAM_BUDGET, buyingTeam.getBudget());
+        assertEquals(DEFAULT_SELLING_TEAM_BUDGET, sellingTeam.getBudget());
+        verify(teamBudgetService).move(DEFAULT_BUYING_TEAM_ID, DEFAULT_SELLING_TEAM_ID, transferFee);
+        verify(teamRepository, times(0)).findAllByIdForUpdate(anyCollection());
+        assertEquals(1, meterRegistry.get("football.manager.transfers.fee").summary().count());
+    }
+
+    @Test
+    public void testTransferPlayerToTeamStripedInsufficientBudget_NotOk() {
+        playerWithId.setTeam(sellingTeam);
+
+        when(teamBudgetService.isStriped()).thenReturn(true);
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
+        when(teamRepository.findAllById(anyCollection())).thenReturn(List.of(buyingTeam, sellingTeam));
+        when(playerRepository.saveAndFlush(playerWithId)).thenReturn(playerWithId);
+
+        assertThrows(BadRequestException.class,
+                () -> playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID));
+
+        assertEquals(1, meterRegistry.get("football.manager.transfers.rejected")
+                .tag("reason", "insufficient_funds").counter().count(), 0);
+        assertEquals(0, meterRegistry.get("football.manager.transfers.fee").summary().count());
+    }
+
+    @Test
+    public void testTransferPlayerToTeamRetriesOnConflict_Ok() {
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenAnswer(invocation -> {
+            playerWithId.setTeam(sellingTeam);
+            sellingTeam.setBudget(DEFAULT_SELLING_TEAM_BUDGET);
+            buyingTeam.setBudget(DEFAULT_BUYING_TEAM_BUDGET);
+            return Optional.of(playerWithId);
+        });
+        when(teamRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(buyingTeam, sellingTeam));
+        when(playerRepository.saveAndFlush(playerWithId))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"))
+                .thenReturn(playerWithId);
+
+        Player resultPlayer = playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID);
+
+        assertEquals(buyingTeam, resultPlayer.getTeam());
+        assertEquals(DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER, sellingTeam.getBudget());
+        verify(playerRepository, times(2)).findById(DEFAULT_PLAYER_ID);
+        assertEquals(1, meterRegistry.get("football.manager.transfers.retries").counter().count(), 0);
+        assertEquals(1, meterRegistry.get("football.manager.transfers.fee").summary().count());
+    }
+
+    @Test
+    public void testTransferPlayerToTeamRetriesFailedCommit_Ok() {
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenAnswer(invocation -> {
+            playerWithId.setTeam(sellingTeam);
+            sellingTeam.setBudget(DEFAULT_SELLING_TEAM_BUDGET);
+            buyingTeam.setBudget(DEFAULT_BUYING_TEAM_BUDGET);
+            return Optional.of(playerWithId);
+        });
+        when(teamRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(buyingTeam, sellingTeam));
+        when(playerRepository.saveAndFlush(playerWithId)).thenReturn(playerWithId);
+        doThrow(new OptimisticLockingFailureException("Row was updated by another transaction"))
+                .doNothing()
+                .when(transactionManager).commit(any());
+
+        playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID);
+
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(1, meterRegistry.get("football.manager.transfers.fee").summary().count());
+    }
+
+    @Test
+    public void testTransferPlayerToTeamRetriesExhausted_NotOk() {
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenAnswer(invocation -> {
+            playerWithId.setTeam(sellingTeam);
+            buyingTeam.setBudget(DEFAULT_BUYING_TEAM_BUDGET);
+            return Optional.of(playerWithId);
+        });
+        when(teamRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(buyingTeam, sellingTeam));
+        when(playerRepository.saveAndFlush(playerWithId))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID));
+
+        verify(playerRepository, times(DEFAULT_MAX_TRANSFER_ATTEMPTS)).saveAndFlush(playerWithId);
+    }
+
+    @Test
+    public void testTransferPlayerToMissingTeam_NotOk() {
+        playerWithId.setTeam(sellingTeam);
+
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
+        when(teamRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(sellingTeam));
+
+        assertThrows(EntityNotFoundException.class,
+                () -> playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID));
     }
 
     @Test
     public void testTransferPlayerToTeamNotBelongToTeam_NotOk() {
-        assertThrows(EntityNotFoundException.class, () -> playerService.transferPlayerToTeam(playerWithId, buyingTeam));
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
+
+        assertThrows(EntityNotFoundException.class,
+                () -> playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID));
     }
 
     @Test
     public void testTransferPlayerToTeamHeAlreadyOn_NotOk() {
         playerWithId.setTeam(buyingTeam);
 
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
+
         assertThrows(BadRequestException.class,
-                () -> playerService.transferPlayerToTeam(playerWithId, buyingTeam));
+                () -> playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID));
     }
 
     @Test
@@ -197,10 +509,139 @@ public class PlayerServiceImplTest {
         playerWithId.setTeam(sellingTeam);
         buyingTeam.setBudget(BigDecimal.ZERO);
 
-        when(playerRepository.existsById(DEFAULT_PLAYER_ID)).thenReturn(true);
-        when(playerRepository.save(playerWithId)).thenReturn(playerWithId);
+        when(playerRepository.findById(DEFAULT_PLAYER_ID)).thenReturn(Optional.of(playerWithId));
+        when(teamRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(buyingTeam, sellingTeam));
 
         assertThrows(BadRequestException.class,
-                () -> playerService.transferPlayerToTeam(playerWithId, buyingTeam));
+                () -> playerService.transferPlayerToTeam(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID));
+
+        verify(playerRepository, times(0)).saveAndFlush(playerWithId);
+        verifyNoInteractions(transferRepository);
+        assertEquals(1, meterRegistry.get("football.manager.transfers.rejected")
+                .tag("reason", "insufficient_funds").counter().count(), 0);
+        assertEquals(0, meterRegistry.get("football.manager.transfers.fee").summary().count());
+    }
+
+    @Test
+    public void testQuoteTransfers_Ok() {
+        playerWithId.setTeam(sellingTeam);
+        when(playerRepository.findAllWithTeamByIdIn(anyCollection())).thenReturn(List.of(playerWithId));
+        when(teamRepository.findAllStripedByIdIn(anyCollection())).thenReturn(striped(buyingTeam));
+
+        List<TransferQuote> quotes = playerService.quoteTransfers(List.of(
+                quote(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID),
+                quote(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID)));
+
+        assertEquals(2, quotes.size());
+        for (TransferQuote quote : quotes) {
+            assertEquals(DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER, quote.getFee());
+            assertEquals(DEFAULT_SELLING_TEAM_ID, quote.getSellingTeamId());
+            assertTrue(quote.getAffordable());
+            assertNull(quote.getError());
+        }
+        assertEquals(DEFAULT_BUYING_TEAM_BUDGET, buyingTeam.getBudget());
+        verify(playerRepository, times(1)).findAllWithTeamByIdIn(anyCollection());
+        verify(teamRepository, times(1)).findAllStripedByIdIn(anyCollection());
+    }
+
+    @Test
+    public void testQuoteTransfersReportsErrorsPerQuote_Ok() {
+        playerWithId.setTeam(sellingTeam);
+        buyingTeam.setBudget(BigDecimal.ZERO);
+        when(playerRepository.findAllWithTeamByIdIn(anyCollection())).thenReturn(List.of(playerWithId));
+        when(teamRepository.findAllStripedByIdIn(anyCollection())).thenReturn(striped(buyingTeam, sellingTeam));
+
+        List<TransferQuote> quotes = playerService.quoteTransfers(List.of(
+                quote(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID),
+                quote(DEFAULT_PLAYER_ID, DEFAULT_SELLING_TEAM_ID),
+                quote(2L, DEFAULT_BUYING_TEAM_ID),
+                quote(DEFAULT_PLAYER_ID, 99L)));
+
+        assertFalse(quotes.get(0).getAffordable());
+        assertNull(quotes.get(0).getError());
+        assertEquals("Can't transfer a player to a team he's already on", quotes.get(1).getError());
+        assertEquals("No player present with id 2", quotes.get(2).getError());
+        assertEquals("No team present with id 99", quotes.get(3).getError());
+    }
+
+    @Test
+    public void testTransferAll_Ok() {
+        Player secondPlayer = new Player();
+        secondPlayer.setId(2L);
+        secondPlayer.setCareerStartDate(DEFAULT_PLAYER_CAREER_START_DATE);
+        secondPlayer.setBirthDate(DEFAULT_PLAYER_BIRTH_DATE);
+        secondPlayer.setTeam(sellingTeam);
+        playerWithId.setTeam(sellingTeam);
+        when(playerRepository.findAllById(any())).thenReturn(List.of(playerWithId, secondPlayer));
+        when(teamRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(buyingTeam, sellingTeam));
+
+        List<TransferInstruction> instructions = playerService.transferAll(List.of(
+                instruction(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID),
+                instruction(2L, DEFAULT_BUYING_TEAM_ID),
+                instruction(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID),
+                instruction(3L, DEFAULT_BUYING_TEAM_ID)));
+
+        assertEquals(TransferStatus.ACCEPTED, instructions.get(0).getStatus());
+        assertEquals(DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER, instructions.get(0).getFee());
+        assertEquals(DEFAULT_SELLING_TEAM_ID, instructions.get(0).getSellingTeamId());
+        assertEquals(TransferStatus.INSUFFICIENT_FUNDS, instructions.get(1).getStatus());
+        assertEquals(TransferStatus.ALREADY_ON_TEAM, instructions.get(2).getStatus());
+        assertEquals(TransferStatus.NOT_FOUND, instructions.get(3).getStatus());
+        assertEquals("No player present with id 3", instructions.get(3).getError());
+        assertEquals(buyingTeam, playerWithId.getTeam());
+        assertEquals(sellingTeam, secondPlayer.getTeam());
+        assertEquals(DEFAULT_BUYING_TEAM_BUDGET_AFTER_TRANSFER, buyingTeam.getBudget());
+        assertEquals(DEFAULT_SELLING_TEAM_BUDGET_AFTER_TRANSFER, sellingTeam.getBudget());
+        verify(teamRepository, times(2)).findAllByIdForUpdate(anyCollection());
+        verify(playerRepository, times(2)).flush();
+        verify(transferRepository).saveAll(argThat((List<Transfer> transfers) -> transfers.size() == 1
+                && DEFAULT_PLAYER_ID.equals(transfers.get(0).getPlayerId())
+                && DEFAULT_TRANSFER_COMMISSION.equals(transfers.get(0).getCommission())));
+        verify(teamCache, times(1)).evict(DEFAULT_BUYING_TEAM_ID);
+        verify(teamCache, times(1)).evict(DEFAULT_SELLING_TEAM_ID);
+        assertEquals(1, meterRegistry.get("football.manager.transfers.fee").summary().count());
+        assertEquals(1, meterRegistry.get("football.manager.transfers.rejected")
+                .tag("reason", "insufficient_funds").counter().count(), 0);
+    }
+
+    @Test
+    public void testTransferAllRetriesExhausted_NotOk() {
+        playerWithId.setTeam(sellingTeam);
+        when(playerRepository.findAllById(any())).thenReturn(List.of(playerWithId));
+        when(teamRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(buyingTeam, sellingTeam));
+        doThrow(new OptimisticLockingFailureException("Row was updated by another transaction"))
+                .when(playerRepository).flush();
+
+        List<TransferInstruction> instructions = playerService.transferAll(List.of(
+                instruction(DEFAULT_PLAYER_ID, DEFAULT_BUYING_TEAM_ID)));
+
+        assertEquals(TransferStatus.FAILED, instructions.get(0).getStatus());
+        assertNull(instructions.get(0).getFee());
+        assertEquals("Chunk could not be applied: Row was updated by another transaction",
+                instructions.get(0).getError());
+        verify(playerRepository, times(DEFAULT_MAX_TRANSFER_ATTEMPTS)).flush();
+        assertEquals(DEFAULT_MAX_TRANSFER_ATTEMPTS - 1,
+                meterRegistry.get("football.manager.transfers.retries").counter().count(), 0);
+        assertEquals(0, meterRegistry.get("football.manager.transfers.fee").summary().count());
+    }
+
+    private TransferInstruction instruction(Long playerId, Long buyingTeamId) {
+        TransferInstruction instruction = new TransferInstruction();
+        instruction.setPlayerId(playerId);
+        instruction.setBuyingTeamId(buyingTeamId);
+        return instruction;
+    }
+
+    private TransferQuote quote(Long playerId, Long buyingTeamId) {
+        TransferQuote quote = new TransferQuote();
+        quote.setPlayerId(playerId);
+        quote.setBuyingTeamId(buyingTeamId);
+        return quote;
+    }
+
+    private List<StripedTeam> striped(Team... teams) {
+        return Arrays.stream(teams)
+                .map(team -> new StripedTeam(team, BigDecimal.ZERO, 0L))
+                .toList();
     }
 }
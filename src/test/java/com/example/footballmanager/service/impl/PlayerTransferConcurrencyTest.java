@@ -0,0 +1,134 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.service.PlayerService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Hammers the transfer engine from several threads against an in-memory
+ * database and checks that no money is created or lost along the way.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"h2", "test"})
+public class PlayerTransferConcurrencyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlayerTransferConcurrencyTest.class);
+    private static final int TEAMS = 4;
+    private static final int PLAYERS_PER_TEAM = 5;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 50;
+    private static final BigDecimal DEFAULT_TEAM_BUDGET = new BigDecimal("5000000.00");
+    @Autowired
+    private PlayerService playerService;
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    private final List<Team> teams = new ArrayList<>();
+    private final List<Player> players = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team();
+            team.setName("Stress Team " + i);
+            team.setPlayerTransferCommission(BigDecimal.valueOf(i + 1));
+            team.setBudget(DEFAULT_TEAM_BUDGET);
+            teams.add(teamRepository.save(team));
+        }
+        for (int i = 0; i < TEAMS * PLAYERS_PER_TEAM; i++) {
+            Player player = new Player();
+            player.setFirstname("FirstName" + i);
+            player.setLastname("LastName" + i);
+            player.setBirthDate(LocalDate.now().minusYears(20 + i % 10));
+            player.setCareerStartDate(LocalDate.now().minusYears(1 + i % 5));
+            player.setTeam(teams.get(i % TEAMS));
+            players.add(player);
+        }
+        players.replaceAll(player -> playerRepository.save(player));
+    }
+
+    @After
+    public void tearDown() {
+        playerRepository.deleteAllByIdInBatch(players.stream().map(Player::getId).toList());
+        teamRepository.deleteAllByIdInBatch(teams.stream().map(Team::getId).toList());
+    }
+
+    @Test
+    public void testConcurrentTransfersConserveBudgets_Ok() throws Exception {
+        BigDecimal initialBudgetSum = sumBudgets();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+        Callable<Void> worker = () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                Long playerId = players.get(random.nextInt(players.size())).getId();
+                Long teamId = teams.get(random.nextInt(teams.size())).getId();
+                try {
+                    playerService.transferPlayerToTeam(playerId, teamId);
+                    completed.incrementAndGet();
+                } catch (BadRequestException e) {
+                    rejected.incrementAndGet();
+                } catch (ConcurrencyFailureException e) {
+                    conflicted.incrementAndGet();
+                }
+            }
+            return null;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long startTime = System.nanoTime();
+        List<Future<Void>> futures = executor.invokeAll(Collections.nCopies(THREADS, worker));
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        executor.shutdown();
+        LOGGER.info("{} transfers completed, {} rejected, {} conflicted in {} ms ({} transfers/sec)",
+                completed.get(), rejected.get(), conflicted.get(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.1f", completed.get() * 1e9 / elapsedNanos));
+
+        assertEquals(0, initialBudgetSum.compareTo(sumBudgets()));
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, completed.get() + rejected.get() + conflicted.get());
+        assertTrue(completed.get() > 0);
+        for (Team team : teamRepository.findAllById(teams.stream().map(Team::getId).toList())) {
+            assertTrue(team.getBudget().signum() >= 0);
+        }
+    }
+
+    private BigDecimal sumBudgets() {
+        return teamRepository.findAll().stream()
+                .map(Team::getBudget)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
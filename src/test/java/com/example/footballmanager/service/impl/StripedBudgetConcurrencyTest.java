@@ -0,0 +1,183 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.dto.response.TeamResponseDto;
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.repository.TeamBudgetStripeRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.projection.StripedTeam;
+import com.example.footballmanager.service.PlayerService;
+import com.example.footballmanager.service.TeamService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sends most transfers through one hot buying team with striped budgets and
+ * checks that the whole budgets, as the read endpoints report them, add up.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "football-manager.teams.budget-stripes=4")
+@ActiveProfiles({"h2", "test"})
+public class StripedBudgetConcurrencyTest {
+    private static final int TEAMS = 4;
+    private static final int PLAYERS_PER_TEAM = 10;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 40;
+    private static final BigDecimal DEFAULT_TEAM_BUDGET = new BigDecimal("5000000.00");
+    @Autowired
+    private PlayerService playerService;
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamBudgetStripeRepository teamBudgetStripeRepository;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private final List<Team> teams = new ArrayList<>();
+    private final List<Player> players = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team();
+            team.setName("Striped Team " + i);
+            team.setPlayerTransferCommission(BigDecimal.valueOf(i + 1));
+            team.setBudget(i == 0 ? DEFAULT_TEAM_BUDGET.multiply(BigDecimal.TEN) : DEFAULT_TEAM_BUDGET);
+            teams.add(teamRepository.save(team));
+        }
+        for (int i = 0; i < TEAMS * PLAYERS_PER_TEAM; i++) {
+            Player player = new Player();
+            player.setFirstname("FirstName" + i);
+            player.setLastname("LastName" + i);
+            player.setBirthDate(LocalDate.now().minusYears(20 + i % 10));
+            player.setCareerStartDate(LocalDate.now().minusYears(1 + i % 5));
+            player.setTeam(teams.get(1 + i % (TEAMS - 1)));
+            players.add(player);
+        }
+        players.replaceAll(player -> playerRepository.save(player));
+    }
+
+    @After
+    public void tearDown() {
+        playerRepository.deleteAllByIdInBatch(players.stream().map(Player::getId).toList());
+        teamRepository.deleteAllByIdInBatch(teams.stream().map(Team::getId).toList());
+    }
+
+    @Test
+    public void testConcurrentTransfersConserveStripedBudgets_Ok() throws Exception {
+        BigDecimal initialBudgetSum = sumBudgets();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Callable<Void> worker = () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                Long playerId = players.get(random.nextInt(players.size())).getId();
+                // Half of the transfers go to the first team, whose budget is the deepest
+                Team buyingTeam = teams.get(random.nextBoolean() ? 0 : 1 + random.nextInt(TEAMS - 1));
+                try {
+                    playerService.transferPlayerToTeam(playerId, buyingTeam.getId());
+                    completed.incrementAndGet();
+                } catch (BadRequestException | ConcurrencyFailureException e) {
+                    failed.incrementAndGet();
+                }
+            }
+            return null;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Void>> futures = executor.invokeAll(Collections.nCopies(THREADS, worker));
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(0, initialBudgetSum.compareTo(sumBudgets()));
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, completed.get() + failed.get());
+        assertTrue(completed.get() > 0);
+        assertTrue(teamBudgetStripeRepository.findAll().stream().allMatch(stripe -> stripe.getBalance().signum() >= 0));
+        Map<Long, TeamResponseDto> responseDtos = teamRepository.findResponseDtosAfter(0L, PageRequest.of(0, 1000))
+                .stream()
+                .collect(Collectors.toMap(TeamResponseDto::getId, Function.identity()));
+        for (Team team : loadTeams()) {
+            assertTrue(team.getTotalBudget().signum() >= 0);
+            assertEquals(0, team.getTotalBudget().compareTo(responseDtos.get(team.getId()).getBudget()));
+            assertEquals(team.getRevision(), responseDtos.get(team.getId()).getVersion());
+        }
+    }
+
+    @Test
+    public void testUpdateBelowStripedBudgetThenTransfer_NotOk() {
+        Team buyingTeam = teams.get(1);
+        // Spreads as much again as the team row holds over its four stripes
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int stripe = 0; stripe < 4; stripe++) {
+                teamBudgetStripeRepository.deposit(buyingTeam.getId(), stripe,
+                        DEFAULT_TEAM_BUDGET.divide(BigDecimal.valueOf(4)));
+            }
+        });
+        Team update = new Team();
+        update.setName(buyingTeam.getName());
+        update.setPlayerTransferCommission(buyingTeam.getPlayerTransferCommission());
+        update.setBudget(new BigDecimal("100.00"));
+
+        teamService.updateById(buyingTeam.getId(), update);
+        Long playerId = players.stream()
+                .filter(player -> !player.getTeam().getId().equals(buyingTeam.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+
+        assertThrows(BadRequestException.class,
+                () -> playerService.transferPlayerToTeam(playerId, buyingTeam.getId()));
+        Team updatedTeam = loadTeams().stream()
+                .filter(team -> team.getId().equals(buyingTeam.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, new BigDecimal("100.00").compareTo(updatedTeam.getBudget()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(updatedTeam.getTotalBudget()));
+    }
+
+    private BigDecimal sumBudgets() {
+        return loadTeams().stream()
+                .map(Team::getTotalBudget)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private List<Team> loadTeams() {
+        return teamRepository.findAllStripedByIdIn(teams.stream().map(Team::getId).toList()).stream()
+                .map(StripedTeam::team)
+                .toList();
+    }
+}
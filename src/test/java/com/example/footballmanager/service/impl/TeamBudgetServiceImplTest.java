@@ -0,0 +1,116 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TeamBudgetStripe;
+import com.example.footballmanager.repository.TeamBudgetStripeRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.service.TeamBudgetService;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TeamBudgetServiceImplTest {
+    @Mock
+    private TeamRepository teamRepository;
+    @Mock
+    private TeamBudgetStripeRepository teamBudgetStripeRepository;
+    private TeamBudgetService teamBudgetService;
+    private static final Long BUYING_TEAM_ID = 1L;
+    private static final Long SELLING_TEAM_ID = 2L;
+    private static final int DEFAULT_STRIPE_COUNT = 4;
+    private static final BigDecimal DEFAULT_FEE = new BigDecimal("50.00");
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        teamBudgetService = new TeamBudgetServiceImpl(teamRepository, teamBudgetStripeRepository, DEFAULT_STRIPE_COUNT);
+    }
+
+    @Test
+    public void testIsStriped_Ok() {
+        assertTrue(teamBudgetService.isStriped());
+        assertFalse(new TeamBudgetServiceImpl(teamRepository, teamBudgetStripeRepository, 1).isStriped());
+    }
+
+    @Test
+    public void testMoveFromSingleStripe_Ok() {
+        when(teamBudgetStripeRepository.withdraw(eq(BUYING_TEAM_ID), anyInt(), eq(DEFAULT_FEE))).thenReturn(1);
+
+        assertTrue(teamBudgetService.move(BUYING_TEAM_ID, SELLING_TEAM_ID, DEFAULT_FEE));
+
+        verify(teamBudgetStripeRepository).deposit(eq(SELLING_TEAM_ID), anyInt(), eq(DEFAULT_FEE));
+        verify(teamRepository, never()).findBudgetByIdForUpdate(anyLong());
+    }
+
+    @Test
+    public void testMoveRebalancesStripes_Ok() {
+        when(teamRepository.findBudgetByIdForUpdate(BUYING_TEAM_ID)).thenReturn(Optional.of(new BigDecimal("100.00")));
+        when(teamBudgetStripeRepository.findAllByTeamIdInForUpdate(List.of(BUYING_TEAM_ID))).thenReturn(List.of(
+                stripe(BUYING_TEAM_ID, 0, new BigDecimal("10.00")),
+                stripe(BUYING_TEAM_ID, 5, new BigDecimal("3.03"))));
+
+        assertTrue(teamBudgetService.move(BUYING_TEAM_ID, SELLING_TEAM_ID, DEFAULT_FEE));
+
+        // 63.03 left, spread as 15.76, 15.76, 15.76 and 15.75
+        verify(teamBudgetStripeRepository).deposit(BUYING_TEAM_ID, 0, new BigDecimal("5.76"));
+        verify(teamBudgetStripeRepository).deposit(BUYING_TEAM_ID, 1, new BigDecimal("15.76"));
+        verify(teamBudgetStripeRepository).deposit(BUYING_TEAM_ID, 2, new BigDecimal("15.76"));
+        verify(teamBudgetStripeRepository).deposit(BUYING_TEAM_ID, 3, new BigDecimal("15.75"));
+        verify(teamBudgetStripeRepository).deposit(BUYING_TEAM_ID, 5, new BigDecimal("-3.03"));
+        verify(teamRepository).addToBudget(BUYING_TEAM_ID, new BigDecimal("-100.00"));
+        verify(teamBudgetStripeRepository).deposit(eq(SELLING_TEAM_ID), anyInt(), eq(DEFAULT_FEE));
+    }
+
+    @Test
+    public void testMoveInsufficientFunds_NotOk() {
+        when(teamRepository.findBudgetByIdForUpdate(BUYING_TEAM_ID)).thenReturn(Optional.of(new BigDecimal("40.00")));
+        when(teamBudgetStripeRepository.findAllByTeamIdInForUpdate(List.of(BUYING_TEAM_ID)))
+                .thenReturn(List.of(stripe(BUYING_TEAM_ID, 1, new BigDecimal("9.99"))));
+
+        assertFalse(teamBudgetService.move(BUYING_TEAM_ID, SELLING_TEAM_ID, DEFAULT_FEE));
+
+        verify(teamBudgetStripeRepository, never()).deposit(anyLong(), anyInt(), any());
+        verify(teamRepository, never()).addToBudget(anyLong(), any());
+    }
+
+    @Test
+    public void testSettle_Ok() {
+        Team team = new Team();
+        team.setId(BUYING_TEAM_ID);
+        team.setBudget(new BigDecimal("100.00"));
+        team.setStripedBudget(new BigDecimal("25.00"));
+        when(teamBudgetStripeRepository.findAllByTeamIdInForUpdate(anyCollection())).thenReturn(List.of(
+                stripe(BUYING_TEAM_ID, 0, new BigDecimal("20.00")),
+                stripe(BUYING_TEAM_ID, 1, new BigDecimal("5.00"))));
+
+        teamBudgetService.settle(List.of(team));
+
+        assertEquals(new BigDecimal("125.00"), team.getBudget());
+        assertEquals(new BigDecimal("125.00"), team.getTotalBudget());
+        verify(teamBudgetStripeRepository).drainAllByTeamIdIn(anyCollection());
+    }
+
+    private TeamBudgetStripe stripe(Long teamId, int index, BigDecimal balance) {
+        TeamBudgetStripe stripe = new TeamBudgetStripe();
+        stripe.setTeamId(teamId);
+        stripe.setStripe(index);
+        stripe.setBalance(balance);
+        stripe.setVersion(1L);
+        return stripe;
+    }
+}
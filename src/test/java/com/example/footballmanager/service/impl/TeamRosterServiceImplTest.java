@@ -0,0 +1,101 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.projection.RosterRow;
+import com.example.footballmanager.service.TeamRosterService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class TeamRosterServiceImplTest {
+    @Mock
+    private TeamRepository teamRepository;
+    private TeamRosterService teamRosterService;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final Long DEFAULT_TEAM_ID = 11L;
+    private static final String DEFAULT_TEAM_NAME = "Test Team";
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        teamRosterService = new TeamRosterServiceImpl(teamRepository, objectMapper);
+    }
+
+    @Test
+    public void testWriteRoster_Ok() throws IOException {
+        when(teamRepository.streamRoster(DEFAULT_TEAM_ID, Pageable.unpaged()))
+                .thenReturn(Stream.of(row(1L), row(2L), row(3L)));
+
+        JsonNode roster = writeRoster(null);
+
+        assertEquals(DEFAULT_TEAM_ID.longValue(), roster.get("team").get("id").asLong());
+        assertEquals(DEFAULT_TEAM_NAME, roster.get("team").get("name").asText());
+        assertEquals(3, roster.get("players").size());
+        assertEquals(3L, roster.get("players").get(2).get("id").asLong());
+        assertEquals(DEFAULT_TEAM_ID.longValue(), roster.get("players").get(0).get("teamId").asLong());
+        assertFalse(roster.get("truncated").asBoolean());
+    }
+
+    @Test
+    public void testWriteRosterTruncated_Ok() throws IOException {
+        when(teamRepository.streamRoster(DEFAULT_TEAM_ID, PageRequest.of(0, 3)))
+                .thenReturn(Stream.of(row(1L), row(2L), row(3L)));
+
+        JsonNode roster = writeRoster(2);
+
+        assertEquals(2, roster.get("players").size());
+        assertTrue(roster.get("truncated").asBoolean());
+    }
+
+    @Test
+    public void testWriteRosterWithoutPlayers_Ok() throws IOException {
+        when(teamRepository.streamRoster(DEFAULT_TEAM_ID, Pageable.unpaged())).thenReturn(Stream.of(row(null)));
+
+        JsonNode roster = writeRoster(null);
+
+        assertEquals(DEFAULT_TEAM_NAME, roster.get("team").get("name").asText());
+        assertEquals(0, roster.get("players").size());
+        assertFalse(roster.get("truncated").asBoolean());
+    }
+
+    @Test
+    public void testWriteRosterNotFound_NotOk() {
+        when(teamRepository.streamRoster(DEFAULT_TEAM_ID, Pageable.unpaged())).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertThrows(EntityNotFoundException.class,
+                () -> teamRosterService.writeRoster(DEFAULT_TEAM_ID, null, outputStream));
+        assertEquals(0, outputStream.size());
+    }
+
+    private JsonNode writeRoster(Integer maxSize) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        teamRosterService.writeRoster(DEFAULT_TEAM_ID, maxSize, outputStream);
+        return objectMapper.readTree(outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    private RosterRow row(Long playerId) {
+        return new RosterRow(DEFAULT_TEAM_ID, DEFAULT_TEAM_NAME, BigDecimal.TEN, BigDecimal.valueOf(1000),
+                playerId, playerId == null ? null : "FirstName", playerId == null ? null : "LastName",
+                playerId == null ? null : LocalDate.of(1995, 1, 1),
+                playerId == null ? null : LocalDate.of(2015, 1, 1));
+    }
+}
@@ -1,19 +1,34 @@
 package com.example.footballmanager.service.impl;
 
+import com.example.footballmanager.cache.TeamCache;
+import com.example.footballmanager.dto.response.TeamResponseDto;
 import com.example.footballmanager.exception.BadRequestException;
 import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.exception.PreconditionFailedException;
+import com.example.footballmanager.model.BudgetAdjustment;
 import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TeamBudgetStripe;
+import com.example.footballmanager.repository.BudgetAdjustmentRepository;
+import com.example.footballmanager.repository.TeamBudgetStripeRepository;
 import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.projection.StripedTeam;
 import com.example.footballmanager.service.TeamService;
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,6 +36,10 @@ import static org.mockito.Mockito.when;
 public class TeamServiceImplTest {
     @Mock
     private TeamRepository teamRepository;
+    @Mock
+    private BudgetAdjustmentRepository budgetAdjustmentRepository;
+    @Mock
+    private TeamBudgetStripeRepository teamBudgetStripeRepository;
     private TeamService teamService;
     private final Team teamWithId;
     private final Team teamWithoutInitialId;
@@ -37,7 +56,9 @@ public class TeamServiceImplTest {
     @Before
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        teamService = new TeamServiceImpl(teamRepository);
+        teamService = new TeamServiceImpl(teamRepository, new TeamCache(
+                new ConcurrentMapCacheManager(TeamCache.CACHE_NAME)), budgetAdjustmentRepository,
+                teamBudgetStripeRepository);
 
         teamWithId.setId(DEFAULT_TEAM_ID);
         teamWithId.setName(DEFAULT_TEAM_NAME);
@@ -52,7 +73,7 @@ public class TeamServiceImplTest {
 
     @Test
     public void testGetById_Ok() {
-        when(teamRepository.findById(DEFAULT_TEAM_ID)).thenReturn(Optional.of(teamWithId));
+        when(teamRepository.findAllStripedByIdIn(List.of(DEFAULT_TEAM_ID))).thenReturn(striped(teamWithId));
 
         Team actualTeam = teamService.getById(DEFAULT_TEAM_ID);
 
@@ -60,13 +81,48 @@ public class TeamServiceImplTest {
         assertEquals(teamWithId, actualTeam);
     }
 
+    @Test
+    public void testGetByIdCached_Ok() {
+        when(teamRepository.findAllStripedByIdIn(List.of(DEFAULT_TEAM_ID))).thenReturn(striped(teamWithId));
+
+        teamService.getById(DEFAULT_TEAM_ID);
+        Team actualTeam = teamService.getById(DEFAULT_TEAM_ID);
+
+        assertEquals(teamWithId, actualTeam);
+        verify(teamRepository, times(1)).findAllStripedByIdIn(List.of(DEFAULT_TEAM_ID));
+    }
+
+    @Test
+    public void testUpdateByIdEvictsCachedTeam_Ok() {
+        when(teamRepository.findAllStripedByIdIn(List.of(DEFAULT_TEAM_ID))).thenReturn(striped(teamWithId));
+        when(teamRepository.findAllByIdForUpdate(List.of(DEFAULT_TEAM_ID))).thenReturn(List.of(teamWithId));
+        when(teamRepository.save(teamWithoutInitialId)).thenReturn(teamWithoutInitialId);
+
+        teamService.getById(DEFAULT_TEAM_ID);
+        teamService.updateById(DEFAULT_TEAM_ID, teamWithoutInitialId);
+        teamService.getById(DEFAULT_TEAM_ID);
+
+        verify(teamRepository, times(2)).findAllStripedByIdIn(List.of(DEFAULT_TEAM_ID));
+    }
+
     @Test
     public void testGetByIdNotFound_NotOk() {
-        when(teamRepository.findById(DEFAULT_TEAM_ID)).thenReturn(Optional.empty());
+        when(teamRepository.findAllStripedByIdIn(List.of(DEFAULT_TEAM_ID))).thenReturn(List.of());
 
         assertThrows(EntityNotFoundException.class, () -> teamService.getById(DEFAULT_TEAM_ID));
     }
 
+    @Test
+    public void testGetAllAfter_Ok() {
+        Slice<TeamResponseDto> slice = new SliceImpl<>(List.of(new TeamResponseDto()));
+        when(teamRepository.findResponseDtosAfter(DEFAULT_TEAM_ID, PageRequest.of(0, 10)))
+                .thenReturn(slice);
+
+        Slice<TeamResponseDto> actualSlice = teamService.getAllAfter(DEFAULT_TEAM_ID, 10);
+
+        assertEquals(slice, actualSlice);
+    }
+
     @Test
     public void testCreate_Ok() {
         when(teamRepository.save(teamWithoutInitialId)).thenReturn(teamWithId);
@@ -75,6 +131,7 @@ public class TeamServiceImplTest {
 
         assertNotNull(createdTeam);
         assertEquals(teamWithId, createdTeam);
+        assertAdjusted(DEFAULT_TEAM_BUDGET, BudgetAdjustment.Reason.CREATED);
     }
 
     @Test
@@ -84,37 +141,104 @@ public class TeamServiceImplTest {
 
     @Test
     public void testUpdateById_Ok() {
-        when(teamRepository.existsById(DEFAULT_TEAM_ID)).thenReturn(true);
+        when(teamRepository.findAllByIdForUpdate(List.of(DEFAULT_TEAM_ID))).thenReturn(List.of(teamWithId));
         when(teamRepository.save(teamWithoutInitialId)).thenReturn(teamWithoutInitialId);
 
         Team updatedTeam = teamService.updateById(DEFAULT_TEAM_ID, teamWithoutInitialId);
 
         assertNotNull(updatedTeam);
         assertEquals(DEFAULT_TEAM_ID, updatedTeam.getId());
+        verify(budgetAdjustmentRepository, never()).save(any());
+        verify(teamBudgetStripeRepository, never()).drainAllByTeamIdIn(any());
+    }
+
+    @Test
+    public void testUpdateByIdChangedBudget_Ok() {
+        teamWithoutInitialId.setBudget(BigDecimal.valueOf(1200000));
+        when(teamRepository.findAllByIdForUpdate(List.of(DEFAULT_TEAM_ID))).thenReturn(List.of(teamWithId));
+        when(teamBudgetStripeRepository.findAllByTeamIdInForUpdate(List.of(DEFAULT_TEAM_ID)))
+                .thenReturn(List.of(stripe(0, 100000, 1L), stripe(1, 150000, 3L)));
+        when(teamRepository.save(teamWithoutInitialId)).thenReturn(teamWithoutInitialId);
+
+        teamService.updateById(DEFAULT_TEAM_ID, teamWithoutInitialId);
+
+        assertAdjusted(BigDecimal.valueOf(-50000), BudgetAdjustment.Reason.UPDATED);
+    }
+
+    @Test
+    public void testUpdateByIdWithStripedBudget_Ok() {
+        teamWithId.setVersion(3L);
+        teamWithoutInitialId.setVersion(7L);
+        when(teamRepository.findAllByIdForUpdate(List.of(DEFAULT_TEAM_ID))).thenReturn(List.of(teamWithId));
+        when(teamBudgetStripeRepository.findAllByTeamIdInForUpdate(List.of(DEFAULT_TEAM_ID)))
+                .thenReturn(List.of(stripe(0, 100000, 1L), stripe(1, 150000, 3L)));
+        when(teamRepository.save(teamWithoutInitialId)).thenReturn(teamWithoutInitialId);
+
+        Team updatedTeam = teamService.updateById(DEFAULT_TEAM_ID, teamWithoutInitialId);
+
+        assertEquals(Long.valueOf(3L), updatedTeam.getVersion());
+        assertEquals(DEFAULT_TEAM_BUDGET, updatedTeam.getBudget());
+        assertEquals(DEFAULT_TEAM_BUDGET, updatedTeam.getTotalBudget());
+        assertEquals(Long.valueOf(9L), updatedTeam.getRevision());
+        verify(teamBudgetStripeRepository, times(1)).drainAllByTeamIdIn(List.of(DEFAULT_TEAM_ID));
+    }
+
+    @Test
+    public void testUpdateByIdStaleVersion_NotOk() {
+        teamWithId.setVersion(3L);
+        teamWithoutInitialId.setVersion(2L);
+        when(teamRepository.findAllByIdForUpdate(List.of(DEFAULT_TEAM_ID))).thenReturn(List.of(teamWithId));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> teamService.updateById(DEFAULT_TEAM_ID, teamWithoutInitialId));
+
+        verify(teamRepository, times(0)).save(teamWithoutInitialId);
     }
 
     @Test
     public void testUpdateByIdNotFound_NotOk() {
-        when(teamRepository.existsById(DEFAULT_TEAM_ID)).thenReturn(false);
+        when(teamRepository.findAllByIdForUpdate(List.of(DEFAULT_TEAM_ID))).thenReturn(List.of());
 
         assertThrows(EntityNotFoundException.class, () -> teamService.updateById(DEFAULT_TEAM_ID, teamWithoutInitialId));
     }
 
     @Test
     public void testDeleteById_Ok() {
-        when(teamRepository.existsById(DEFAULT_TEAM_ID)).thenReturn(true);
+        when(teamRepository.removeById(DEFAULT_TEAM_ID)).thenReturn(1);
 
         teamService.deleteById(DEFAULT_TEAM_ID);
 
-        verify(teamRepository, times(1)).deleteById(DEFAULT_TEAM_ID);
+        verify(teamRepository, times(1)).removeById(DEFAULT_TEAM_ID);
     }
 
     @Test
     public void testDeleteByIdNotFound_NotOk() {
-        when(teamRepository.existsById(DEFAULT_TEAM_ID)).thenReturn(false);
+        when(teamRepository.removeById(DEFAULT_TEAM_ID)).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> teamService.deleteById(DEFAULT_TEAM_ID));
       
-        verify(teamRepository, times(0)).deleteById(DEFAULT_TEAM_ID);
+        verify(teamRepository, times(1)).removeById(DEFAULT_TEAM_ID);
+    }
+
+    private void assertAdjusted(BigDecimal amount, BudgetAdjustment.Reason reason) {
+        ArgumentCaptor<BudgetAdjustment> budgetAdjustment = ArgumentCaptor.forClass(BudgetAdjustment.class);
+        verify(budgetAdjustmentRepository).save(budgetAdjustment.capture());
+        assertEquals(DEFAULT_TEAM_ID, budgetAdjustment.getValue().getTeamId());
+        assertEquals(amount, budgetAdjustment.getValue().getAmount());
+        assertEquals(reason, budgetAdjustment.getValue().getReason());
+        assertNotNull(budgetAdjustment.getValue().getAdjustedAt());
+    }
+
+    private static List<StripedTeam> striped(Team team) {
+        return List.of(new StripedTeam(team, BigDecimal.ZERO, 0L));
+    }
+
+    private static TeamBudgetStripe stripe(int stripe, long balance, Long version) {
+        TeamBudgetStripe teamBudgetStripe = new TeamBudgetStripe();
+        teamBudgetStripe.setTeamId(DEFAULT_TEAM_ID);
+        teamBudgetStripe.setStripe(stripe);
+        teamBudgetStripe.setBalance(BigDecimal.valueOf(balance));
+        teamBudgetStripe.setVersion(version);
+        return teamBudgetStripe;
     }
 }
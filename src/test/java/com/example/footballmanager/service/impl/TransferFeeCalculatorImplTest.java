@@ -0,0 +1,87 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.model.Player;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.model.TransferFee;
+import com.example.footballmanager.service.TransferFeeCalculator;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class TransferFeeCalculatorImplTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 2, 29);
+    private final TransferFeeCalculator transferFeeCalculator = new TransferFeeCalculatorImpl();
+
+    @Test
+    public void testCalculateFeeCents_Ok() {
+        Player player = player(TODAY.minusYears(30), TODAY.minusYears(1));
+        Team sellingTeam = team(BigDecimal.valueOf(10));
+
+        assertEquals(4400000L, transferFeeCalculator.calculateFeeCents(player, sellingTeam, TODAY));
+    }
+
+    @Test
+    public void testCalculateFeeSplitsCommission_Ok() {
+        Player player = player(TODAY.minusYears(30), TODAY.minusYears(1));
+        Team sellingTeam = team(BigDecimal.valueOf(10));
+
+        assertEquals(new TransferFee(4000000L, 400000L),
+                transferFeeCalculator.calculateFee(player, sellingTeam, TODAY));
+    }
+
+    @Test
+    public void testCalculateFeeCentsMatchesBigDecimalRounding_Ok() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            LocalDate birthDate = TODAY.minusDays(365 + random.nextInt(365 * 40));
+            LocalDate careerStartDate = birthDate.plusDays(random.nextInt(
+                    (int) (TODAY.toEpochDay() - birthDate.toEpochDay()) + 1));
+            Player player = player(birthDate, careerStartDate);
+            Team sellingTeam = team(BigDecimal.valueOf(random.nextInt(10000), random.nextInt(3)));
+
+            assertEquals(player + " " + sellingTeam.getPlayerTransferCommission(),
+                    referenceFee(player, sellingTeam),
+                    BigDecimal.valueOf(transferFeeCalculator.calculateFeeCents(player, sellingTeam, TODAY), 2));
+        }
+    }
+
+    @Test
+    public void testCalculateFeeCentsForPlayerUnderOneYear_NotOk() {
+        Player player = player(TODAY.minusMonths(11), TODAY);
+
+        assertThrows(BadRequestException.class,
+                () -> transferFeeCalculator.calculateFeeCents(player, team(BigDecimal.TEN), TODAY));
+    }
+
+    private BigDecimal referenceFee(Player player, Team sellingTeam) {
+        Period experience = Period.between(player.getCareerStartDate(), TODAY);
+        int experienceInMonths = 12 * experience.getYears() + experience.getMonths();
+        int ageInYears = Period.between(player.getBirthDate(), TODAY).getYears();
+        BigDecimal transferAmount = BigDecimal.valueOf(experienceInMonths)
+                .multiply(BigDecimal.valueOf(100000L))
+                .divide(BigDecimal.valueOf(ageInYears), 2, RoundingMode.HALF_UP);
+        BigDecimal commission = transferAmount
+                .multiply(sellingTeam.getPlayerTransferCommission())
+                .divide(BigDecimal.valueOf(100), RoundingMode.HALF_UP);
+        return transferAmount.add(commission).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private Player player(LocalDate birthDate, LocalDate careerStartDate) {
+        Player player = new Player();
+        player.setBirthDate(birthDate);
+        player.setCareerStartDate(careerStartDate);
+        return player;
+    }
+
+    private Team team(BigDecimal playerTransferCommission) {
+        Team team = new Team();
+        team.setPlayerTransferCommission(playerTransferCommission);
+        return team;
+    }
+}
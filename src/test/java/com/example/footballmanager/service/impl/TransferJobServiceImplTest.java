@@ -0,0 +1,157 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.exception.EntityNotFoundException;
+import com.example.footballmanager.exception.TooManyRequestsException;
+import com.example.footballmanager.model.TransferJob;
+import com.example.footballmanager.model.TransferJobStatus;
+import com.example.footballmanager.repository.PlayerRepository;
+import com.example.footballmanager.service.PlayerService;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransferJobServiceImplTest {
+    @Mock
+    private PlayerService playerService;
+    @Mock
+    private PlayerRepository playerRepository;
+    private TransferJobServiceImpl transferJobService;
+    private static final Long FIRST_PLAYER_ID = 1L;
+    private static final Long SECOND_PLAYER_ID = 2L;
+    private static final Long THIRD_PLAYER_ID = 3L;
+    private static final Long SELLING_TEAM_ID = 11L;
+    private static final Long BUYING_TEAM_ID = 12L;
+    private static final Long OTHER_SELLING_TEAM_ID = 13L;
+    private static final Long OTHER_BUYING_TEAM_ID = 14L;
+    private static final int DEFAULT_WORKERS = 2;
+    private static final int DEFAULT_QUEUE_CAPACITY = 3;
+    private static final int DEFAULT_RETAINED_JOBS = 2;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        transferJobService = new TransferJobServiceImpl(playerService, playerRepository,
+                DEFAULT_WORKERS, DEFAULT_QUEUE_CAPACITY, DEFAULT_RETAINED_JOBS);
+        when(playerRepository.findTeamIdById(anyLong())).thenReturn(Optional.of(SELLING_TEAM_ID));
+    }
+
+    @After
+    public void tearDown() {
+        transferJobService.shutdown();
+    }
+
+    @Test
+    public void testSubmit_Ok() throws InterruptedException {
+        TransferJob job = transferJobService.submit(FIRST_PLAYER_ID, BUYING_TEAM_ID);
+
+        assertNotNull(job.getId());
+        assertNotNull(job.getSubmittedAt());
+        awaitStatus(job, TransferJobStatus.SUCCEEDED);
+        assertNull(job.getError());
+        assertNotNull(job.getFinishedAt());
+        verify(playerService).transferPlayerToTeam(FIRST_PLAYER_ID, BUYING_TEAM_ID);
+        assertEquals(job, transferJobService.getById(job.getId()));
+    }
+
+    @Test
+    public void testSubmitReportsFailure_Ok() throws InterruptedException {
+        when(playerService.transferPlayerToTeam(FIRST_PLAYER_ID, BUYING_TEAM_ID))
+                .thenThrow(new EntityNotFoundException("No team present with id " + BUYING_TEAM_ID));
+        when(playerService.transferPlayerToTeam(SECOND_PLAYER_ID, BUYING_TEAM_ID))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"));
+
+        TransferJob missingTeamJob = transferJobService.submit(FIRST_PLAYER_ID, BUYING_TEAM_ID);
+        TransferJob conflictingJob = transferJobService.submit(SECOND_PLAYER_ID, BUYING_TEAM_ID);
+
+        awaitStatus(missingTeamJob, TransferJobStatus.FAILED);
+        assertEquals("No team present with id " + BUYING_TEAM_ID, missingTeamJob.getError());
+        awaitStatus(conflictingJob, TransferJobStatus.FAILED);
+        assertEquals("The data was modified concurrently, please retry the transfer", conflictingJob.getError());
+    }
+
+    @Test
+    public void testSubmitSerializesJobsOnTheSameTeam_Ok() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return null;
+        }).when(playerService).transferPlayerToTeam(FIRST_PLAYER_ID, BUYING_TEAM_ID);
+        when(playerRepository.findTeamIdById(THIRD_PLAYER_ID)).thenReturn(Optional.of(OTHER_SELLING_TEAM_ID));
+
+        TransferJob blockingJob = transferJobService.submit(FIRST_PLAYER_ID, BUYING_TEAM_ID);
+        awaitStatus(blockingJob, TransferJobStatus.RUNNING);
+        TransferJob sameTeamJob = transferJobService.submit(SECOND_PLAYER_ID, BUYING_TEAM_ID);
+        TransferJob otherTeamJob = transferJobService.submit(THIRD_PLAYER_ID, OTHER_BUYING_TEAM_ID);
+
+        awaitStatus(otherTeamJob, TransferJobStatus.SUCCEEDED);
+        assertEquals(TransferJobStatus.QUEUED, sameTeamJob.getStatus());
+        verify(playerService, never()).transferPlayerToTeam(SECOND_PLAYER_ID, BUYING_TEAM_ID);
+        release.countDown();
+        awaitStatus(sameTeamJob, TransferJobStatus.SUCCEEDED);
+        assertTrue(!sameTeamJob.getStartedAt().isBefore(blockingJob.getFinishedAt()));
+    }
+
+    @Test
+    public void testSubmitQueueFull_NotOk() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return null;
+        }).when(playerService).transferPlayerToTeam(anyLong(), anyLong());
+        TransferJob[] jobs = new TransferJob[DEFAULT_QUEUE_CAPACITY];
+        for (int i = 0; i < DEFAULT_QUEUE_CAPACITY; i++) {
+            jobs[i] = transferJobService.submit(FIRST_PLAYER_ID + i, BUYING_TEAM_ID);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> transferJobService.submit(99L, BUYING_TEAM_ID));
+
+        release.countDown();
+        for (TransferJob job : jobs) {
+            awaitStatus(job, TransferJobStatus.SUCCEEDED);
+        }
+        awaitStatus(transferJobService.submit(99L, BUYING_TEAM_ID), TransferJobStatus.SUCCEEDED);
+    }
+
+    @Test
+    public void testGetByIdForgetsOldestFinishedJobs_Ok() throws InterruptedException {
+        TransferJob oldestJob = transferJobService.submit(FIRST_PLAYER_ID, BUYING_TEAM_ID);
+        awaitStatus(oldestJob, TransferJobStatus.SUCCEEDED);
+        for (long playerId = 2; playerId <= DEFAULT_RETAINED_JOBS + 1; playerId++) {
+            awaitStatus(transferJobService.submit(playerId, BUYING_TEAM_ID), TransferJobStatus.SUCCEEDED);
+        }
+
+        assertThrows(EntityNotFoundException.class, () -> transferJobService.getById(oldestJob.getId()));
+    }
+
+    @Test
+    public void testGetByIdNotFound_NotOk() {
+        assertThrows(EntityNotFoundException.class, () -> transferJobService.getById("missing"));
+    }
+
+    private void awaitStatus(TransferJob job, TransferJobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (job.getStatus() != status) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Job " + job.getId() + " is " + job.getStatus() + ", expected " + status);
+            }
+            Thread.sleep(1);
+        }
+    }
+}
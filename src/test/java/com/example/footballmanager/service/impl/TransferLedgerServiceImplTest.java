@@ -0,0 +1,149 @@
+package com.example.footballmanager.service.impl;
+
+import com.example.footballmanager.dto.request.TransferSearchRequestDto;
+import com.example.footballmanager.dto.response.TeamBudgetResponseDto;
+import com.example.footballmanager.dto.response.TransferResponseDto;
+import com.example.footballmanager.exception.BadRequestException;
+import com.example.footballmanager.model.BudgetAdjustment;
+import com.example.footballmanager.model.Team;
+import com.example.footballmanager.repository.BudgetAdjustmentRepository;
+import com.example.footballmanager.repository.TeamRepository;
+import com.example.footballmanager.repository.TransferRepository;
+import com.example.footballmanager.repository.projection.IdRange;
+import com.example.footballmanager.repository.projection.StripedTeam;
+import com.example.footballmanager.repository.projection.TeamAdjustmentTotal;
+import com.example.footballmanager.repository.projection.TeamFeeTotal;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class TransferLedgerServiceImplTest {
+    @Mock
+    private TransferRepository transferRepository;
+    @Mock
+    private TeamRepository teamRepository;
+    @Mock
+    private BudgetAdjustmentRepository budgetAdjustmentRepository;
+    private TransferLedgerServiceImpl transferLedgerService;
+    private static final Long DEFAULT_TEAM_ID = 11L;
+    private static final Long OTHER_TEAM_ID = 12L;
+    private static final Long NEW_TEAM_ID = 13L;
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int DEFAULT_PARALLELISM = 2;
+    private static final int DEFAULT_CHUNK_SIZE = 10;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        transferLedgerService = new TransferLedgerServiceImpl(
+                transferRepository, teamRepository, budgetAdjustmentRepository, DEFAULT_PARALLELISM,
+                DEFAULT_CHUNK_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+        transferLedgerService.shutdown();
+    }
+
+    @Test
+    public void testSearch_Ok() {
+        TransferSearchRequestDto filters = new TransferSearchRequestDto();
+        filters.setTeamId(DEFAULT_TEAM_ID);
+        Slice<TransferResponseDto> transfers = new SliceImpl<>(List.of(new TransferResponseDto()),
+                PageRequest.of(0, 10), false);
+        when(transferRepository.searchResponseDtos(any(), eq(DEFAULT_TEAM_ID), eq(0L), eq(10)))
+                .thenReturn(transfers);
+
+        assertEquals(transfers, transferLedgerService.search(filters, null, 10));
+    }
+
+    @Test
+    public void testSearchInvertedTimeRange_NotOk() {
+        TransferSearchRequestDto filters = new TransferSearchRequestDto();
+        filters.setFrom(AS_OF.plusDays(1));
+        filters.setTo(AS_OF);
+
+        assertThrows(BadRequestException.class, () -> transferLedgerService.search(filters, null, 10));
+        verify(transferRepository, never()).searchResponseDtos(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    public void testReplayBudgets_Ok() {
+        when(transferRepository.findIdRangeTransferredAfter(AS_OF)).thenReturn(new IdRange(1L, 15L));
+        when(transferRepository.sumFeesReceivedBetween(1L, 10L, AS_OF)).thenReturn(
+                List.of(new TeamFeeTotal(DEFAULT_TEAM_ID, new BigDecimal("300.00"))));
+        when(transferRepository.sumFeesPaidBetween(1L, 10L, AS_OF)).thenReturn(
+                List.of(new TeamFeeTotal(OTHER_TEAM_ID, new BigDecimal("300.00"))));
+        when(transferRepository.sumFeesReceivedBetween(11L, 15L, AS_OF)).thenReturn(
+                List.of(new TeamFeeTotal(OTHER_TEAM_ID, new BigDecimal("50.00"))));
+        when(transferRepository.sumFeesPaidBetween(11L, 15L, AS_OF)).thenReturn(
+                List.of(new TeamFeeTotal(DEFAULT_TEAM_ID, new BigDecimal("50.00"))));
+        when(teamRepository.findAllStripedByIdIn(Set.of(DEFAULT_TEAM_ID, OTHER_TEAM_ID))).thenReturn(List.of(
+                new StripedTeam(team(OTHER_TEAM_ID, "700.00"), new BigDecimal("50.00"), 2L),
+                new StripedTeam(team(DEFAULT_TEAM_ID, "1250.00"), BigDecimal.ZERO, 0L)));
+
+        List<TeamBudgetResponseDto> budgets = transferLedgerService.replayBudgets(AS_OF);
+
+        assertEquals(List.of(
+                new TeamBudgetResponseDto(DEFAULT_TEAM_ID, new BigDecimal("1000.00")),
+                new TeamBudgetResponseDto(OTHER_TEAM_ID, new BigDecimal("1000.00"))), budgets);
+    }
+
+    @Test
+    public void testReplayBudgetsWithAdjustments_Ok() {
+        when(transferRepository.findIdRangeTransferredAfter(AS_OF)).thenReturn(new IdRange(1L, 1L));
+        when(transferRepository.sumFeesReceivedBetween(1L, 1L, AS_OF)).thenReturn(
+                List.of(new TeamFeeTotal(NEW_TEAM_ID, new BigDecimal("300.00"))));
+        when(transferRepository.sumFeesPaidBetween(1L, 1L, AS_OF)).thenReturn(
+                List.of(new TeamFeeTotal(DEFAULT_TEAM_ID, new BigDecimal("300.00"))));
+        when(budgetAdjustmentRepository.sumAmountsAdjustedAfter(AS_OF)).thenReturn(List.of(
+                new TeamAdjustmentTotal(DEFAULT_TEAM_ID, new BigDecimal("500.00")),
+                new TeamAdjustmentTotal(OTHER_TEAM_ID, new BigDecimal("-200.00")),
+                new TeamAdjustmentTotal(NEW_TEAM_ID, new BigDecimal("1000.00"))));
+        when(budgetAdjustmentRepository.findTeamIdsAdjustedAfter(AS_OF, BudgetAdjustment.Reason.CREATED))
+                .thenReturn(List.of(NEW_TEAM_ID));
+        when(teamRepository.findAllStripedByIdIn(Set.of(DEFAULT_TEAM_ID, OTHER_TEAM_ID))).thenReturn(List.of(
+                new StripedTeam(team(DEFAULT_TEAM_ID, "1200.00"), BigDecimal.ZERO, 0L),
+                new StripedTeam(team(OTHER_TEAM_ID, "800.00"), BigDecimal.ZERO, 0L)));
+
+        List<TeamBudgetResponseDto> budgets = transferLedgerService.replayBudgets(AS_OF);
+
+        assertEquals(List.of(
+                new TeamBudgetResponseDto(DEFAULT_TEAM_ID, new BigDecimal("1000.00")),
+                new TeamBudgetResponseDto(OTHER_TEAM_ID, new BigDecimal("1000.00"))), budgets);
+    }
+
+    @Test
+    public void testReplayBudgetsEmptyLedger_Ok() {
+        when(transferRepository.findIdRangeTransferredAfter(AS_OF)).thenReturn(new IdRange(null, null));
+
+        assertEquals(List.of(), transferLedgerService.replayBudgets(AS_OF));
+        verifyNoInteractions(teamRepository);
+    }
+
+    private Team team(Long id, String budget) {
+        Team team = new Team();
+        team.setId(id);
+        team.setBudget(new BigDecimal(budget));
+        return team;
+    }
+}